@@ -30,5 +30,13 @@ public interface PlayerChunkMapEntryBridge {
 
     void bridge$markBiomesForUpdate();
 
+    /**
+     * Resends the given sections of the chunk to the players on the next
+     * update of this entry, instead of the individual changed blocks.
+     *
+     * @param sections The bit mask of sections to resend
+     */
+    void bridge$markSectionsForUpdate(int sections);
+
     void bridge$setChunk(Chunk newChunk);
 }
@@ -27,6 +27,7 @@
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.world.AsyncLightingEngine;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -38,4 +39,6 @@ public interface WorldServerBridge_AsyncLighting {
     boolean asyncLightingBridge$checkLightAsync(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
 
     ExecutorService asyncLightingBridge$getLightingExecutor();
+
+    AsyncLightingEngine asyncLightingBridge$getLightingEngine();
 }
@@ -56,6 +56,15 @@ public interface ChunkProviderServerBridge {
 
     void bridge$unloadChunkAndSave(Chunk chunk);
 
+    /**
+     * Saves the given chunk and marks it as no longer modified, the same
+     * way {@link ChunkProviderServer#saveChunks(boolean)} does for every
+     * chunk that needs saving.
+     *
+     * @param chunk The chunk to save
+     */
+    void bridge$saveChunk(Chunk chunk);
+
     long bridge$getChunkUnloadDelay();
 
     /**
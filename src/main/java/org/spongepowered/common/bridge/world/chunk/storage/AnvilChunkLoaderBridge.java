@@ -34,4 +34,10 @@ public interface AnvilChunkLoaderBridge {
     boolean bridge$chunkExists(World world, int x, int z);
 
     Path bridge$getWorldDir();
+
+    int bridge$getPendingChunkSaves();
+
+    long bridge$getSavedChunkCount();
+
+    long bridge$getChunkSaveNanos();
 }
@@ -36,4 +36,10 @@
 public interface RegionFileAccessor {
 
     @Accessor("offsets") int[] accessor$getOffsets();
+
+    @Accessor("chunkTimestamps") int[] accessor$getChunkTimestamps();
+
+    @Accessor("dataFile") RandomAccessFile accessor$getDataFile();
+
+    @Accessor("sectorFree") List<Boolean> accessor$getSectorFree();
 }
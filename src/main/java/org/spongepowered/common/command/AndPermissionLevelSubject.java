@@ -50,7 +50,13 @@ public final class AndPermissionLevelSubject extends SpongeBaseSubject {
     public AndPermissionLevelSubject(ICommandSender opLevelSubject, CommandSource delegate) {
         this.delegate = delegate;
         this.service = SpongeImpl.getGame().getServiceManager().provideUnchecked(PermissionService.class);
-        this.opLevelData = new FixedParentMemorySubjectData(this.service, delegate.asSubjectReference());
+        this.opLevelData = new FixedParentMemorySubjectData(this.service, delegate.asSubjectReference()) {
+
+            @Override
+            protected void onChanged() {
+                // This data is never the parent of another subject, no need to invalidate anything
+            }
+        };
         CommandPermissions.populateMinecraftPermissions(opLevelSubject, this.opLevelData);
         for (Map.Entry<String, Boolean> permission : ImmutableSet.copyOf(this.opLevelData.getPermissions(SubjectData.GLOBAL_CONTEXT).entrySet())) {
             if (permission.getValue()) {
@@ -93,4 +99,9 @@ public SubjectData getSubjectData() {
     public MemorySubjectData getTransientSubjectData() {
         return this.opLevelData;
     }
+
+    @Override
+    protected boolean canCacheResolvedPermissions() {
+        return false;
+    }
 }
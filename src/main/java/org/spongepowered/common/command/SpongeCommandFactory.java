@@ -750,6 +750,16 @@ private static CommandCallable createSpongeTimingsCommand() {
                     return CommandResult.success();
                 })
                 .build(), "report", "paste")
+            .child(CommandSpec.builder()
+                .executor((src, args) -> {
+                    if (!Timings.isTimingsEnabled()) {
+                        src.sendMessage(Text.of("Please enable timings by typing /sponge timings on"));
+                        return CommandResult.empty();
+                    }
+                    SpongeTimingsFactory.generateLocalReport(src);
+                    return CommandResult.success();
+                })
+                .build(), "export")
             .child(CommandSpec.builder()
                 .executor((src, args) -> {
                     Timings.setTimingsEnabled(true);
@@ -36,6 +36,13 @@ public class AsyncLightingCategory extends ConfigCategory {
     @Setting(value = "num-threads", comment = "The amount of threads to dedicate for asynchronous lighting updates. (Default: 2)")
     private int numAsyncThreads = 2;
 
+    @Setting(value = "prioritize-near-players", comment = "If 'true', light updates in chunks closer to a player are processed first.")
+    private boolean prioritizeNearPlayers = true;
+
+    @Setting(value = "queue-warning-threshold", comment = "The number of queued light updates in a world at which a warning with the current \n"
+                                                        + "queue depth is logged, at most once a minute. Set to 0 to disable. (Default: 0)")
+    private int queueWarningThreshold = 0;
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -43,4 +50,12 @@ public boolean isEnabled() {
     public int getNumThreads() {
         return this.numAsyncThreads;
     }
+
+    public boolean prioritizeNearPlayers() {
+        return this.prioritizeNearPlayers;
+    }
+
+    public int getQueueWarningThreshold() {
+        return this.queueWarningThreshold;
+    }
 }
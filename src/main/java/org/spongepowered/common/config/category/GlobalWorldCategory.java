@@ -51,6 +51,22 @@ public class GlobalWorldCategory extends WorldCategory {
                                                      + "Note: If you are using SpongeForge, make sure to enter any mod fake player's UUID to this list.")
     private List<UUID> invalidLookupUuids = new ArrayList<>();
 
+    @Setting(value = "max-pending-chunk-saves", comment = "The maximum number of chunks per world that may be waiting to be written to disk. \n"
+                                                        + "When this is exceeded, incremental auto-saves pause and threads other than the \n"
+                                                        + "main thread that save a chunk wait for the file IO thread to catch up, which keeps \n"
+                                                        + "memory use in check during large saves. Set to 0 to disable. \n"
+                                                        + "(Default: 8192)")
+    private int maxPendingChunkSaves = 8192;
+
+    @Setting(value = "async-terrain-generation-threads", comment = "The amount of threads shared by all worlds with 'async-terrain-generation' \n"
+                                                                 + "enabled to generate terrain on. (Default: 2)")
+    private int asyncTerrainGenerationThreads = 2;
+
+    @Setting(value = "chunk-pregen-use-idle-ticks", comment = "If 'true', chunk pre-generation tasks may use their tick percent limit of every \n"
+                                                            + "tick since their last run while no players are online, rather than only of the \n"
+                                                            + "tick they run in. Tasks can also opt in individually. (Default: false)")
+    private boolean chunkPreGenUseIdleTicks = false;
+
     public GlobalWorldCategory() {
         this.invalidLookupUuids.add(UUID.fromString("00000000-0000-0000-0000-000000000000"));
         this.invalidLookupUuids.add(UUID.fromString("0d0c4ca0-4ff1-11e4-916c-0800200c9a66")); // ComputerCraft FakePlayer
@@ -76,6 +92,18 @@ public int getGameProfileQueryTaskInterval() {
         return this.gameProfileQueryTaskInterval;
     }
 
+    public int getMaxPendingChunkSaves() {
+        return this.maxPendingChunkSaves;
+    }
+
+    public int getAsyncTerrainGenerationThreads() {
+        return this.asyncTerrainGenerationThreads;
+    }
+
+    public boolean useIdleTicksForChunkPreGen() {
+        return this.chunkPreGenUseIdleTicks;
+    }
+
     public List<UUID> getInvalidLookupUuids() {
         return this.invalidLookupUuids;
     }
@@ -119,6 +119,21 @@ public class OptimizationCategory extends ConfigCategory {
             "suppress the exceptions printing out in the log.")
     private boolean disableFailingAdvancementDeserialization = true;
 
+    @Setting(value = "chunk-data-stream-threads", comment = "The number of threads reading chunks for the chunk data streams\n"
+            + "plugins use to go through every generated chunk of a world.\n"
+            + "If above 0, chunks are read and decompressed ahead on that many\n"
+            + "threads, and chunks without valid data are skipped instead\n"
+            + "of being returned as null. 0 reads chunks one at a time\n"
+            + "on the thread using the stream.")
+    private int chunkDataStreamThreads = 0;
+
+    @Setting(value = "parallel-block-workers", comment = "If 'true', the block workers of large immutable block volumes, such as\n"
+            + "schematics and archetype volumes, map, merge and reduce their blocks\n"
+            + "on several threads. The mappers, mergers and reducers passed by plugins\n"
+            + "are then called concurrently, and reductions are merged with the\n"
+            + "merge function, so only enable this if your plugins support it.")
+    private boolean parallelBlockWorkers = false;
+
     public OptimizationCategory() {
         try {
             // Enabled by default on SpongeVanilla, disabled by default on SpongeForge.
@@ -203,4 +218,12 @@ public boolean disableFailingAdvancementDeserialization() {
         return this.disableFailingAdvancementDeserialization;
     }
 
+    public int getChunkDataStreamThreads() {
+        return this.chunkDataStreamThreads;
+    }
+
+    public boolean useParallelBlockWorkers() {
+        return this.parallelBlockWorkers;
+    }
+
 }
@@ -88,6 +88,14 @@ public class PhaseTrackerCategory extends ConfigCategory {
                                                                + "to resolve the runaway. If verbose is enabled, they will always print.")
     private int maxRunawayCount = 3;
 
+    @Setting(value = "lean-tracking", comment = "If 'true', the phase tracker runs with as little overhead as possible, meant for \n"
+                                              + "production servers. Contexts used to unwind phases and to process block \n"
+                                              + "transactions are pooled and reused along with their capture lists, and diagnostics \n"
+                                              + "gathered up front are skipped: runaway phase checks are not performed and no stack \n"
+                                              + "traces are generated per phase, even if 'generate-stacktrace-per-phase' is enabled. \n"
+                                              + "Errors are still reported along with the stack trace of the point they occur at.")
+    private boolean leanTracking = false;
+
     public boolean isVerbose() {
         return this.isVerbose;
     }
@@ -165,6 +173,10 @@ public boolean generateStackTracePerStateEntry() {
         return this.generateStackTracePerStateEntry;
     }
 
+    public boolean isLeanTracking() {
+        return this.leanTracking;
+    }
+
     public int getMaximumRunawayCount() {
         return this.maxRunawayCount;
     }
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class SchedulerCategory extends ConfigCategory {
+
+    @Setting(value = "async-max-threads", comment = "The maximum amount of threads used to run asynchronous plugin tasks. \n"
+                                                    + "If set to 0, four threads per available processor are used. (Default: 0)")
+    private int asyncMaxThreads = 0;
+
+    @Setting(value = "async-queue-capacity", comment = "The maximum amount of asynchronous tasks that can wait for a free thread, \n"
+                                                       + "including the tasks held back by 'async-plugin-concurrency-limit'. \n"
+                                                       + "Tasks submitted while the queue is full are kept aside and counted as \n"
+                                                       + "rejected, and only enter the queue once it has room again. \n"
+                                                       + "The tasks kept aside are never dropped, so this does not limit the \n"
+                                                       + "total amount of waiting tasks. \n"
+                                                       + "If set to 0, the queue is unbounded. (Default: 10000)")
+    private int asyncQueueCapacity = 10000;
+
+    @Setting(value = "async-plugin-concurrency-limit", comment = "The maximum amount of asynchronous tasks a single plugin can run at \n"
+                                                                 + "the same time, further tasks wait until one of them completes. \n"
+                                                                 + "If set to 0, plugins are not limited. (Default: 0)")
+    private int asyncPluginConcurrencyLimit = 0;
+
+    public int getAsyncMaxThreads() {
+        if (this.asyncMaxThreads <= 0) {
+            return Runtime.getRuntime().availableProcessors() * 4;
+        }
+        return this.asyncMaxThreads;
+    }
+
+    public int getAsyncQueueCapacity() {
+        return this.asyncQueueCapacity;
+    }
+
+    public int getAsyncPluginConcurrencyLimit() {
+        return this.asyncPluginConcurrencyLimit;
+    }
+}
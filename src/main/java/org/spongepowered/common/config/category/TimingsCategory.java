@@ -51,6 +51,20 @@ public class TimingsCategory extends ConfigCategory {
     @Setting("history-length")
     private int historyLength = 3600;
 
+    @Setting(value = "export-directory", comment = "The directory '/sponge timings export' writes reports to, relative to the game directory.")
+    private String exportDirectory = "timings";
+
+    @Setting(value = "export-history", comment = "If 'true', every finished history interval is also written to the export directory.\n"
+                                                 + "Together with 'export-kept-reports' this keeps a rolling history on disk.")
+    private boolean exportHistory = false;
+
+    @Setting(value = "export-kept-reports", comment = "The maximum amount of reports kept in the export directory, older reports are deleted.")
+    private int exportKeptReports = 24;
+
+    @Setting(value = "export-jfr-events", comment = "If 'true', exported timings are also emitted as JFR events, which show up in\n"
+                                                    + "running flight recordings. Requires a jvm with JFR support.")
+    private boolean exportJfrEvents = false;
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -91,4 +105,20 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
-}
\ No newline at end of file
+    public String getExportDirectory() {
+        return this.exportDirectory;
+    }
+
+    public boolean isExportHistory() {
+        return this.exportHistory;
+    }
+
+    public int getExportKeptReports() {
+        return this.exportKeptReports;
+    }
+
+    public boolean isExportJfrEvents() {
+        return this.exportJfrEvents;
+    }
+
+}
@@ -40,6 +40,20 @@ public class WorldCategory extends ConfigCategory {
                                                    + "Note: 20 ticks is equivalent to 1 second.")
     private int autoSaveInterval = 900;
 
+    @Setting(value = "incremental-auto-save", comment = "If 'true', auto-saves of this world are spread over multiple ticks instead of \n"
+                                                      + "saving all chunks at once, which avoids lag spikes on auto-save. The level data is \n"
+                                                      + "saved right away, the chunks that need saving are then saved a few at a time, \n"
+                                                      + "starting with the chunks that have gone unsaved the longest.")
+    private boolean incrementalAutoSave = false;
+
+    @Setting(value = "incremental-auto-save-chunks-per-tick", comment = "The maximum number of chunks saved per tick during an incremental auto-save. \n"
+                                                                      + "(Default: 64)")
+    private int incrementalAutoSaveChunksPerTick = 64;
+
+    @Setting(value = "incremental-auto-save-time-per-tick", comment = "The maximum time in milliseconds spent saving chunks per tick during an \n"
+                                                                    + "incremental auto-save. At least one chunk is saved per tick. (Default: 5)")
+    private int incrementalAutoSaveTimePerTick = 5;
+
     @Setting(value = "mob-spawn-range", comment = "Specifies the radius (in chunks) of where creatures will spawn. \n"
                                                 + "This value is capped to the current view distance setting in server.properties")
     private int mobSpawnRange = 4;
@@ -90,6 +104,18 @@ public class WorldCategory extends ConfigCategory {
                                                    + "Note: This gets reset if the chunk becomes active again.")
     private int chunkUnloadDelay = 15;
 
+    @Setting(value = "async-terrain-generation", comment = "If 'true', the terrain of chunks that players are waiting for is generated on \n"
+                                                         + "worker threads ahead of time. Only creating and populating the chunk is left \n"
+                                                         + "to the main thread. This only applies when the base generator, the biome generator \n"
+                                                         + "and all generation populators of the world and its biomes are plugin generators \n"
+                                                         + "that declare themselves safe to use from other threads. All other generators, \n"
+                                                         + "including Sponge's, vanilla and mod generators, always run on the main thread.")
+    private boolean asyncTerrainGeneration = false;
+
+    @Setting(value = "async-terrain-generation-read-ahead", comment = "The maximum number of chunks of this world whose terrain is generated \n"
+                                                                    + "ahead of time. (Default: 16)")
+    private int asyncTerrainGenerationReadAhead = 16;
+
     @Setting(value = "item-merge-radius", comment = "The defined merge radius for Item entities such that when two items are \n"
                                                   + "within the defined radius of each other, they will attempt to merge. Usually, \n"
                                                   + "the default radius is set to 0.5 in Vanilla, however, for performance reasons \n"
@@ -131,6 +157,26 @@ public int getAutoSaveInterval() {
         return this.autoSaveInterval;
     }
 
+    public boolean isIncrementalAutoSave() {
+        return this.incrementalAutoSave;
+    }
+
+    public int getIncrementalAutoSaveChunksPerTick() {
+        return this.incrementalAutoSaveChunksPerTick;
+    }
+
+    public int getIncrementalAutoSaveTimePerTick() {
+        return this.incrementalAutoSaveTimePerTick;
+    }
+
+    public boolean isAsyncTerrainGeneration() {
+        return this.asyncTerrainGeneration;
+    }
+
+    public int getAsyncTerrainGenerationReadAhead() {
+        return this.asyncTerrainGenerationReadAhead;
+    }
+
     public boolean isWorldEnabled() {
         return this.worldEnabled;
     }
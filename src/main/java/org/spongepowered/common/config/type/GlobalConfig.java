@@ -43,6 +43,7 @@
 import org.spongepowered.common.config.category.PermissionCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.MetricsCategory;
+import org.spongepowered.common.config.category.SchedulerCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
 import org.spongepowered.common.util.IpSet;
 
@@ -100,6 +101,9 @@ public class GlobalConfig extends GeneralConfigBase {
     @Setting(value = "metrics")
     private MetricsCategory metricsCategory = new MetricsCategory();
 
+    @Setting(value = "scheduler", comment = "Configuration options related to the plugin task scheduler")
+    private SchedulerCategory scheduler = new SchedulerCategory();
+
     public GlobalConfig() {
         super();
     }
@@ -176,4 +180,8 @@ public MovementChecksCategory getMovementChecks() {
     public MetricsCategory getMetricsCategory() {
         return this.metricsCategory;
     }
+
+    public SchedulerCategory getScheduler() {
+        return this.scheduler;
+    }
 }
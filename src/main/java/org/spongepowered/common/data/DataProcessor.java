@@ -55,6 +55,20 @@
 
     boolean supports(DataHolder dataHolder);
 
+    /**
+     * Gets whether instances of the given class could be supported by this
+     * processor at all. Only returns {@code false} if
+     * {@link #supports(DataHolder)} is {@code false} for every instance of
+     * the class, which allows delegates to skip this processor for holders
+     * of that class without calling {@link #supports(DataHolder)}.
+     *
+     * @param holderClass The class of the data holder
+     * @return False if no data holder of the class is supported
+     */
+    default boolean canSupport(Class<?> holderClass) {
+        return true;
+    }
+
     boolean supports(EntityType entityType);
 
     /**
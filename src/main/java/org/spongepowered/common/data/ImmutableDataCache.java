@@ -0,0 +1,286 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.spongepowered.api.CatalogType;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Interns immutable data instances by the class that is created and the
+ * arguments it is created with.
+ *
+ * <p>Lookups with a single boolean, enum or catalog type argument, which
+ * make up the majority of the lookups, are served from small tables per
+ * class. Everything else goes through a bounded cache keyed on the class
+ * and arguments, with the hash computed once per lookup.</p>
+ *
+ * @param <V> The type of the cached instances
+ */
+final class ImmutableDataCache<V> {
+
+    private static final Object NO_QUALIFIER = new Object();
+
+    private final Cache<StructuralKey, V> cache;
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Object, SingleArgTable>> tables = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    ImmutableDataCache(final int maximumSize) {
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .concurrencyLevel(4)
+            .build();
+    }
+
+    /**
+     * Gets the instance for the given type and arguments, creating it with
+     * the loader if it isn't cached yet.
+     *
+     * @param type The type of the instance
+     * @param qualifier An additional object to tell instances apart that are
+     *     created with equal arguments, may be null
+     * @param args The arguments the instance is created with
+     * @param loader The loader creating the instance
+     * @return The cached instance
+     * @throws ExecutionException If the loader failed
+     */
+    V get(final Class<?> type, @Nullable final Object qualifier, final Object[] args, final Callable<? extends V> loader) throws ExecutionException {
+        if (args.length == 1) {
+            return this.getSingle(type, qualifier, args[0], loader);
+        }
+        this.lookups.increment();
+        return this.getStructural(new StructuralKey(type, qualifier, args), loader);
+    }
+
+    /**
+     * Gets the instance for the given type and single argument, creating it
+     * with the loader if it isn't cached yet. Equivalent to
+     * {@link #get(Class, Object, Object[], Callable)} with a one element
+     * array, without having to create one.
+     *
+     * @param type The type of the instance
+     * @param qualifier An additional object to tell instances apart that are
+     *     created with equal arguments, may be null
+     * @param arg The argument the instance is created with
+     * @param loader The loader creating the instance
+     * @return The cached instance
+     * @throws ExecutionException If the loader failed
+     */
+    @SuppressWarnings("unchecked")
+    V getSingle(final Class<?> type, @Nullable final Object qualifier, @Nullable final Object arg, final Callable<? extends V> loader)
+            throws ExecutionException {
+        this.lookups.increment();
+        if (isTableArg(arg)) {
+            final SingleArgTable table = this.tables.computeIfAbsent(type, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(qualifier == null ? NO_QUALIFIER : qualifier, k -> new SingleArgTable());
+            final Object cached = table.get(arg);
+            if (cached != null) {
+                return (V) cached;
+            }
+            final V value = this.load(loader);
+            table.put(arg, value);
+            return value;
+        }
+        return this.getStructural(new StructuralKey(type, qualifier, arg), loader);
+    }
+
+    private V getStructural(final StructuralKey key, final Callable<? extends V> loader) throws ExecutionException {
+        try {
+            return this.cache.get(key, () -> this.load(loader));
+        } catch (UncheckedExecutionException e) {
+            throw new ExecutionException(e.getCause());
+        }
+    }
+
+    private V load(final Callable<? extends V> loader) throws ExecutionException {
+        this.misses.increment();
+        try {
+            return loader.call();
+        } catch (Exception e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    long getLookups() {
+        return this.lookups.sum();
+    }
+
+    long getMisses() {
+        return this.misses.sum();
+    }
+
+    double getHitRate() {
+        final long lookups = this.lookups.sum();
+        return lookups == 0 ? 1.0 : (double) (lookups - this.misses.sum()) / lookups;
+    }
+
+    private static boolean isTableArg(@Nullable final Object arg) {
+        return arg instanceof Boolean || arg instanceof Enum || arg instanceof CatalogType;
+    }
+
+    /**
+     * Gets the object that represents the argument in a key. Arguments that
+     * are known to be immutable are used as they are, anything else is
+     * represented by its type and string form so that later changes to the
+     * argument can't affect the key.
+     */
+    @Nullable
+    private static Object toKeyArg(@Nullable final Object arg) {
+        if (arg == null
+            || arg instanceof String
+            || arg instanceof Boolean
+            || arg instanceof Integer
+            || arg instanceof Long
+            || arg instanceof Double
+            || arg instanceof Float
+            || arg instanceof Short
+            || arg instanceof Byte
+            || arg instanceof Character
+            || arg instanceof Enum
+            || arg instanceof CatalogType
+            || arg instanceof Class) {
+            return arg;
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(arg.getClass(), arg.toString());
+    }
+
+    private static final class SingleArgTable {
+
+        private volatile Object trueValue;
+        private volatile Object falseValue;
+        @Nullable private volatile Class<?> enumType;
+        @Nullable private volatile Object[] enumValues;
+        @Nullable private volatile ConcurrentHashMap<Object, Object> values;
+
+        @Nullable
+        Object get(final Object arg) {
+            if (arg instanceof Boolean) {
+                return (Boolean) arg ? this.trueValue : this.falseValue;
+            }
+            if (arg instanceof Enum) {
+                final Object[] enumValues = this.enumValues;
+                if (enumValues != null && this.enumType == ((Enum<?>) arg).getDeclaringClass()) {
+                    return enumValues[((Enum<?>) arg).ordinal()];
+                }
+            }
+            final ConcurrentHashMap<Object, Object> values = this.values;
+            return values == null ? null : values.get(arg);
+        }
+
+        synchronized void put(final Object arg, final Object value) {
+            if (arg instanceof Boolean) {
+                if ((Boolean) arg) {
+                    this.trueValue = value;
+                } else {
+                    this.falseValue = value;
+                }
+                return;
+            }
+            if (arg instanceof Enum) {
+                final Class<?> enumType = ((Enum<?>) arg).getDeclaringClass();
+                if (this.enumValues == null) {
+                    this.enumType = enumType;
+                    this.enumValues = new Object[enumType.getEnumConstants().length];
+                }
+                if (this.enumType == enumType) {
+                    // Copy on write so readers never see a partially filled table
+                    final Object[] enumValues = Arrays.copyOf(this.enumValues, this.enumValues.length);
+                    enumValues[((Enum<?>) arg).ordinal()] = value;
+                    this.enumValues = enumValues;
+                    return;
+                }
+            }
+            if (this.values == null) {
+                this.values = new ConcurrentHashMap<>();
+            }
+            this.values.putIfAbsent(arg, value);
+        }
+    }
+
+    private static final class StructuralKey {
+
+        private final Class<?> type;
+        @Nullable private final Object qualifier;
+        // Single argument keys keep their argument in arg and have no array
+        @Nullable private final Object[] args;
+        @Nullable private final Object arg;
+        private final int hash;
+
+        StructuralKey(final Class<?> type, @Nullable final Object qualifier, @Nullable final Object arg) {
+            this.type = type;
+            this.qualifier = qualifier;
+            this.args = null;
+            this.arg = toKeyArg(arg);
+            this.hash = 31 * (31 * type.hashCode() + Objects.hashCode(qualifier)) + Objects.hashCode(this.arg);
+        }
+
+        StructuralKey(final Class<?> type, @Nullable final Object qualifier, final Object[] args) {
+            this.type = type;
+            this.qualifier = qualifier;
+            this.arg = null;
+            this.args = new Object[args.length];
+            int hash = 31 * type.hashCode() + Objects.hashCode(qualifier);
+            for (int i = 0; i < args.length; i++) {
+                final Object arg = toKeyArg(args[i]);
+                this.args[i] = arg;
+                hash = 31 * hash + Objects.hashCode(arg);
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StructuralKey)) {
+                return false;
+            }
+            final StructuralKey other = (StructuralKey) obj;
+            return this.hash == other.hash
+                && this.type == other.type
+                && Objects.equals(this.qualifier, other.qualifier)
+                && Objects.equals(this.arg, other.arg)
+                && Arrays.equals(this.args, other.args);
+        }
+    }
+}
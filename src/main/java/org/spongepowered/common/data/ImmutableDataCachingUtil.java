@@ -26,9 +26,6 @@
 
 import static org.spongepowered.common.util.ReflectionUtil.createUnsafeInstance;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.data.key.Key;
 import org.spongepowered.api.data.manipulator.ImmutableDataManipulator;
 import org.spongepowered.api.data.value.BaseValue;
@@ -37,7 +34,6 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
 public final class ImmutableDataCachingUtil {
@@ -48,18 +44,12 @@ private ImmutableDataCachingUtil() {}
     public static final int MANIPULATOR_CACHE_LIMIT = 100000;
     public static final int VALUE_CACHE_LIMIT = 100000;
 
-    private static final Cache<String, ImmutableDataManipulator<?, ?>> manipulatorCache = CacheBuilder.newBuilder()
-        .maximumSize(MANIPULATOR_CACHE_LIMIT)
-        .concurrencyLevel(4)
-        .build();
+    private static final ImmutableDataCache<ImmutableDataManipulator<?, ?>> manipulatorCache = new ImmutableDataCache<>(MANIPULATOR_CACHE_LIMIT);
 
-    private static final Cache<String, ImmutableValue<?>> valueCache = CacheBuilder.newBuilder()
-        .concurrencyLevel(4)
-        .maximumSize(VALUE_CACHE_LIMIT)
-        .build();
+    private static final ImmutableDataCache<ImmutableValue<?>> valueCache = new ImmutableDataCache<>(VALUE_CACHE_LIMIT);
 
     /**
-     * Retrieves a basic manipulator from {@link Cache}. If the {@link Cache}
+     * Retrieves a basic manipulator from the cache. If the cache
      * does not have the desired {@link ImmutableDataManipulator} with relative
      * values, a new one is created and submitted to the cache for future
      * retrieval.
@@ -75,11 +65,9 @@ private ImmutableDataCachingUtil() {}
      */
     @SuppressWarnings("unchecked")
     public static <T extends ImmutableDataManipulator<?, ?>> T getManipulator(final Class<T> immutableClass, final Object... args) {
-        final String key = getKey(immutableClass, args);
         // We can't really use the generic typing here because it's complicated...
         try {
-            // Let's get the key
-            return (T) ImmutableDataCachingUtil.manipulatorCache.get(key, (Callable<ImmutableDataManipulator<?, ?>>) () -> {
+            return (T) ImmutableDataCachingUtil.manipulatorCache.get(immutableClass, null, args, () -> {
                     try {
                         return createUnsafeInstance(immutableClass, args);
                     } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
@@ -97,9 +85,8 @@ private ImmutableDataCachingUtil() {}
     @SuppressWarnings("unchecked")
     public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T getValue(final Class<V> valueClass,
             final Key<? extends BaseValue<E>> usedKey, final E defaultArg, final E arg, final Object... extraArgs) {
-        final String key = getKey(valueClass, usedKey.getQuery().asString('.'), arg.getClass(), arg);
         try {
-            return (T) ImmutableDataCachingUtil.valueCache.get(key, (Callable<ImmutableValue<?>>) () -> {
+            return (T) ImmutableDataCachingUtil.valueCache.getSingle(valueClass, usedKey, arg, () -> {
                     try {
                         if (extraArgs == null || extraArgs.length == 0) {
                             return createUnsafeInstance(valueClass, usedKey, defaultArg, arg);
@@ -115,15 +102,19 @@ public static <E, V extends ImmutableValue<?>, T extends ImmutableValue<E>> T ge
         }
     }
 
-    private static String getKey(final Class<?> immutableClass, final Object... args) {
-        final StringBuilder builder = new StringBuilder(immutableClass.getCanonicalName() + ":");
-        for (Object object : args) {
-            if (object instanceof CatalogType) {
-                builder.append("{").append(((CatalogType) object).getId()).append("}");
-            } else {
-                builder.append("{").append(object.toString()).append("}");
-            }
-        }
-        return builder.toString();
+    public static long getManipulatorCacheLookups() {
+        return ImmutableDataCachingUtil.manipulatorCache.getLookups();
+    }
+
+    public static double getManipulatorCacheHitRate() {
+        return ImmutableDataCachingUtil.manipulatorCache.getHitRate();
+    }
+
+    public static long getValueCacheLookups() {
+        return ImmutableDataCachingUtil.valueCache.getLookups();
+    }
+
+    public static double getValueCacheHitRate() {
+        return ImmutableDataCachingUtil.valueCache.getHitRate();
     }
 }
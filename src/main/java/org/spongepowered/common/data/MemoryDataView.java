@@ -52,6 +52,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -67,14 +68,19 @@
  */
 public class MemoryDataView implements DataView {
 
-    protected final Map<String, Object> map = Maps.newLinkedHashMap();
+    protected final Map<String, Object> map;
     private final DataContainer container;
     private final DataView parent;
     private final DataQuery path;
     private final DataView.SafetyMode safety;
 
     MemoryDataView(DataView.SafetyMode safety) {
+        this(safety, Maps.newLinkedHashMap());
+    }
+
+    MemoryDataView(DataView.SafetyMode safety, Map<String, Object> map) {
         checkState(this instanceof DataContainer, "Cannot construct a root MemoryDataView without a container!");
+        this.map = map;
         this.path = of();
         this.parent = this;
         this.container = (DataContainer) this;
@@ -82,7 +88,12 @@ public class MemoryDataView implements DataView {
     }
 
     private MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety) {
+        this(parent, path, safety, Maps.newLinkedHashMap());
+    }
+
+    MemoryDataView(DataView parent, DataQuery path, DataView.SafetyMode safety, Map<String, Object> map) {
         checkArgument(path.getParts().size() >= 1, "Path must have at least one part");
+        this.map = map;
         this.parent = parent;
         this.container = parent.getContainer();
         this.path = parent.getCurrentPath().then(path);
@@ -137,7 +148,7 @@ public Map<DataQuery, Object> getValues(boolean deep) {
             if (value instanceof DataView) {
                 builder.put(query, ((DataView) value).getValues(deep));
             } else {
-                builder.put(query, get(query).get());
+                builder.put(query, value);
             }
         }
         return builder.build();
@@ -148,12 +159,17 @@ public final boolean contains(DataQuery path) {
         checkNotNull(path, "path");
         List<String> queryParts = path.getParts();
 
-        String key = queryParts.get(0);
-        if (queryParts.size() == 1) {
-            return this.map.containsKey(key);
+        // Walk down nested memory views directly instead of popping the query at every level
+        final int last = queryParts.size() - 1;
+        MemoryDataView view = this;
+        for (int i = 0; i < last; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (!(child instanceof MemoryDataView)) {
+                return child instanceof DataView && ((DataView) child).contains(DataQuery.of(queryParts.subList(i + 1, queryParts.size())));
+            }
+            view = (MemoryDataView) child;
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
+        return view.map.containsKey(queryParts.get(last));
     }
 
     @Override
@@ -179,50 +195,61 @@ public boolean contains(DataQuery path, DataQuery... paths) {
     @Override
     public Optional<Object> get(DataQuery path) {
         checkNotNull(path, "path");
-        List<String> queryParts = path.getParts();
-
-        int sz = queryParts.size();
-
-        if (sz == 0) {
-            return Optional.<Object>of(this);
+        final Object object = this.getRaw(path);
+        if (object == null) {
+            return Optional.empty();
         }
-
-        String key = queryParts.get(0);
-        if (sz == 1) {
-            final Object object = this.map.get(key);
-            if (object == null) {
-                return Optional.empty();
-            }
-            if (this.safety == SafetyMode.ALL_DATA_CLONED) {
-                if (object.getClass().isArray()) {
-                    if (object instanceof byte[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
-                    } else if (object instanceof short[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((short[]) object));
-                    } else if (object instanceof int[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((int[]) object));
-                    } else if (object instanceof long[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((long[]) object));
-                    } else if (object instanceof float[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((float[]) object));
-                    } else if (object instanceof double[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((double[]) object));
-                    } else if (object instanceof boolean[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
-                    } else {
-                        return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
-                    }
+        if (this.safety == SafetyMode.ALL_DATA_CLONED) {
+            if (object.getClass().isArray()) {
+                if (object instanceof byte[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
+                } else if (object instanceof short[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((short[]) object));
+                } else if (object instanceof int[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((int[]) object));
+                } else if (object instanceof long[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((long[]) object));
+                } else if (object instanceof float[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((float[]) object));
+                } else if (object instanceof double[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((double[]) object));
+                } else if (object instanceof boolean[]) {
+                    return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
+                } else {
+                    return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
                 }
             }
-            return Optional.of(object);
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        if (!subViewOptional.isPresent()) {
-            return Optional.empty();
+        return Optional.of(object);
+    }
+
+    /**
+     * Gets the value stored at the given path without cloning it. Nested
+     * views created by this view share its safety mode, so the caller can
+     * apply it for the whole path.
+     *
+     * @param path The path
+     * @return The stored value, or null if there is none
+     */
+    @Nullable
+    private Object getRaw(DataQuery path) {
+        final List<String> queryParts = path.getParts();
+        final int last = queryParts.size() - 1;
+        if (last < 0) {
+            return this;
         }
-        DataView subView = subViewOptional.get();
-        return subView.get(path.popFirst());
-
+        MemoryDataView view = this;
+        for (int i = 0; i < last; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (!(child instanceof MemoryDataView)) {
+                if (child instanceof DataView) {
+                    return ((DataView) child).get(DataQuery.of(queryParts.subList(i + 1, queryParts.size()))).orElse(null);
+                }
+                return null;
+            }
+            view = (MemoryDataView) child;
+        }
+        return view.map.get(queryParts.get(last));
     }
 
     @Override
@@ -233,30 +260,14 @@ public DataView set(DataQuery path, Object value) {
         checkState(this.container != null);
         checkState(!path.getParts().isEmpty(), "The path is empty");
 
-        @Nullable DataManager manager;
-
-        // TODO: this call to getDataManager each set can be cleaned up
-        try {
-            manager = Sponge.getDataManager();
-        } catch (Exception e) {
-            manager = null;
-        }
-
         List<String> parts = path.getParts();
         String key = parts.get(0);
         if (parts.size() > 1) {
-            DataQuery subQuery = of(key);
-            Optional<DataView> subViewOptional = this.getUnsafeView(subQuery);
-            DataView subView;
-            if (!subViewOptional.isPresent()) {
-                this.createView(subQuery);
-                subView = (DataView) this.map.get(key);
-            } else {
-                subView = subViewOptional.get();
-            }
-            subView.set(path.popFirst(), value);
+            this.setNested(parts, 0, value);
             return this;
         }
+
+        @Nullable final DataManager manager = getDataManager();
         if (value instanceof DataView) {
             checkArgument(value != this, "Cannot set a DataView to itself.");
             // always have to copy a data view to avoid overwriting existing
@@ -307,6 +318,33 @@ public DataView set(DataQuery path, Object value) {
         return this;
     }
 
+    private void setNested(List<String> parts, int index, Object value) {
+        if (index == parts.size() - 1) {
+            this.set(of(parts.get(index)), value);
+            return;
+        }
+        final String key = parts.get(index);
+        Object subView = this.map.get(key);
+        if (!(subView instanceof DataView)) {
+            this.createView(of(key));
+            subView = this.map.get(key);
+        }
+        if (subView instanceof MemoryDataView) {
+            ((MemoryDataView) subView).setNested(parts, index + 1, value);
+        } else {
+            ((DataView) subView).set(DataQuery.of(parts.subList(index + 1, parts.size())), value);
+        }
+    }
+
+    @Nullable
+    private static DataManager getDataManager() {
+        try {
+            return Sponge.getDataManager();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     @Override
     public <E> DataView set(Key<? extends BaseValue<E>> key, E value) {
         return set(checkNotNull(key, "Key was null!").getQuery(), value);
@@ -521,65 +559,108 @@ private Optional<DataView> getUnsafeView(DataQuery path) {
         return get(path).filter(obj -> obj instanceof DataView).map(obj -> (DataView) obj);
     }
 
-    private Optional<DataView> getUnsafeView(String path) {
-        final Object object = this.map.get(path);
-        if (!(object instanceof DataView)) {
-            return Optional.empty();
-        }
-        return Optional.of((DataView) object);
-    }
-
 
     @Override
     public Optional<Boolean> getBoolean(DataQuery path) {
-        return get(path).flatMap(Coerce::asBoolean);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Boolean) {
+            return Optional.of((Boolean) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asBoolean(object);
     }
 
     @Override
     public Optional<Byte> getByte(DataQuery path) {
-        return get(path).flatMap(Coerce::asByte);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Byte) {
+            return Optional.of((Byte) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asByte(object);
     }
 
     @Override
     public Optional<Short> getShort(DataQuery path) {
-        return get(path).flatMap(Coerce::asShort);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Short) {
+            return Optional.of((Short) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asShort(object);
     }
 
     @Override
     public Optional<Integer> getInt(DataQuery path) {
-        return get(path).flatMap(Coerce::asInteger);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Integer) {
+            return Optional.of((Integer) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asInteger(object);
     }
 
     @Override
     public Optional<Long> getLong(DataQuery path) {
-        return get(path).flatMap(Coerce::asLong);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Long) {
+            return Optional.of((Long) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asLong(object);
     }
 
     @Override
     public Optional<Float> getFloat(DataQuery path) {
-        return get(path).flatMap(Coerce::asFloat);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Float) {
+            return Optional.of((Float) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asFloat(object);
     }
 
     @Override
     public Optional<Double> getDouble(DataQuery path) {
-        return get(path).flatMap(Coerce::asDouble);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof Double) {
+            return Optional.of((Double) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asDouble(object);
     }
 
     @Override
     public Optional<String> getString(DataQuery path) {
-        return get(path).flatMap(Coerce::asString);
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof String) {
+            return Optional.of((String) object);
+        }
+        return object == null ? Optional.empty() : Coerce.asString(object);
     }
 
     @Override
     public Optional<List<?>> getList(DataQuery path) {
-        Optional<Object> val = get(path);
-        if (val.isPresent()) {
-            if (val.get() instanceof List<?>) {
-                return Optional.<List<?>>of(Lists.newArrayList((List<?>) val.get()));
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (this.safety == SafetyMode.NO_DATA_CLONED) {
+            // The list is not copied, it is read only instead
+            if (object instanceof ImmutableList<?>) {
+                return Optional.of((List<?>) object);
             }
-            if (val.get() instanceof Object[]) {
-                return Optional.<List<?>>of(Lists.newArrayList((Object[]) val.get()));
+            if (object instanceof List<?>) {
+                return Optional.of(Collections.unmodifiableList((List<?>) object));
             }
+            if (object instanceof Object[]) {
+                return Optional.of(Collections.unmodifiableList(Arrays.asList((Object[]) object)));
+            }
+        }
+        if (object instanceof List<?>) {
+            return Optional.<List<?>>of(Lists.newArrayList((List<?>) object));
+        }
+        if (object instanceof Object[]) {
+            return Optional.<List<?>>of(Lists.newArrayList((Object[]) object));
         }
         return Optional.empty();
     }
@@ -596,15 +677,15 @@ public Optional<List<String>> getStringList(DataQuery path) {
     }
 
     private Optional<List<?>> getUnsafeList(DataQuery path) {
-        return get(path)
-                .filter(obj -> obj instanceof List<?> || obj instanceof Object[])
-                .map(obj -> {
-                    if (obj instanceof List<?>) {
-                        return (List<?>) obj;
-                    }
-                    return Arrays.asList((Object[]) obj);
-                }
-        );
+        checkNotNull(path, "path");
+        final Object object = getRaw(path);
+        if (object instanceof List<?>) {
+            return Optional.of((List<?>) object);
+        }
+        if (object instanceof Object[]) {
+            return Optional.of(Arrays.asList((Object[]) object));
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -0,0 +1,214 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.spongepowered.api.data.DataQuery.of;
+
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.persistence.NbtTranslator;
+import org.spongepowered.common.util.Constants;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * The map backing a {@link MemoryDataView} that wraps an
+ * {@link NBTTagCompound}. Tags are only translated once their key is
+ * accessed, nested compounds become views backed by this map again.
+ *
+ * <p>The wrapped compound must not be modified while the view is in use,
+ * changes made through the view are never written to it.</p>
+ */
+public final class NbtDataMap extends AbstractMap<String, Object> {
+
+    /**
+     * Wraps the given compound in a {@link DataContainer} that translates
+     * its tags when they are first accessed.
+     *
+     * @param compound The compound to wrap
+     * @return The data container
+     */
+    public static DataContainer wrap(final NBTTagCompound compound) {
+        final NbtDataMap map = new NbtDataMap(compound);
+        final MemoryDataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED, map);
+        map.view = container;
+        return container;
+    }
+
+    /**
+     * Gets the map backing the given view if it wraps a compound.
+     *
+     * @param view The view
+     * @return The map, or null if the view doesn't wrap a compound
+     */
+    @Nullable
+    public static NbtDataMap of(final DataView view) {
+        if (view instanceof MemoryDataView && ((MemoryDataView) view).map instanceof NbtDataMap) {
+            return (NbtDataMap) ((MemoryDataView) view).map;
+        }
+        return null;
+    }
+
+    private final NBTTagCompound compound;
+    // The translated and newly set values
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    // The keys of the tags that weren't translated yet, mapped to the keys in the compound
+    @Nullable private Map<String, String> untranslated;
+    private MemoryDataView view;
+
+    private NbtDataMap(final NBTTagCompound compound) {
+        this.compound = compound;
+    }
+
+    private Map<String, String> untranslated() {
+        if (this.untranslated == null) {
+            this.untranslated = new LinkedHashMap<>();
+            for (final String key : this.compound.getKeySet()) {
+                if (key.contains(NbtTranslator.BOOLEAN_IDENTIFIER) && this.compound.getTagId(key) == Constants.NBT.TAG_BYTE) {
+                    this.untranslated.put(key.replace(NbtTranslator.BOOLEAN_IDENTIFIER, ""), key);
+                } else {
+                    this.untranslated.put(key, key);
+                }
+            }
+        }
+        return this.untranslated;
+    }
+
+    private void translate(final String key, final String compoundKey) {
+        final NBTBase tag = this.compound.getTag(compoundKey);
+        if (tag.getId() == Constants.NBT.TAG_COMPOUND) {
+            final NbtDataMap map = new NbtDataMap((NBTTagCompound) tag);
+            map.view = new MemoryDataView(this.view, of(key), this.view.getSafetyMode(), map);
+            this.values.put(key, map.view);
+        } else {
+            // Sets the translated value through the view so it ends up exactly as
+            // it would have been set when translating the whole compound
+            NbtTranslator.setTag(tag, this.view, compoundKey);
+        }
+    }
+
+    private void translateAll() {
+        final Map<String, String> untranslated = this.untranslated();
+        if (untranslated.isEmpty()) {
+            return;
+        }
+        for (final Map.Entry<String, String> entry : new ArrayList<>(untranslated.entrySet())) {
+            untranslated.remove(entry.getKey());
+            this.translate(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Copies the tags that were never accessed to the given compound.
+     *
+     * @param target The compound to copy to
+     */
+    public void copyUntranslatedTo(final NBTTagCompound target) {
+        for (final String compoundKey : this.untranslated().values()) {
+            target.setTag(compoundKey, this.compound.getTag(compoundKey).copy());
+        }
+    }
+
+    /**
+     * Gets the values that were accessed or set, these may have been
+     * modified since.
+     *
+     * @return The translated values
+     */
+    public Map<String, Object> getTranslatedValues() {
+        return this.values;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final Object value = this.values.get(key);
+        if (value != null) {
+            return value;
+        }
+        final String compoundKey = this.untranslated().remove(key);
+        if (compoundKey == null) {
+            return null;
+        }
+        this.translate((String) key, compoundKey);
+        return this.values.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.values.containsKey(key) || this.untranslated().containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only returns the previous value if it was already translated.</p>
+     */
+    @Override
+    public Object put(final String key, final Object value) {
+        this.untranslated().remove(key);
+        return this.values.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only returns the previous value if it was already translated.</p>
+     */
+    @Override
+    public Object remove(final Object key) {
+        this.untranslated().remove(key);
+        return this.values.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.untranslated().clear();
+        this.values.clear();
+    }
+
+    @Override
+    public int size() {
+        return this.values.size() + this.untranslated().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.values.isEmpty() && this.untranslated().isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        this.translateAll();
+        return this.values.entrySet();
+    }
+}
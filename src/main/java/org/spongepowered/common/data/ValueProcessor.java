@@ -139,6 +139,21 @@
      */
     boolean supports(ValueContainer<?> container);
 
+    /**
+     * Gets whether instances of the given class could be supported by this
+     * processor at all. Only returns {@code false} if
+     * {@link #supports(ValueContainer)} is {@code false} for every instance
+     * of the class, which allows delegates to skip this processor for
+     * containers of that class without calling
+     * {@link #supports(ValueContainer)}.
+     *
+     * @param containerClass The class of the value container
+     * @return False if no value container of the class is supported
+     */
+    default boolean canSupport(Class<?> containerClass) {
+        return true;
+    }
+
     /**
      * Offers the provided {@link BaseValue} containing a value of the
      * appropriate value type of this {@link ValueProcessor} to offer
@@ -50,6 +50,7 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.data.NbtDataMap;
 import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
 import org.spongepowered.common.util.Constants;
 
@@ -80,18 +81,30 @@ private static void containerToCompound(final DataView container, final NBTTagCo
         // from the instance of checks.
         checkNotNull(container);
         checkNotNull(compound);
-        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
-            if (value instanceof DataView) {
-                NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
-                compound.setTag(key, inner);
-            } else if (value instanceof Boolean) {
-                compound.setTag(key + BOOLEAN_IDENTIFIER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
-            } else {
-                compound.setTag(key, getBaseFromObject(value));
+        final NbtDataMap nbtData = NbtDataMap.of(container);
+        if (nbtData != null) {
+            // Tags that were never accessed can't have changed, copying them is
+            // a lot cheaper than translating them back
+            nbtData.copyUntranslatedTo(compound);
+            for (Map.Entry<String, Object> entry : nbtData.getTranslatedValues().entrySet()) {
+                setTag(compound, entry.getKey(), entry.getValue());
             }
+            return;
+        }
+        for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
+            setTag(compound, entry.getKey().asString('.'), entry.getValue());
+        }
+    }
+
+    private static void setTag(final NBTTagCompound compound, final String key, final Object value) {
+        if (value instanceof DataView) {
+            NBTTagCompound inner = new NBTTagCompound();
+            containerToCompound((DataView) value, inner);
+            compound.setTag(key, inner);
+        } else if (value instanceof Boolean) {
+            compound.setTag(key + BOOLEAN_IDENTIFIER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
+        } else {
+            compound.setTag(key, getBaseFromObject(value));
         }
     }
 
@@ -182,6 +195,18 @@ private static DataContainer getViewFromCompound(NBTTagCompound compound) {
         return container;
     }
 
+    /**
+     * Sets the translated value of the given tag to the view, the same way
+     * it would be set when translating the compound containing the tag.
+     *
+     * @param base The tag
+     * @param view The view to set the value to
+     * @param key The key of the tag
+     */
+    public static void setTag(NBTBase base, DataView view, String key) {
+        setInternal(base, base.getId(), view, key);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static void setInternal(NBTBase base, byte type, DataView view, String key) {
         checkNotNull(base);
@@ -303,6 +328,21 @@ public DataContainer translateFrom(NBTTagCompound node) {
         return NbtTranslator.getViewFromCompound(node);
     }
 
+    /**
+     * Wraps the compound in a {@link DataContainer} that only translates
+     * the tags that are accessed. Translating the container back to a
+     * compound copies the tags that were never accessed as they are.
+     *
+     * <p>The compound must not be modified while the container is in use,
+     * changes to the container are not written to the compound.</p>
+     *
+     * @param node The compound to wrap
+     * @return The data container
+     */
+    public DataContainer wrap(NBTTagCompound node) {
+        return NbtDataMap.wrap(checkNotNull(node));
+    }
+
     @Override
     public TypeToken<NBTTagCompound> getToken() {
         return TOKEN;
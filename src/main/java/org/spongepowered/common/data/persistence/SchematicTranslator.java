@@ -76,6 +76,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.IntFunction;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -179,7 +180,7 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
         if (offset.length != 3) {
             throw new InvalidDataException("Schematic offset was not of length 3");
         }
-        final Palette<BlockState> palette;
+        final BlockPaletteWrapper palette;
         final Optional<DataView> paletteData = updatedView.getView(Constants.Sponge.Schematic.PALETTE);
         final int palette_max = updatedView.getInt(Constants.Sponge.Schematic.PALETTE_MAX).orElse(0xFFFF);
         if (paletteData.isPresent()) {
@@ -199,11 +200,14 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
         }
 
         final Palette<BiomeType> biomePalette;
+        // Looks up the biomes by id without an Optional per biome
+        final IntFunction<BiomeType> biomesById;
         final Optional<DataView> biomePaletteData = updatedView.getView(Constants.Sponge.Schematic.BIOME_PALETTE);
         final int biome_max = updatedView.getInt(Constants.Sponge.Schematic.BIOME_PALETTE_MAX).orElse(0xFFFF);
         if (biomePaletteData.isPresent()) {
             final BimapPalette<BiomeType> bimap = new BimapPalette<>(PaletteTypes.LOCAL_BIOMES, biome_max != 0xFFF ? palette_max : 64);
             biomePalette = bimap;
+            biomesById = bimap::getNullable;
             final DataView biomeMap = biomePaletteData.get();
             final Set<DataQuery> biomeKeys = biomeMap.getKeys(false);
             for (final DataQuery biomeKey : biomeKeys) {
@@ -211,7 +215,9 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                 bimap.assign(biome, biomeMap.getInt(biomeKey).get());
             }
         } else {
-            biomePalette = GlobalPalette.getBiomePalette();
+            final GlobalPalette<BiomeType> global = GlobalPalette.getBiomePalette();
+            biomePalette = global;
+            biomesById = global::getNullable;
         }
 
         final SpongeSchematicBuilder builder = new SpongeSchematicBuilder();
@@ -244,7 +250,10 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
             final int y = index / (width * length);
             final int z = (index % (width * length)) / width;
             final int x = (index % (width * length)) % width;
-            final BlockState state = palette.get(value).get();
+            final BlockState state = palette.getNullable(value);
+            if (state == null) {
+                throw new InvalidDataException("Unknown block palette id in Schematic: " + value);
+            }
             buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
 
             index++;
@@ -275,7 +284,10 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                 }
                 final int z = (biomeIndex % (width * length)) / width;
                 final int x = (biomeIndex % (width * length)) % width;
-                final BiomeType type = biomePalette.get(bVal).get();
+                final BiomeType type = biomesById.apply(bVal);
+                if (type == null) {
+                    throw new InvalidDataException("Unknown biome palette id in Schematic: " + bVal);
+                }
                 biomeBuffer.setBiome(x - offset[0], 0, z - offset[2], type);
 
                 biomeIndex++;
@@ -298,7 +310,7 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                                 if (needsFixers) {
                                     NBTTagCompound tileNbt = NbtTranslator.getInstance().translate(tile);
                                     tileNbt = VANILLA_FIXER.process(FixTypes.BLOCK_ENTITY, tileNbt, version);
-                                    upgraded = NbtTranslator.getInstance().translate(tileNbt);
+                                    upgraded = NbtTranslator.getInstance().wrap(tileNbt);
                                 } else {
                                     upgraded = tile;
                                 }
@@ -332,7 +344,7 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                         if (needsFixers) {
                             NBTTagCompound entityNbt = NbtTranslator.getInstance().translate(view);
                             entityNbt = VANILLA_FIXER.process(FixTypes.ENTITY, entityNbt, version);
-                            upgraded = NbtTranslator.getInstance().translate(entityNbt);
+                            upgraded = NbtTranslator.getInstance().wrap(entityNbt);
                         } else {
                             upgraded = view;
                         }
@@ -493,7 +493,7 @@ public static DataTransactionResult apply(final NBTTagCompound compound, final D
                 final String dataId = dataCompound.getString(Constants.Sponge.MANIPULATOR_ID);
                 if (dataId.equalsIgnoreCase(registration.getId())) {
                     final NBTTagCompound current = dataCompound.getCompoundTag(Constants.Sponge.CUSTOM_DATA);
-                    final DataContainer currentView = NbtTranslator.getInstance().translate(current);
+                    final DataContainer currentView = NbtTranslator.getInstance().wrap(current);
                     final Optional<DataManipulator<?, ?>> existingManipulator = deserializeManipulator(dataId, currentView);
                     final DataContainer replacement = manipulator.toContainer();
                     final NBTTagCompound replacementCompound = NbtTranslator.getInstance().translateData(replacement);
@@ -540,7 +540,7 @@ public static DataTransactionResult remove(final NBTTagCompound data, final Clas
             final String dataId = dataCompound.getString(Constants.Sponge.MANIPULATOR_ID);
             if (registration.getId().equalsIgnoreCase(dataId)) {
                 final NBTTagCompound current = dataCompound.getCompoundTag(Constants.Sponge.CUSTOM_DATA);
-                final DataContainer currentView = NbtTranslator.getInstance().translate(current);
+                final DataContainer currentView = NbtTranslator.getInstance().wrap(current);
                 final Optional<DataManipulator<?, ?>> existing = deserializeManipulator(dataId, currentView);
                 dataList.removeTag(i);
                 return existing.map(DataManipulator::getValues)
@@ -603,7 +603,9 @@ private static void translateTagListToView(final ImmutableList.Builder<? super D
         if (!list.isEmpty()) {
             for (int i = 0; i < list.tagCount(); i++) {
                 final NBTTagCompound internal = list.getCompoundTagAt(i);
-                builder.add(NbtTranslator.getInstance().translateFrom(internal));
+                // The list may be part of a live compound, views of data that fails to
+                // deserialize are kept around, so they get a copy to wrap
+                builder.add(NbtTranslator.getInstance().wrap(internal.copy()));
             }
 
         }
@@ -34,6 +34,7 @@
 import org.spongepowered.common.data.ValueProcessor;
 
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is really just a lazy class to handle processing on multiple
@@ -46,6 +47,9 @@
 
     private final Key<V> key;
     private final ImmutableList<ValueProcessor<E, V>> processors;
+    // The processors that can support containers of a class, resolved on first use.
+    // Delegates are rebuilt whenever processors are registered, so this never goes stale.
+    private final ConcurrentHashMap<Class<?>, ImmutableList<ValueProcessor<E, V>>> processorsByContainerClass = new ConcurrentHashMap<>();
 
     public ValueProcessorDelegate(Key<V> key, ImmutableList<ValueProcessor<E, V>> processors) {
         this.key = key;
@@ -57,14 +61,42 @@ public Key<? extends BaseValue<E>> getKey() {
         return this.key;
     }
 
+    private ImmutableList<ValueProcessor<E, V>> getProcessors(ValueContainer<?> container) {
+        final ImmutableList<ValueProcessor<E, V>> processors = this.processorsByContainerClass.get(container.getClass());
+        if (processors != null) {
+            return processors;
+        }
+        return this.processorsByContainerClass.computeIfAbsent(container.getClass(), this::resolveProcessors);
+    }
+
+    private ImmutableList<ValueProcessor<E, V>> resolveProcessors(Class<?> containerClass) {
+        final ImmutableList.Builder<ValueProcessor<E, V>> builder = ImmutableList.builder();
+        for (ValueProcessor<E, V> processor : this.processors) {
+            if (processor.canSupport(containerClass)) {
+                builder.add(processor);
+            }
+        }
+        return builder.build();
+    }
+
     @Override
     public int getPriority() {
         return Integer.MAX_VALUE;
     }
 
     @Override
-    public Optional<E> getValueFromContainer(ValueContainer<?> container) {
+    public boolean canSupport(Class<?> containerClass) {
         for (ValueProcessor<E, V> processor : this.processors) {
+            if (processor.canSupport(containerClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Optional<E> getValueFromContainer(ValueContainer<?> container) {
+        for (ValueProcessor<E, V> processor : this.getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<E> optional = processor.getValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -77,7 +109,7 @@ public Optional<E> getValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<V> optional = processor.getApiValueFromContainer(container);
                 if (optional.isPresent()) {
@@ -90,7 +122,7 @@ public Optional<V> getApiValueFromContainer(ValueContainer<?> container) {
 
     @Override
     public boolean supports(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.getProcessors(container)) {
             if (processor.supports(container)) {
                 return true;
             }
@@ -101,7 +133,7 @@ public boolean supports(ValueContainer<?> container) {
     @SuppressWarnings("unchecked")
     @Override
     public DataTransactionResult offerToStore(ValueContainer<?> container, E value) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.getProcessors(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.offerToStore(container, value);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
@@ -109,7 +141,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
                 }
             }
         }
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.getProcessors(container)) {
             if (processor.supports(container)) {
                 final Optional<V> currentValueOptional = processor.getApiValueFromContainer(container);
                 if (currentValueOptional.isPresent()) {
@@ -132,7 +164,7 @@ public DataTransactionResult offerToStore(ValueContainer<?> container, E value)
 
     @Override
     public DataTransactionResult removeFrom(ValueContainer<?> container) {
-        for (ValueProcessor<E, V> processor : this.processors) {
+        for (ValueProcessor<E, V> processor : this.getProcessors(container)) {
             if (processor.supports(container)) {
                 final DataTransactionResult result = processor.removeFrom(container);
                 if (!result.getType().equals(DataTransactionResult.Type.FAILURE)) {
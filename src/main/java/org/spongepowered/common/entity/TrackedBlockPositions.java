@@ -0,0 +1,236 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.shorts.Short2LongOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.common.util.Constants;
+
+/**
+ * Stores the {@link PlayerTracker.Type#OWNER owner} and
+ * {@link PlayerTracker.Type#NOTIFIER notifier} indices of the tracked block
+ * positions within a chunk. Both indices are packed into a single
+ * {@code long} that is stored in a primitive open addressing map, keyed by
+ * the {@link Constants.Sponge#blockPosToShort(BlockPos) short} position
+ * for blocks up to y 255 and by the {@link Constants.Sponge#blockPosToInt(BlockPos) int}
+ * position above that, so no boxed keys or tracker objects are kept per
+ * tracked block.
+ */
+public final class TrackedBlockPositions {
+
+    /**
+     * A store without any tracked positions, used when block tracking is
+     * disabled. Modifying it throws an {@link UnsupportedOperationException}.
+     */
+    public static final TrackedBlockPositions EMPTY = new TrackedBlockPositions(true);
+
+    /**
+     * The packed indices of a position that isn't tracked.
+     */
+    public static final long UNTRACKED = pack(-1, -1);
+
+    private final Short2LongOpenHashMap shortPositions = new Short2LongOpenHashMap();
+    private final Int2LongOpenHashMap intPositions = new Int2LongOpenHashMap();
+    private final boolean immutable;
+
+    public TrackedBlockPositions() {
+        this(false);
+    }
+
+    private TrackedBlockPositions(final boolean immutable) {
+        this.shortPositions.defaultReturnValue(UNTRACKED);
+        this.intPositions.defaultReturnValue(UNTRACKED);
+        this.immutable = immutable;
+    }
+
+    private void checkMutable() {
+        if (this.immutable) {
+            throw new UnsupportedOperationException("The empty tracked block positions can't be modified");
+        }
+    }
+
+    public static long pack(final int ownerIndex, final int notifierIndex) {
+        return ((long) ownerIndex << 32) | (notifierIndex & 0xFFFFFFFFL);
+    }
+
+    public static int getOwnerIndex(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int getNotifierIndex(final long packed) {
+        return (int) packed;
+    }
+
+    public boolean isEmpty() {
+        return this.shortPositions.isEmpty() && this.intPositions.isEmpty();
+    }
+
+    public int size() {
+        return this.shortPositions.size() + this.intPositions.size();
+    }
+
+    /**
+     * Gets the packed owner and notifier indices of the given position, or
+     * {@link #UNTRACKED} if the position isn't tracked.
+     *
+     * @param pos The position
+     * @return The packed indices
+     */
+    public long get(final BlockPos pos) {
+        final long intValue = this.intPositions.get(Constants.Sponge.blockPosToInt(pos));
+        if (intValue != UNTRACKED) {
+            return intValue;
+        }
+        return this.shortPositions.get(Constants.Sponge.blockPosToShort(pos));
+    }
+
+    /**
+     * Tracks the owner of a block that was placed at the given position. If
+     * the position is already tracked, the owner becomes the notifier too.
+     *
+     * @param pos The position
+     * @param index The index of the owner
+     */
+    public void trackOwner(final BlockPos pos, final int index) {
+        final long existing = this.getForWrite(pos);
+        this.put(pos, existing == UNTRACKED ? pack(index, -1) : pack(index, index));
+    }
+
+    public void setOwner(final BlockPos pos, final int index) {
+        this.put(pos, pack(index, getNotifierIndex(this.getForWrite(pos))));
+    }
+
+    public void setNotifier(final BlockPos pos, final int index) {
+        this.put(pos, pack(getOwnerIndex(this.getForWrite(pos)), index));
+    }
+
+    public void remove(final BlockPos pos) {
+        this.checkMutable();
+        this.intPositions.remove(Constants.Sponge.blockPosToInt(pos));
+        this.shortPositions.remove(Constants.Sponge.blockPosToShort(pos));
+    }
+
+    private long getForWrite(final BlockPos pos) {
+        if (pos.getY() <= 255) {
+            return this.shortPositions.get(Constants.Sponge.blockPosToShort(pos));
+        }
+        return this.intPositions.get(Constants.Sponge.blockPosToInt(pos));
+    }
+
+    private void put(final BlockPos pos, final long packed) {
+        this.checkMutable();
+        if (packed == UNTRACKED) {
+            this.remove(pos);
+        } else if (pos.getY() <= 255) {
+            this.shortPositions.put(Constants.Sponge.blockPosToShort(pos), packed);
+        } else {
+            this.intPositions.put(Constants.Sponge.blockPosToInt(pos), packed);
+        }
+    }
+
+    /**
+     * Writes the tracked positions as two int arrays of consecutive
+     * position, owner and notifier triples.
+     *
+     * @param compound The compound to write to
+     */
+    public void writeTo(final NBTTagCompound compound) {
+        final int[] shortTable = new int[this.shortPositions.size() * 3];
+        int i = 0;
+        for (final ShortIterator iterator = this.shortPositions.keySet().iterator(); iterator.hasNext(); ) {
+            final short pos = iterator.nextShort();
+            final long packed = this.shortPositions.get(pos);
+            shortTable[i++] = pos;
+            shortTable[i++] = getOwnerIndex(packed);
+            shortTable[i++] = getNotifierIndex(packed);
+        }
+        final int[] intTable = new int[this.intPositions.size() * 3];
+        i = 0;
+        for (final IntIterator iterator = this.intPositions.keySet().iterator(); iterator.hasNext(); ) {
+            final int pos = iterator.nextInt();
+            final long packed = this.intPositions.get(pos);
+            intTable[i++] = pos;
+            intTable[i++] = getOwnerIndex(packed);
+            intTable[i++] = getNotifierIndex(packed);
+        }
+        compound.setIntArray(Constants.Sponge.SPONGE_SHORT_BLOCK_POS_TABLE, shortTable);
+        compound.setIntArray(Constants.Sponge.SPONGE_INT_BLOCK_POS_TABLE, intTable);
+    }
+
+    /**
+     * Reads the tracked positions written by {@link #writeTo(NBTTagCompound)},
+     * or migrates the compound list that was used by older versions.
+     *
+     * @param compound The compound to read from
+     */
+    public void readFrom(final NBTTagCompound compound) {
+        this.checkMutable();
+        if (compound.hasKey(Constants.Sponge.SPONGE_SHORT_BLOCK_POS_TABLE, Constants.NBT.TAG_INT_ARRAY)
+                || compound.hasKey(Constants.Sponge.SPONGE_INT_BLOCK_POS_TABLE, Constants.NBT.TAG_INT_ARRAY)) {
+            final int[] shortTable = compound.getIntArray(Constants.Sponge.SPONGE_SHORT_BLOCK_POS_TABLE);
+            for (int i = 0; i + 2 < shortTable.length; i += 3) {
+                this.readEntry(true, shortTable[i], shortTable[i + 1], shortTable[i + 2]);
+            }
+            final int[] intTable = compound.getIntArray(Constants.Sponge.SPONGE_INT_BLOCK_POS_TABLE);
+            for (int i = 0; i + 2 < intTable.length; i += 3) {
+                this.readEntry(false, intTable[i], intTable[i + 1], intTable[i + 2]);
+            }
+            return;
+        }
+        final NBTTagList positions = compound.getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < positions.tagCount(); i++) {
+            final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
+            int ownerIndex = -1;
+            int notifierIndex = -1;
+            if (valueNbt.hasKey("owner")) {
+                ownerIndex = valueNbt.getInteger("owner");
+            } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
+                ownerIndex = valueNbt.getInteger("uuid");
+            }
+            if (valueNbt.hasKey("notifier")) {
+                notifierIndex = valueNbt.getInteger("notifier");
+            }
+            final boolean isShortPos = valueNbt.hasKey("pos");
+            this.readEntry(isShortPos, isShortPos ? valueNbt.getShort("pos") : valueNbt.getInteger("ipos"), ownerIndex, notifierIndex);
+        }
+    }
+
+    private void readEntry(final boolean isShortPos, final int pos, final int ownerIndex, final int notifierIndex) {
+        if (ownerIndex == -1 && notifierIndex == -1) {
+            return;
+        }
+        if (isShortPos) {
+            this.shortPositions.put((short) pos, pack(ownerIndex, notifierIndex));
+        } else {
+            this.intPositions.put(pos, pack(ownerIndex, notifierIndex));
+        }
+    }
+
+}
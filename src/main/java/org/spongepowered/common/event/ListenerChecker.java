@@ -41,6 +41,8 @@
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -53,6 +55,14 @@ public class ListenerChecker {
     private Map<String, FieldData> fields = new HashMap<>();
     private Map<Class<?>, FieldData> fieldClassMap = new HashMap<>();
 
+    // The number of listeners registered for each event class, this covers
+    // every event class instead of only the ones with a field
+    private final Map<Class<?>, Integer> listenerCounts = new ConcurrentHashMap<>();
+    // Replaced whenever a listener is (un)registered, so a result computed
+    // against the old listeners can't end up in the new cache
+    private volatile Map<Class<?>, Boolean> hasListenersCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LongAdder> skippedEvents = new ConcurrentHashMap<>();
+
 
     private static String getName(Class<?> clazz) {
         // Properly account for inner classes. Class#getName uses a $
@@ -64,10 +74,59 @@ private static String getName(Class<?> clazz) {
 
     public <T> void registerListenerFor(Class<T> eventClass) {
         this.updateFields(eventClass, true);
+        this.listenerCounts.merge(eventClass, 1, Integer::sum);
+        this.hasListenersCache = new ConcurrentHashMap<>();
     }
 
     public <T> void unregisterListenerFor(Class<T> eventClass) {
         this.updateFields(eventClass, false);
+        this.listenerCounts.computeIfPresent(eventClass, (c, count) -> count > 1 ? count - 1 : null);
+        this.hasListenersCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets whether an event of the given class could have any listeners,
+     * following the same rules as the fields of {@link ShouldFire}: a
+     * listener for a supertype or a subtype of the event class counts. If
+     * there are no listeners, the event is counted as skipped.
+     *
+     * @param eventClass The event class
+     * @return Whether the event should be constructed and posted
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        if (ALL_TRUE) {
+            return true;
+        }
+        final Map<Class<?>, Boolean> cache = this.hasListenersCache;
+        Boolean hasListeners = cache.get(eventClass);
+        if (hasListeners == null) {
+            hasListeners = cache.computeIfAbsent(eventClass, this::computeHasListeners);
+        }
+        if (!hasListeners) {
+            this.skippedEvents.computeIfAbsent(eventClass, c -> new LongAdder()).increment();
+        }
+        return hasListeners;
+    }
+
+    private boolean computeHasListeners(Class<?> eventClass) {
+        for (Class<?> listenerClass : this.listenerCounts.keySet()) {
+            if (listenerClass.isAssignableFrom(eventClass) || eventClass.isAssignableFrom(listenerClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of times an event wasn't constructed because
+     * {@link #hasListeners(Class)} found no listeners, by event class.
+     *
+     * @return The skipped event counts
+     */
+    public Map<Class<?>, Long> getSkippedEvents() {
+        final Map<Class<?>, Long> skipped = new HashMap<>();
+        this.skippedEvents.forEach((eventClass, count) -> skipped.put(eventClass, count.sum()));
+        return skipped;
     }
 
     public ListenerChecker(Class<?> clazz) {
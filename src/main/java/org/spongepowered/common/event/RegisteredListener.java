@@ -103,12 +103,14 @@ public int compareTo(RegisteredListener<?> handler) {
     public static final class Cache {
 
         private final List<RegisteredListener<?>> listeners;
+        private final RegisteredListener<?>[] listenerArray;
         private final EnumMap<Order, List<RegisteredListener<?>>> listenersByOrder;
 
         private static final Order[] ORDERS = Order.values();
 
         Cache(List<RegisteredListener<?>> listeners) {
             this.listeners = listeners;
+            this.listenerArray = listeners.toArray(new RegisteredListener<?>[0]);
 
             this.listenersByOrder = Maps.newEnumMap(Order.class);
             for (Order order : ORDERS) {
@@ -123,6 +125,16 @@ public List<RegisteredListener<?>> getListeners() {
             return this.listeners;
         }
 
+        /**
+         * Gets the listeners as an array, which can be iterated while
+         * posting an event without creating an iterator.
+         *
+         * @return The listeners
+         */
+        RegisteredListener<?>[] getListenerArray() {
+            return this.listenerArray;
+        }
+
         public List<RegisteredListener<?>> getListenersByOrder(Order order) {
             return this.listenersByOrder.get(checkNotNull(order, "order"));
         }
@@ -24,8 +24,24 @@
  */
 package org.spongepowered.common.event;
 
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Event;
+
 public class ShouldFire {
 
+    /**
+     * Gets whether an event of the given class could have any listeners.
+     * Unlike the fields below this works for every event class, so it can
+     * be used for events which don't have a field yet.
+     *
+     * @param eventClass The event class
+     * @return Whether the event should be constructed and posted
+     * @see ListenerChecker#hasListeners(Class)
+     */
+    public static boolean hasListeners(Class<? extends Event> eventClass) {
+        return ((SpongeEventManager) Sponge.getEventManager()).checker.hasListeners(eventClass);
+    }
+
     public static boolean PLAYER_CHANGE_CLIENT_SETTINGS_EVENT = false;
     public static boolean CONSTRUCT_ENTITY_EVENT_PRE = false;
 
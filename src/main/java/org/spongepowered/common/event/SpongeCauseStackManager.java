@@ -30,6 +30,8 @@
 import com.google.common.collect.Queues;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.apache.logging.log4j.Level;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.CauseStackManager;
@@ -46,11 +48,9 @@
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
@@ -89,13 +89,16 @@ public final class SpongeCauseStackManager implements CauseStackManager {
 
     private final Deque<Object> cause = Queues.newArrayDeque();
 
-    // Frames in use
-    private final Deque<CauseStackFrameImpl> frames = Queues.newArrayDeque();
+    // The frames in use, followed by the frames kept to be reused. Frames are
+    // only created the first time the stack reaches a depth.
+    private CauseStackFrameImpl[] frames = new CauseStackFrameImpl[Math.max(16, INITIAL_POOL_SIZE)];
+    private int frameCount = 0;
 
-    // Frames not currently in use
-    private final Deque<CauseStackFrameImpl> framePool = new ArrayDeque<>(MAX_POOL_SIZE);
-
-    private Map<EventContextKey<?>, Object> ctx = Maps.newHashMap();
+    // The context values, stored in the slot assigned to their key
+    private final Object2IntMap<EventContextKey<?>> contextSlots = new Object2IntOpenHashMap<>();
+    private EventContextKey<?>[] contextKeys = new EventContextKey<?>[16];
+    private Object[] contextValues = new Object[16];
+    private int contextCount = 0;
     private int min_depth = 0;
     private int[] duplicateCauses = new int[100];
     @Nullable private Cause cached_cause;
@@ -111,8 +114,9 @@ public final class SpongeCauseStackManager implements CauseStackManager {
     @Inject
     private SpongeCauseStackManager() {
         for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
-            this.framePool.push(new CauseStackFrameImpl());
+            this.frames[i] = new CauseStackFrameImpl();
         }
+        this.contextSlots.defaultReturnValue(-1);
     }
 
     private void enforceMainThread() {
@@ -170,16 +174,57 @@ private void checkProviders() {
     public EventContext getCurrentContext() {
         enforceMainThread();
         if (this.cached_ctx == null) {
-            this.cached_ctx = EventContext.of(this.ctx);
+            // The snapshot is only taken once it's requested, and kept until the context changes
+            if (this.contextCount == 0) {
+                this.cached_ctx = EventContext.empty();
+            } else {
+                final Map<EventContextKey<?>, Object> ctx = Maps.newHashMapWithExpectedSize(this.contextCount);
+                for (int slot = 0; slot < this.contextSlots.size(); slot++) {
+                    final Object value = this.contextValues[slot];
+                    if (value != null) {
+                        ctx.put(this.contextKeys[slot], value);
+                    }
+                }
+                this.cached_ctx = EventContext.of(ctx);
+            }
         }
         return this.cached_ctx;
     }
 
+    private int getContextSlot(final EventContextKey<?> key) {
+        int slot = this.contextSlots.getInt(key);
+        if (slot == -1) {
+            slot = this.contextSlots.size();
+            if (slot == this.contextKeys.length) {
+                this.contextKeys = Arrays.copyOf(this.contextKeys, slot * 2);
+                this.contextValues = Arrays.copyOf(this.contextValues, slot * 2);
+            }
+            this.contextKeys[slot] = key;
+            this.contextSlots.put(key, slot);
+        }
+        return slot;
+    }
+
+    @Nullable
+    private Object setContextValue(final int slot, @Nullable final Object value) {
+        final Object existing = this.contextValues[slot];
+        if (existing == value) {
+            return existing;
+        }
+        if (existing == null) {
+            this.contextCount++;
+        } else if (value == null) {
+            this.contextCount--;
+        }
+        this.contextValues[slot] = value;
+        this.cached_ctx = null;
+        return existing;
+    }
+
     @Override
     public CauseStackManager pushCause(final Object obj) {
         enforceMainThread();
         checkNotNull(obj, "obj");
-        this.cached_cause = null;
         if (this.cause.peek() == obj) {
             // We don't want to be pushing duplicate objects
             // to the root and secondary entry of the cause.
@@ -197,6 +242,7 @@ public CauseStackManager pushCause(final Object obj) {
             this.duplicateCauses[dupedIndex] = this.duplicateCauses[dupedIndex] + 1;
             return this;
         }
+        this.cached_cause = null;
         this.cause.push(obj);
         return this;
     }
@@ -244,20 +290,20 @@ public StackFrame pushCauseFrame() {
             this.duplicateCauses = Arrays.copyOf(this.duplicateCauses, (int) (size * 1.5));
         }
 
-        final CauseStackFrameImpl frame;
-        if (this.framePool.isEmpty()) {
-            frame = new CauseStackFrameImpl().set(this.min_depth, this.duplicateCauses[size]);
+        if (this.frameCount == this.frames.length) {
+            this.frames = Arrays.copyOf(this.frames, this.frameCount * 2);
+        }
+        CauseStackFrameImpl frame = this.frames[this.frameCount];
+        if (frame == null) {
+            frame = new CauseStackFrameImpl();
+            this.frames[this.frameCount] = frame;
         } else {
-            frame = this.framePool.pop();
-
             // Just in case we didn't catch a corrupted frame, clear it to ensure that we have
             // a clean slate.
             frame.clear();
-            frame.old_min_depth = min_depth;
-            frame.lastCauseSize = this.duplicateCauses[size];
         }
-
-        this.frames.push(frame);
+        frame.set(this.min_depth, this.duplicateCauses[size]);
+        this.frameCount++;
         this.min_depth = size;
         if (DEBUG_CAUSE_FRAMES) {
             // Attach an exception to the frame so that if there is any frame
@@ -272,7 +318,7 @@ public StackFrame pushCauseFrame() {
     public void popCauseFrame(final StackFrame oldFrame) {
         enforceMainThread();
         checkNotNull(oldFrame, "oldFrame");
-        final CauseStackFrameImpl frame = this.frames.peek();
+        final CauseStackFrameImpl frame = this.frameCount == 0 ? null : this.frames[this.frameCount - 1];
         if (frame != oldFrame) {
             // If the given frame is not the top frame then some form of
             // corruption of the stack has occurred and we do our best to correct
@@ -282,13 +328,11 @@ public void popCauseFrame(final StackFrame oldFrame) {
             // off the stack until we reach it, otherwise we have no choice but
             // to simply throw an error.
             int offset = -1;
-            int i = 0;
-            for (final CauseStackFrameImpl f : this.frames) {
-                if (f == oldFrame) {
-                    offset = i;
+            for (int i = this.frameCount - 1; i >= 0; i--) {
+                if (this.frames[i] == oldFrame) {
+                    offset = this.frameCount - 1 - i;
                     break;
                 }
-                i++;
             }
             if (!DEBUG_CAUSE_FRAMES && offset == -1) {
                 // if we're not debugging the cause frames then throw an error
@@ -312,7 +356,7 @@ public void popCauseFrame(final StackFrame oldFrame) {
             }
 
             while (offset >= 0) {
-                final CauseStackFrameImpl f = this.frames.peek();
+                final CauseStackFrameImpl f = this.frames[this.frameCount - 1];
                 if (DEBUG_CAUSE_FRAMES && offset > 0) {
                     printer.add("   Stack frame in position %n :", offset);
                     printer.add(f.stack_debug);
@@ -328,16 +372,11 @@ public void popCauseFrame(final StackFrame oldFrame) {
             }
             return;
         }
-        this.frames.pop();
+        this.frameCount--;
 
-        // Remove new values
-        for (Map.Entry<EventContextKey<?>, Object> entry : frame.getOriginalContextDelta().entrySet()) {
-            this.cached_ctx = null;
-            if (entry.getValue() == null) { // wasn't present before, remove
-                this.ctx.remove(entry.getKey());
-            } else { // was there, replace
-                this.ctx.put(entry.getKey(), entry.getValue());
-            }
+        // Restore the values which were present before the frame, a null value wasn't present
+        for (int i = 0; i < frame.originalContextCount; i++) {
+            setContextValue(frame.originalContextSlots[i], frame.originalContextValues[i]);
         }
 
         // If there were any objects left on the stack then we pop them off
@@ -364,12 +403,13 @@ public void popCauseFrame(final StackFrame oldFrame) {
             this.duplicateCauses[size] = frame.lastCauseSize;
         }
 
-        // finally, return the frame to the pool
-        if (this.framePool.size() < MAX_POOL_SIZE) {
+        // finally, keep the frame to be reused
+        if (this.frameCount < MAX_POOL_SIZE) {
             // cache it, but also call clear so we remove references to
             // other objects that may go out of scope
             frame.clear();
-            this.framePool.push(frame);
+        } else {
+            this.frames[this.frameCount] = null;
         }
     }
 
@@ -378,10 +418,10 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
         enforceMainThread();
         checkNotNull(key, "key");
         checkNotNull(value, "value");
-        this.cached_ctx = null;
-        final Object existing = this.ctx.put(key, value);
-        if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+        final int slot = getContextSlot(key);
+        final Object existing = setContextValue(slot, value);
+        if (existing != value && this.frameCount != 0) {
+            this.frames[this.frameCount - 1].storeOriginalContext(slot, existing);
         }
         return this;
     }
@@ -391,7 +431,8 @@ public <T> CauseStackManager addContext(final EventContextKey<T> key, final T va
     public <T> Optional<T> getContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
-        return Optional.ofNullable((T) this.ctx.get(key));
+        final int slot = this.contextSlots.getInt(key);
+        return slot == -1 ? Optional.empty() : Optional.ofNullable((T) this.contextValues[slot]);
     }
 
     @Override
@@ -399,10 +440,13 @@ public <T> Optional<T> getContext(final EventContextKey<T> key) {
     public <T> Optional<T> removeContext(final EventContextKey<T> key) {
         enforceMainThread();
         checkNotNull(key, "key");
-        this.cached_ctx = null;
-        Object existing = this.ctx.remove(key);
-        if (!this.frames.isEmpty()) {
-            this.frames.peek().storeOriginalContext(key, existing);
+        final int slot = this.contextSlots.getInt(key);
+        if (slot == -1) {
+            return Optional.empty();
+        }
+        final Object existing = setContextValue(slot, null);
+        if (existing != null && this.frameCount != 0) {
+            this.frames[this.frameCount - 1].storeOriginalContext(slot, existing);
         }
         return Optional.ofNullable((T) existing);
     }
@@ -439,10 +483,12 @@ public void popFrameMutator(final PhaseContext<?> context) {
 
     public static class CauseStackFrameImpl implements StackFrame {
 
-        private final Map<EventContextKey<?>, Object> stored_ctx_values = new HashMap<>();
         int old_min_depth;
         int lastCauseSize;
-        private final Map<EventContextKey<?>, Object> storedContext = new HashMap<>();
+        // The context slots changed within this frame with their original values
+        int[] originalContextSlots = new int[4];
+        Object[] originalContextValues = new Object[4];
+        int originalContextCount;
 
         @Nullable Exception stack_debug = null;
 
@@ -450,8 +496,8 @@ public static class CauseStackFrameImpl implements StackFrame {
         CauseStackFrameImpl() {}
 
         public void clear() {
-            this.stored_ctx_values.clear();
-            this.storedContext.clear();
+            Arrays.fill(this.originalContextValues, 0, this.originalContextCount, null);
+            this.originalContextCount = 0;
             this.lastCauseSize = -1;
             this.old_min_depth = -1;
             this.stack_debug = null;
@@ -464,31 +510,19 @@ public CauseStackFrameImpl set(int old_depth, int size) {
             return this;
         }
 
-        public boolean isStored(final EventContextKey<?> key) {
-            return this.stored_ctx_values != null && this.stored_ctx_values.containsKey(key);
-        }
-
-        public Set<Map.Entry<EventContextKey<?>, Object>> getStoredValues() {
-            return this.stored_ctx_values.entrySet();
-        }
-
-        public boolean hasStoredValues() {
-            return !this.stored_ctx_values.isEmpty();
-        }
-
-        public void store(EventContextKey<?> key, Object existing) {
-            this.stored_ctx_values.put(key, existing);
-        }
-
         // Note that a null object indicates that the context should be removed
-        void storeOriginalContext(EventContextKey<?> key, @Nullable Object object) {
-            if (!this.storedContext.containsKey(key)) {
-                this.storedContext.put(key, object);
+        void storeOriginalContext(int slot, @Nullable Object object) {
+            for (int i = 0; i < this.originalContextCount; i++) {
+                if (this.originalContextSlots[i] == slot) {
+                    return;
+                }
             }
-        }
-
-        Map<EventContextKey<?>, Object> getOriginalContextDelta() {
-            return this.storedContext;
+            if (this.originalContextCount == this.originalContextSlots.length) {
+                this.originalContextSlots = Arrays.copyOf(this.originalContextSlots, this.originalContextCount * 2);
+                this.originalContextValues = Arrays.copyOf(this.originalContextValues, this.originalContextCount * 2);
+            }
+            this.originalContextSlots[this.originalContextCount] = slot;
+            this.originalContextValues[this.originalContextCount++] = object;
         }
 
         @Override
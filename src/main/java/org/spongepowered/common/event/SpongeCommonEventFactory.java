@@ -1059,10 +1059,13 @@ public static boolean handleCollideBlockEvent(final Block block, final net.minec
                 spongeEntity.tracked$getOwnerReference().ifPresent(user -> frame.addContext(EventContextKeys.OWNER, user));
             }
 
-            // TODO: Add target side support
-            final CollideBlockEvent event = SpongeEventFactory.createCollideBlockEvent(frame.getCurrentCause(), (BlockState) state,
-                    new Location<>((World) world, VecHelper.toVector3d(pos)), direction);
-            final boolean cancelled = SpongeImpl.postEvent(event);
+            boolean cancelled = false;
+            if (ShouldFire.hasListeners(CollideBlockEvent.class)) {
+                // TODO: Add target side support
+                final CollideBlockEvent event = SpongeEventFactory.createCollideBlockEvent(frame.getCurrentCause(), (BlockState) state,
+                        new Location<>((World) world, VecHelper.toVector3d(pos)), direction);
+                cancelled = SpongeImpl.postEvent(event);
+            }
             if (!cancelled) {
                 final EntityBridge spongeEntity = (EntityBridge) entity;
                 if (!pos.equals(spongeEntity.bridge$getLastCollidedBlockPos())) {
@@ -1577,6 +1580,9 @@ public static ChangeEntityEquipmentEvent callChangeEntityEquipmentEvent(
 
 
     public static int callEnchantEventLevelRequirement(ContainerEnchantment container, int seed, int option, int power, ItemStack itemStack, int levelRequirement) {
+        if (!ShouldFire.hasListeners(EnchantItemEvent.CalculateLevelRequirement.class)) {
+            return levelRequirement;
+        }
         org.spongepowered.api.item.inventory.Container enchantContainer = ContainerUtil.fromNative(container);
 
         EnchantItemEvent.CalculateLevelRequirement event =
@@ -1590,6 +1596,9 @@ public static int callEnchantEventLevelRequirement(ContainerEnchantment containe
 
     public static List<EnchantmentData> callEnchantEventEnchantmentList(ContainerEnchantment container,
             int seed, ItemStack itemStack, int option, int level, List<EnchantmentData> list) {
+        if (!ShouldFire.hasListeners(EnchantItemEvent.CalculateEnchantment.class)) {
+            return list;
+        }
 
         List<Enchantment> enchList = Collections.unmodifiableList(SpongeRandomEnchantmentListBuilder.fromNative(list));
 
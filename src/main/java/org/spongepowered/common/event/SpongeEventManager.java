@@ -79,7 +79,6 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -107,6 +106,14 @@ public class SpongeEventManager implements EventManager {
     protected final LoadingCache<EventType<?>, RegisteredListener.Cache> handlersCache =
             Caffeine.newBuilder().initialCapacity(150).build(this::bakeHandlers);
 
+    /**
+     * A cache of all the handlers for non generic event classes, which allows
+     * looking up the handlers of the most frequently posted events without
+     * creating an {@link EventType} for every post.
+     * <p>The cache is invalidated together with the {@link #handlersCache}.</p>
+     */
+    private final Map<Class<?>, RegisteredListener.Cache> handlersByClassCache = new ConcurrentHashMap<>(150, 0.75f, 1);
+
     @Inject
     public SpongeEventManager(Logger logger, PluginManager pluginManager) {
         this.logger = logger;
@@ -213,7 +220,7 @@ private void register(List<RegisteredListener<? extends Event>> handlers) {
         }
 
         if (changed) {
-            this.handlersCache.invalidateAll();
+            this.invalidateHandlerCaches();
         }
     }
 
@@ -363,7 +370,7 @@ private void unregister(Predicate<RegisteredListener<?>> unregister) {
         }
 
         if (changed) {
-            this.handlersCache.invalidateAll();
+            this.invalidateHandlerCaches();
         }
     }
 
@@ -384,21 +391,32 @@ public void unregisterPluginListeners(Object pluginObj) {
         unregister(handler -> plugin.equals(handler.getPlugin()));
     }
 
+    private void invalidateHandlerCaches() {
+        this.handlersCache.invalidateAll();
+        this.handlersByClassCache.clear();
+    }
+
     @SuppressWarnings({"ConstantConditions", "unchecked", "rawtypes"})
     protected RegisteredListener.Cache getHandlerCache(Event event) {
         checkNotNull(event, "event");
         final Class<? extends Event> eventClass = event.getClass();
-        final EventType<? extends Event> eventType;
         if (event instanceof GenericEvent) {
-            eventType = new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType()));
-        } else {
-            eventType = new EventType(eventClass, null);
+            return this.handlersCache.get(new EventType(eventClass, checkNotNull(((GenericEvent) event).getGenericType())));
         }
-        return this.handlersCache.get(eventType);
+        // Check with a plain get first, computeIfAbsent always locks
+        final RegisteredListener.Cache cache = this.handlersByClassCache.get(eventClass);
+        if (cache != null) {
+            return cache;
+        }
+        return this.handlersByClassCache.computeIfAbsent(eventClass, (type) -> this.handlersCache.get(new EventType(type, null)));
     }
 
     @SuppressWarnings("unchecked")
-    private boolean post(Event event, List<RegisteredListener<?>> handlers) {
+    private boolean post(Event event, RegisteredListener<?>[] handlers) {
+        if (handlers.length == 0) {
+            // Nothing is listening, skip the timings and phase lookups entirely
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
         if (!Sponge.getServer().isMainThread()) {
             // If this event is being posted asynchronously then we don't want
             // to do any timing or cause stack changes
@@ -418,9 +436,12 @@ private boolean post(Event event, List<RegisteredListener<?>> handlers) {
             return event instanceof Cancellable && ((Cancellable) event).isCancelled();
         }
         TimingsManager.PLUGIN_EVENT_HANDLER.startTimingIfSync();
+        // The listener phase contexts are all entered from the same phase, so
+        // whether they are allowed only needs to be checked once per post
+        final boolean allowsListenerContext = PhaseTracker.getInstance().getCurrentState().allowsEventListener();
         for (@SuppressWarnings("rawtypes") RegisteredListener handler : handlers) {
             try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame();
-                 final PhaseContext<?> context = createPluginContext(handler);
+                 final PhaseContext<?> context = allowsListenerContext ? createPluginContext(handler) : null;
                  final Timing timings = handler.getTimingsHandler()) {
                 frame.pushCause(handler.getPlugin());
                 if (context != null) {
@@ -438,19 +459,16 @@ private boolean post(Event event, List<RegisteredListener<?>> handlers) {
                 this.logger.error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             }
         }
+        TimingsManager.PLUGIN_EVENT_HANDLER.stopTimingIfSync();
         if (event instanceof AbstractEvent) {
             ((AbstractEvent) event).currentOrder = null;
         }
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
-    @Nullable
     private EventListenerPhaseContext createPluginContext(RegisteredListener<?> handler) {
-        if (PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
-            return PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
-                .source(handler.getPlugin());
-        }
-        return null;
+        return PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
+            .source(handler.getPlugin());
     }
 
     @Override
@@ -475,12 +493,12 @@ public boolean postServer(Event event) {
     }
 
     public boolean post(Event event, boolean allowClientThread) {
-        return post(event, getHandlerCache(event).getListeners());
+        return post(event, getHandlerCache(event).getListenerArray());
     }
 
     public boolean post(Event event, PluginContainer plugin) {
         return post(event, getHandlerCache(event).getListeners().stream()
                 .filter(l -> l.getPlugin().equals(plugin))
-                .collect(Collectors.toList()));
+                .toArray(RegisteredListener<?>[]::new));
     }
 }
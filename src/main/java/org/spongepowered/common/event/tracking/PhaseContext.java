@@ -46,6 +46,7 @@
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.bridge.entity.player.InventoryPlayerBridge;
 import org.spongepowered.common.bridge.inventory.TrackedInventoryBridge;
+import org.spongepowered.common.config.category.PhaseTrackerCategory;
 import org.spongepowered.common.event.tracking.context.BlockItemDropsSupplier;
 import org.spongepowered.common.event.tracking.context.BlockItemEntityDropsSupplier;
 import org.spongepowered.common.event.tracking.context.CaptureBlockPos;
@@ -254,7 +255,8 @@ public boolean allowsBulkEntityCaptures() {
 
     public P buildAndSwitch() {
         this.isCompleted = true;
-        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().generateStackTracePerStateEntry()) {
+        final PhaseTrackerCategory trackerConfig = SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker();
+        if (trackerConfig.generateStackTracePerStateEntry() && !trackerConfig.isLeanTracking()) {
             this.stackTrace = new Exception("Debug Trace").getStackTrace();
         }
         PhaseTracker.getInstance().switchToPhase(this.state, this);
@@ -696,7 +698,7 @@ public boolean isCapturingBlockItemDrops() {
     }
 
     public void printTrace(final PrettyPrinter printer) {
-        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().generateStackTracePerStateEntry()) {
+        if (this.stackTrace != null) {
             printer.add("Entrypoint:")
                 .add(this.stackTrace);
         }
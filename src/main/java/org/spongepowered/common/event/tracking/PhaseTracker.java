@@ -249,7 +249,8 @@ void switchToPhase(final IPhaseState<?> state, final PhaseContext<?> phaseContex
         checkNotNull(state, "State cannot be null!");
         checkNotNull(phaseContext, "PhaseContext cannot be null!");
         checkArgument(phaseContext.isComplete(), "PhaseContext must be complete!");
-        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose()) {
+        final PhaseTrackerCategory trackerConfig = SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker();
+        if (trackerConfig.isVerbose() && !trackerConfig.isLeanTracking()) {
             if (this.stack.size() > 6) {
                 if (this.stack.checkForRunaways(state, phaseContext)) {
                     this.printRunawayPhase(state, phaseContext);
@@ -295,7 +296,8 @@ void completePhase(final IPhaseState<?> prevState) {
             return;
         }
 
-        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().isVerbose() ) {
+        final PhaseTrackerCategory trackerConfig = SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker();
+        if (trackerConfig.isVerbose() && !trackerConfig.isLeanTracking()) {
             if (this.stack.checkForRunaways(GeneralPhase.Post.UNWINDING, null)) {
                 // This printing is to detect possibilities of a phase not being cleared properly
                 // and resulting in a "runaway" phase state accumulation.
@@ -770,19 +770,22 @@ private static void spawnItemEntitiesForBlockDrops(final Collection<EntityItem>
     public static void spawnItemDataForBlockDrops(final Collection<ItemDropData> itemStacks, final BlockSnapshot oldBlockSnapshot,
         final PhaseContext<?> phaseContext) {
         final Vector3i position = oldBlockSnapshot.getPosition();
-        final List<ItemStackSnapshot> itemSnapshots = itemStacks.stream()
-                .map(ItemDropData::getStack)
-                .map(ItemStackUtil::snapshotOf)
-                .collect(Collectors.toList());
-        final ImmutableList<ItemStackSnapshot> originalSnapshots = ImmutableList.copyOf(itemSnapshots);
-        try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
-            frame.pushCause(oldBlockSnapshot);
-            final DropItemEvent.Pre
-                dropItemEventPre =
-                SpongeEventFactory.createDropItemEventPre(frame.getCurrentCause(), originalSnapshots, itemSnapshots);
-            SpongeImpl.postEvent(dropItemEventPre);
-            if (dropItemEventPre.isCancelled()) {
-                return;
+        // The item snapshots are only needed by the event
+        if (ShouldFire.hasListeners(DropItemEvent.Pre.class)) {
+            final List<ItemStackSnapshot> itemSnapshots = itemStacks.stream()
+                    .map(ItemDropData::getStack)
+                    .map(ItemStackUtil::snapshotOf)
+                    .collect(Collectors.toList());
+            final ImmutableList<ItemStackSnapshot> originalSnapshots = ImmutableList.copyOf(itemSnapshots);
+            try (final CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
+                frame.pushCause(oldBlockSnapshot);
+                final DropItemEvent.Pre
+                    dropItemEventPre =
+                    SpongeEventFactory.createDropItemEventPre(frame.getCurrentCause(), originalSnapshots, itemSnapshots);
+                SpongeImpl.postEvent(dropItemEventPre);
+                if (dropItemEventPre.isCancelled()) {
+                    return;
+                }
             }
         }
         final Location<World> worldLocation = oldBlockSnapshot.getLocation().get();
@@ -26,6 +26,7 @@
 
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.asm.util.PrettyPrinter;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.block.SpongeBlockSnapshot;
 import org.spongepowered.common.event.tracking.context.MultiBlockCaptureSupplier;
 import org.spongepowered.common.event.tracking.phase.general.GeneralPhase;
@@ -46,13 +47,55 @@ public boolean hasCaptures() {
     @Override
     protected void reset() {
         super.reset();
+        if (this.blockSuppliers != null && !this.blockSuppliers.isEmpty()) {
+            // Keep the root supplier around to reuse it for the next unwinding
+            this.spareSupplier = this.blockSuppliers.peekLast();
+            this.spareSupplier.reset();
+            this.blockSuppliers.clear();
+        }
+        if (this.singleSnapshots != null) {
+            this.singleSnapshots.clear();
+        }
+        this.hasGotten = true;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        if (this.pooled) {
+            // Only reachable with lean tracking, see #unwind
+            this.reset();
+            this.unwindingState = null;
+            this.unwindingContext = null;
+            POOL.push(this);
+        }
     }
 
+    // Unwinding contexts are only ever created on the main thread, so a plain deque will do.
+    private static final ArrayDeque<UnwindingPhaseContext> POOL = new ArrayDeque<>();
+
     @Nullable
     static UnwindingPhaseContext unwind(IPhaseState<?> state, PhaseContext<?> context, boolean hasCaptures) {
         if (!state.requiresPost() || !hasCaptures) {
             return null;
         }
+        if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().isLeanTracking()) {
+            // Reuse a previously closed context along with all of its capture suppliers
+            final UnwindingPhaseContext pooled = POOL.poll();
+            if (pooled != null) {
+                pooled.init(state, context);
+                return pooled
+                    .source(context.getSource())
+                    .buildAndSwitch();
+            }
+            final UnwindingPhaseContext created = new UnwindingPhaseContext(state, context);
+            created.pooled = true;
+            return created
+                .source(context.getSource())
+                .addCaptures()
+                .addEntityDropCaptures()
+                .buildAndSwitch();
+        }
         return new UnwindingPhaseContext(state, context)
                 .source(context.getSource())
                 .addCaptures()
@@ -60,20 +103,26 @@ static UnwindingPhaseContext unwind(IPhaseState<?> state, PhaseContext<?> contex
                 .buildAndSwitch();
     }
 
-    private final IPhaseState<?> unwindingState;
-    private final PhaseContext<?> unwindingContext;
+    private IPhaseState<?> unwindingState;
+    private PhaseContext<?> unwindingContext;
     @Nullable Deque<MultiBlockCaptureSupplier> blockSuppliers;
     @Nullable private Deque<SpongeBlockSnapshot> singleSnapshots;
-    final boolean usesMulti;
-    final boolean tracksNeighborNotifications;
-    private final boolean isPostingSpecial;
+    boolean usesMulti;
+    boolean tracksNeighborNotifications;
+    private boolean isPostingSpecial;
     private boolean hasGotten = true;
+    private boolean pooled;
+    @Nullable private MultiBlockCaptureSupplier spareSupplier;
 
-    final boolean tracksTiles;
+    boolean tracksTiles;
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private UnwindingPhaseContext(IPhaseState<?> unwindingState, PhaseContext<?> unwindingContext) {
         super(GeneralPhase.Post.UNWINDING);
+        this.init(unwindingState, unwindingContext);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void init(IPhaseState<?> unwindingState, PhaseContext<?> unwindingContext) {
         this.unwindingState = unwindingState;
         this.unwindingContext = unwindingContext;
         this.tracksTiles = ((IPhaseState) unwindingState).tracksTileEntityChanges(unwindingContext);
@@ -86,9 +135,16 @@ private UnwindingPhaseContext(IPhaseState<?> unwindingState, PhaseContext<?> unw
         // neighbor notifications, that would be fine, but we cannot require that both are tracked unless specified.
         this.usesMulti = this.allowsBulkBlockCaptures() && !this.isPostingSpecial;
         if (this.usesMulti) {
-            // 8 is the minimum element size required by the ArrayDeque
-            this.blockSuppliers = new ArrayDeque<>(8);
-            this.blockSuppliers.push(new MultiBlockCaptureSupplier());
+            if (this.blockSuppliers == null) {
+                // 8 is the minimum element size required by the ArrayDeque
+                this.blockSuppliers = new ArrayDeque<>(8);
+            }
+            if (this.spareSupplier != null) {
+                this.blockSuppliers.push(this.spareSupplier);
+                this.spareSupplier = null;
+            } else {
+                this.blockSuppliers.push(new MultiBlockCaptureSupplier());
+            }
         }
     }
 
@@ -48,6 +48,7 @@
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
 
+import java.util.ArrayDeque;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -446,7 +447,7 @@ void process(final Transaction<BlockSnapshot> eventTransaction, final IPhaseStat
             // Use the try to literally bypass any events, block notifications, neighbor switching, etc.
             // We can get away with making this phase switch because any tile entity accesses will
             // end up being ignored
-            try (final TransactionContext context = new TransactionContext()) {
+            try (final TransactionContext context = TransactionContext.create()) {
                 context.buildAndSwitch();
                 proxyAccess.proceed(targetPosition, this.newState, true); // Set the block state before we start working on invalidating the tile entity
             }
@@ -661,8 +662,34 @@ public boolean shouldCaptureBlockChangeOrSkip(
 
     static final class TransactionContext extends PhaseContext<TransactionContext> {
 
+        // Transactions are only ever processed on the main thread, so a plain deque will do.
+        private static final ArrayDeque<TransactionContext> POOL = new ArrayDeque<>();
+
+        static TransactionContext create() {
+            if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPhaseTracker().isLeanTracking()) {
+                final TransactionContext pooled = POOL.poll();
+                if (pooled != null) {
+                    return pooled;
+                }
+                final TransactionContext context = new TransactionContext();
+                context.pooled = true;
+                return context;
+            }
+            return new TransactionContext();
+        }
+
+        private boolean pooled;
+
         protected TransactionContext() {
             super(TransactionProcessState.TRANSACTION_PROCESS);
         }
+
+        @Override
+        public void close() {
+            super.close();
+            if (this.pooled) {
+                POOL.push(this);
+            }
+        }
     }
 }
@@ -36,10 +36,14 @@
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.config.type.GlobalConfig;
+import org.spongepowered.common.world.storage.PrefetchingChunkDataStream;
 import org.spongepowered.common.world.storage.SpongeChunkDataStream;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -49,6 +53,9 @@ public abstract class ChunkProviderServerMixin_API implements WorldStorage {
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
 
+    // Enough chunks in flight to keep every reader thread busy while the stream is consumed
+    private static final int PREFETCHED_CHUNKS_PER_THREAD = 16;
+
     @Shadow public abstract Chunk loadChunk(int x, int z);
 
     @Override
@@ -56,7 +63,13 @@ public ChunkDataStream getGeneratedChunks() {
         if (!(this.chunkLoader instanceof AnvilChunkLoaderBridge)) {
             throw new UnsupportedOperationException("unknown chunkLoader");
         }
-        return new SpongeChunkDataStream(((AnvilChunkLoaderBridge) this.chunkLoader).bridge$getWorldDir());
+        final Path worldDir = ((AnvilChunkLoaderBridge) this.chunkLoader).bridge$getWorldDir();
+        final GlobalConfig config = SpongeImpl.getGlobalConfigAdapter().getConfig();
+        final int threads = config.getOptimizations().getChunkDataStreamThreads();
+        if (config.getModules().useOptimizations() && threads > 0) {
+            return new PrefetchingChunkDataStream(worldDir, threads, threads * PREFETCHED_CHUNKS_PER_THREAD, true, null);
+        }
+        return new SpongeChunkDataStream(worldDir);
     }
 
     @Override
@@ -60,6 +60,7 @@
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.registry.type.world.WorldGeneratorModifierRegistryModule;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 import org.spongepowered.common.util.Constants;
 
 import java.io.IOException;
@@ -254,6 +255,7 @@ public boolean areCommandsAllowed() {
     @Override
     public void setCommandsAllowed(final boolean state) {
         this.allowCommands = state;
+        SpongeBaseSubject.invalidateResolvedPermissions();
     }
 
     @Override
@@ -92,6 +92,8 @@
 import org.spongepowered.common.mixin.core.world.storage.WorldInfoMixin;
 import org.spongepowered.common.relocate.co.aikar.timings.TimingsManager;
 import org.spongepowered.common.resourcepack.SpongeResourcePack;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
+import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.WorldManager;
 
@@ -126,10 +128,13 @@ public abstract class MinecraftServerMixin implements SubjectBridge, CommandSour
     @Shadow public abstract boolean isDedicatedServer();
     @Shadow public abstract String shadow$getName();
     @Shadow public abstract PlayerProfileCache getPlayerProfileCache();
+    @Shadow public abstract int getOpPermissionLevel();
 
     @Nullable private List<String> impl$currentTabCompletionOptions;
     @Nullable private ResourcePack impl$resourcePack;
     private boolean impl$enableSaving = true;
+    private boolean impl$isAutoSaving = false;
+    private int impl$lastOpPermissionLevel = -1;
 
     @Override
     public String bridge$getIdentifier() {
@@ -311,6 +316,12 @@ public String toString() {
     @Inject(method = "tick", at = @At(value = "HEAD"))
     private void onServerTickStart(final CallbackInfo ci) {
         TimingsManager.FULL_SERVER_TICK.startTiming();
+        // The op level decides which users get op permissions, it has no setter so it is checked once per tick
+        final int opPermissionLevel = this.getOpPermissionLevel();
+        if (opPermissionLevel != this.impl$lastOpPermissionLevel) {
+            this.impl$lastOpPermissionLevel = opPermissionLevel;
+            SpongeBaseSubject.invalidateResolvedPermissions();
+        }
     }
 
     @Inject(method = "tick", at = @At(value = "RETURN"))
@@ -351,12 +362,20 @@ private int getSaveTickInterval(final int tickInterval) {
             return this.tickCounter + 1;
         }
 
+        // Continue any incremental saves started on previous ticks before starting new ones
+        WorldManager.tickIncrementalSaves();
+
         final int autoPlayerSaveInterval = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getAutoPlayerSaveInterval();
         if (autoPlayerSaveInterval > 0 && (this.tickCounter % autoPlayerSaveInterval == 0)) {
             this.getPlayerList().saveAllPlayerData();
         }
 
-        this.saveAllWorlds(true);
+        this.impl$isAutoSaving = true;
+        try {
+            this.saveAllWorlds(true);
+        } finally {
+            this.impl$isAutoSaving = false;
+        }
         // force check to fail as we handle everything above
         return this.tickCounter + 1;
     }
@@ -376,6 +395,7 @@ public void saveAllWorlds(final boolean dontLog) {
         for (final WorldServer world : this.worlds) {
             final boolean save = world.getChunkProvider().canSave() && ((WorldProperties) world.getWorldInfo()).getSerializationBehavior() != SerializationBehaviors.NONE;
             boolean log = !dontLog;
+            boolean incremental = false;
 
             if (save) {
                 // Sponge start - check auto save interval in world config
@@ -398,6 +418,7 @@ public void saveAllWorlds(final boolean dontLog) {
                     if (this.tickCounter % autoSaveInterval != 0) {
                         continue;
                     }
+                    incremental = this.impl$isAutoSaving && configAdapter.getConfig().getWorld().isIncrementalAutoSave();
                     if (log) {
                         LOGGER.info("Auto-saving chunks for level \'" + world.getWorldInfo().getWorldName() + "\'/"
                                 + ((WorldServerBridge) world).bridge$getDimensionId());
@@ -409,7 +430,11 @@ public void saveAllWorlds(final boolean dontLog) {
 
                 // Sponge end
                 try {
-                    WorldManager.saveWorld(world, false);
+                    if (incremental) {
+                        WorldManager.saveWorldIncrementally(world);
+                    } else {
+                        WorldManager.saveWorld(world, false);
+                    }
                 } catch (MinecraftException ex) {
                     ex.printStackTrace();
                 }
@@ -426,6 +451,12 @@ private void onStopServer(final CallbackInfo ci) {
         }
     }
 
+    @Inject(method = "stopServer", at = @At(value = "RETURN"))
+    private void impl$waitForUsernameCacheSave(final CallbackInfo ci) {
+        // The worlds were saved, make sure the username cache changes are written before the jvm exits
+        SpongeUsernameCache.saveAndWait();
+    }
+
     /**
      * @author Zidane - June 2nd
      * @reason Tells the server to use our WorldManager instead of the arrays, this will
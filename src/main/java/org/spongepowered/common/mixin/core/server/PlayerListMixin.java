@@ -104,6 +104,7 @@
 import org.spongepowered.common.service.ban.SpongeIPBanList;
 import org.spongepowered.common.service.ban.SpongeUserListBans;
 import org.spongepowered.common.service.permission.SpongePermissionService;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 import org.spongepowered.common.service.whitelist.SpongeUserListWhitelist;
 import org.spongepowered.common.text.chat.ChatUtil;
 import org.spongepowered.common.util.VecHelper;
@@ -522,4 +523,10 @@ public void sendMessage(final ITextComponent component, final boolean isSystem)
             ((PlayerAdvancementsBridge) playerAdvancements).bridge$reloadAdvancementProgress();
         }
     }
+    // LAN cheats give players without an op entry the server op level, so resolved permissions have to be recomputed
+    @Inject(method = "setCommandsAllowedForAll", at = @At("RETURN"))
+    private void impl$invalidateResolvedPermissions(final CallbackInfo ci) {
+        SpongeBaseSubject.invalidateResolvedPermissions();
+    }
+
 }
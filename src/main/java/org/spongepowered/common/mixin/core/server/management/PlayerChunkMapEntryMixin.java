@@ -55,16 +55,23 @@ public abstract class PlayerChunkMapEntryMixin implements PlayerChunkMapEntryBri
     @Shadow public abstract void sendPacket(Packet<?> packetIn);
 
     private boolean impl$updateBiomes;
+    private int impl$updateSections;
 
     @Inject(method = "update", at = @At("HEAD"), cancellable = true)
-    private void impl$updateBiomes(final CallbackInfo ci) {
-        if (this.impl$updateBiomes) {
+    private void impl$updateBiomesAndSections(final CallbackInfo ci) {
+        if (this.impl$updateBiomes || this.impl$updateSections != 0) {
             final Chunk chunk = this.playerChunkMap.getWorldServer().getChunk(this.pos.x, this.pos.z);
-            this.sendPacket(new SPacketChunkData(chunk, 65534));
-            this.sendPacket(new SPacketChunkData(chunk, 1));
+            final int sections = this.impl$updateSections | this.changedSectionFilter;
+            if (this.impl$updateBiomes || sections == 65535) {
+                this.sendPacket(new SPacketChunkData(chunk, 65534));
+                this.sendPacket(new SPacketChunkData(chunk, 1));
+            } else {
+                this.sendPacket(new SPacketChunkData(chunk, sections));
+            }
             this.changes = 0;
             this.changedSectionFilter = 0;
             this.impl$updateBiomes = false;
+            this.impl$updateSections = 0;
             ci.cancel();
         }
     }
@@ -76,6 +83,12 @@ public abstract class PlayerChunkMapEntryMixin implements PlayerChunkMapEntryBri
     }
 
 
+    @Override
+    public void bridge$markSectionsForUpdate(final int sections) {
+        this.impl$updateSections |= sections;
+        this.playerChunkMap.entryChanged((PlayerChunkMapEntry) (Object) this);
+    }
+
     @Override
     public void bridge$setChunk(Chunk newChunk) {
         this.chunk = newChunk;
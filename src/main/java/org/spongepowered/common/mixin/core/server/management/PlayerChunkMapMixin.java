@@ -24,19 +24,32 @@
  */
 package org.spongepowered.common.mixin.core.server.management;
 
+import com.google.common.base.Predicate;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.bridge.server.management.PlayerChunkMapBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkProviderServerAccessor;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.gen.SpongeChunkGenerator;
+
+import java.util.List;
 
 import javax.annotation.Nullable;
 
@@ -44,6 +57,11 @@
 public abstract class PlayerChunkMapMixin implements PlayerChunkMapBridge {
 
     @Shadow @Final private WorldServer world;
+    @Shadow @Final private List<PlayerChunkMapEntry> entriesWithoutChunks;
+    @Shadow @Final private static Predicate<EntityPlayerMP> CAN_GENERATE_CHUNKS;
+
+    // Chunks of entries without chunks which are known to be on disk, so their terrain is never prepared
+    private final LongSet impl$chunksFoundOnDisk = new LongOpenHashSet();
 
     @Shadow @Nullable public abstract PlayerChunkMapEntry shadow$getEntry(int chunkX, int chunkZ);
 
@@ -54,6 +72,61 @@ public abstract class PlayerChunkMapMixin implements PlayerChunkMapBridge {
     }
 
 
+    @Inject(method = "tick", at = @At("HEAD"))
+    private void impl$prepareTerrainOfMissingChunks(final CallbackInfo ci) {
+        if (this.entriesWithoutChunks.isEmpty()) {
+            this.impl$chunksFoundOnDisk.clear();
+            return;
+        }
+        final ChunkProviderServer chunkProvider = this.world.getChunkProvider();
+        final IChunkGenerator generator = ((ChunkProviderServerAccessor) chunkProvider).accessor$getChunkGenerator();
+        if (!(generator instanceof SpongeChunkGenerator)) {
+            return;
+        }
+        final SpongeChunkGenerator spongeGenerator = (SpongeChunkGenerator) generator;
+        int readAhead = spongeGenerator.getTerrainReadAhead();
+        if (readAhead <= 0) {
+            return;
+        }
+        if (this.impl$chunksFoundOnDisk.size() > Constants.World.MAX_REMEMBERED_CHUNKS_ON_DISK) {
+            this.impl$chunksFoundOnDisk.clear();
+        }
+        // The entries are sorted by distance to the nearest player, so the chunks players
+        // will need first are generated first. Only the nearest entries are looked at, the
+        // ones further away are reached once the nearer ones got their chunks.
+        int examined = readAhead * Constants.World.ENTRIES_EXAMINED_PER_PREPARED_CHUNK;
+        for (final PlayerChunkMapEntry entry : this.entriesWithoutChunks) {
+            if (readAhead <= 0 || examined-- <= 0) {
+                break;
+            }
+            if (entry.getChunk() != null) {
+                continue;
+            }
+            final ChunkPos pos = entry.getPos();
+            if (spongeGenerator.isTerrainPrepared(pos.x, pos.z)) {
+                readAhead--;
+                continue;
+            }
+            // Same as vanilla, which only generates chunks for entries with a player that may generate them
+            if (!entry.hasPlayerMatching(CAN_GENERATE_CHUNKS)) {
+                continue;
+            }
+            // Chunks on disk are loaded instead. Checking the region file header takes the
+            // region file cache lock, so chunks found on disk once are not checked again.
+            final long key = ChunkPos.asLong(pos.x, pos.z);
+            if (this.impl$chunksFoundOnDisk.contains(key)) {
+                continue;
+            }
+            if (chunkProvider.isChunkGeneratedAt(pos.x, pos.z)) {
+                this.impl$chunksFoundOnDisk.add(key);
+                continue;
+            }
+            if (spongeGenerator.prepareTerrain(pos.x, pos.z)) {
+                readAhead--;
+            }
+        }
+    }
+
     @Redirect(method = "removeEntry", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;"
             + "queueUnload(Lnet/minecraft/world/chunk/Chunk;)V"))
     private void impl$ScheduleUnloadWithChunkGC(final ChunkProviderServer chunkProvider, final Chunk chunk) {
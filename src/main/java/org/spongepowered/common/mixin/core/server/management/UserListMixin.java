@@ -33,6 +33,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 
 import java.io.File;
 import java.util.List;
@@ -61,4 +62,10 @@ private void onReadSavedFile(final CallbackInfo ci) {
         }
     }
 
+    // The op list decides the op level group of users, so resolved permissions have to be recomputed
+    @Inject(method = {"addEntry", "removeEntry", "readSavedFile"}, at = @At("RETURN"))
+    private void impl$invalidateResolvedPermissions(final CallbackInfo ci) {
+        SpongeBaseSubject.invalidateResolvedPermissions();
+    }
+
 }
@@ -25,6 +25,7 @@
 package org.spongepowered.common.mixin.core.world;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.world.MinecraftException;
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
@@ -43,4 +44,6 @@ public interface WorldServerAccessor {
 
     @Invoker("onEntityAdded") void accessor$onEntityAdded(Entity entityIn);
 
+    @Invoker("saveLevel") void accessor$saveLevel() throws MinecraftException;
+
 }
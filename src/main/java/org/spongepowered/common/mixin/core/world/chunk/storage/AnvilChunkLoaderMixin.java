@@ -59,22 +59,39 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
-import org.spongepowered.common.entity.PlayerTracker;
+import org.spongepowered.common.entity.TrackedBlockPositions;
 import org.spongepowered.common.registry.type.entity.EntityTypeRegistryModule;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.QueuedChunk;
 
 import java.io.File;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Mixin(AnvilChunkLoader.class)
 public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
 
+    private static final Comparator<QueuedChunk> REGION_ORDER = Comparator
+        .comparingInt((QueuedChunk chunk) -> chunk.coords.x >> 5)
+        .thenComparingInt(chunk -> chunk.coords.z >> 5)
+        .thenComparingInt(chunk -> chunk.coords.z & 31)
+        .thenComparingInt(chunk -> chunk.coords.x & 31);
+
     private ConcurrentLinkedQueue<QueuedChunk> impl$queue = new ConcurrentLinkedQueue<>();
     private final Object impl$lock = new Object();
+    private final Object impl$savedSignal = new Object();
+    private final AtomicInteger impl$pendingSaves = new AtomicInteger();
+    // Set once waiting for pending saves timed out, until they went down again
+    private volatile boolean impl$pendingSavesStalled;
+    private final AtomicLong impl$savedChunks = new AtomicLong();
+    private final AtomicLong impl$saveNanos = new AtomicLong();
 
     @Shadow @Final private static Logger LOGGER;
     @Shadow @Final private Map<ChunkPos, NBTTagCompound> chunksToSave;
@@ -89,33 +106,11 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
         final ChunkBridge chunk = (ChunkBridge) chunkIn;
 
         // Add tracked block positions
-        if (chunk.bridge$getTrackedShortPlayerPositions().size() > 0 || chunk.bridge$getTrackedIntPlayerPositions().size() > 0) {
+        final TrackedBlockPositions trackedPositions = chunk.bridge$getTrackedBlockPositions();
+        if (!trackedPositions.isEmpty()) {
             final NBTTagCompound trackedNbt = new NBTTagCompound();
-            final NBTTagList positions = new NBTTagList();
-            trackedNbt.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, positions);
+            trackedPositions.writeTo(trackedNbt);
             compound.setTag(Constants.Sponge.SPONGE_DATA, trackedNbt);
-
-            for (final Map.Entry<Short, PlayerTracker> mapEntry : chunk.bridge$getTrackedShortPlayerPositions().entrySet()) {
-                final Short pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setShort("pos", pos);
-                positions.appendTag(valueNbt);
-            }
-
-            for (final Map.Entry<Integer, PlayerTracker> mapEntry : chunk.bridge$getTrackedIntPlayerPositions().entrySet()) {
-                final Integer pos = mapEntry.getKey();
-                final int ownerUniqueIdIndex = mapEntry.getValue().ownerIndex;
-                final int notifierUniqueIdIndex = mapEntry.getValue().notifierIndex;
-                final NBTTagCompound valueNbt = new NBTTagCompound();
-                valueNbt.setInteger("owner", ownerUniqueIdIndex);
-                valueNbt.setInteger("notifier", notifierUniqueIdIndex);
-                valueNbt.setInteger("ipos", pos);
-                positions.appendTag(valueNbt);
-            }
         }
     }
 
@@ -123,33 +118,9 @@ public abstract class AnvilChunkLoaderMixin implements AnvilChunkLoaderBridge {
     private void onReadChunkFromNBT(final World worldIn, final NBTTagCompound compound, final CallbackInfoReturnable<net.minecraft.world.chunk.Chunk> ci, final int chunkX,
       final int chunkZ, final net.minecraft.world.chunk.Chunk chunkIn) {
         if (compound.hasKey(Constants.Sponge.SPONGE_DATA)) {
-            final Map<Integer, PlayerTracker> trackedIntPlayerPositions = new HashMap<>();
-            final Map<Short, PlayerTracker> trackedShortPlayerPositions = new HashMap<>();
-            final NBTTagList positions = compound.getCompoundTag(Constants.Sponge.SPONGE_DATA).getTagList(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, 10);
-            final ChunkBridge chunk = (ChunkBridge) chunkIn;
-            for (int i = 0; i < positions.tagCount(); i++) {
-                final NBTTagCompound valueNbt = positions.getCompoundTagAt(i);
-                final boolean isShortPos = valueNbt.hasKey("pos");
-                final PlayerTracker tracker = new PlayerTracker();
-                if (valueNbt.hasKey("owner")) {
-                    tracker.ownerIndex = valueNbt.getInteger("owner");
-                } else if (valueNbt.hasKey("uuid")) { // Migrate old data, remove in future
-                    tracker.ownerIndex = valueNbt.getInteger("uuid");
-                }
-                if (valueNbt.hasKey("notifier")) {
-                    tracker.notifierIndex = valueNbt.getInteger("notifier");
-                }
-
-                if (tracker.notifierIndex != -1 || tracker.ownerIndex != -1) {
-                    if (isShortPos) {
-                        trackedShortPlayerPositions.put(valueNbt.getShort("pos"), tracker);
-                    } else {
-                        trackedIntPlayerPositions.put(valueNbt.getInteger("ipos"), tracker);
-                    }
-                }
-            }
-            chunk.bridge$setTrackedIntPlayerPositions(trackedIntPlayerPositions);
-            chunk.bridge$setTrackedShortPlayerPositions(trackedShortPlayerPositions);
+            final TrackedBlockPositions trackedPositions = new TrackedBlockPositions();
+            trackedPositions.readFrom(compound.getCompoundTag(Constants.Sponge.SPONGE_DATA));
+            ((ChunkBridge) chunkIn).bridge$setTrackedBlockPositions(trackedPositions);
         }
     }
 
@@ -229,72 +200,172 @@ protected void addChunkToPending(final ChunkPos pos, final NBTTagCompound compou
             this.chunksToSave.put(pos, compound);
         }
         this.impl$queue.add(new QueuedChunk(pos, compound));
+        final int pending = this.impl$pendingSaves.incrementAndGet();
 
         ThreadedFileIOBase.getThreadedIOInstance().queueIO((AnvilChunkLoader) (Object) this);
+
+        // Sponge - Apply back-pressure rather than letting pending chunk data pile up in memory.
+        // The main thread is never held up here, incremental auto-saves slow down on their own instead.
+        final int maxPending = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getMaxPendingChunkSaves();
+        if (maxPending > 0 && pending > maxPending) {
+            if (!this.impl$pendingSavesStalled && !SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+                this.impl$awaitPendingSaves(maxPending);
+            }
+        } else {
+            this.impl$pendingSavesStalled = false;
+        }
+    }
+
+    private void impl$awaitPendingSaves(final int maxPending) {
+        final long deadline = System.currentTimeMillis() + Constants.World.PENDING_CHUNK_SAVE_MAX_WAIT;
+        synchronized (this.impl$savedSignal) {
+            while (this.impl$pendingSaves.get() > maxPending) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    // The file IO thread is stalled or gone, don't hang the saving thread with it
+                    LOGGER.warn("ThreadedAnvilChunkStorage ({}): Gave up waiting for {} pending chunk saves after {} ms, the file IO "
+                            + "thread is not keeping up.", this.chunkSaveLocation.getName(), this.impl$pendingSaves.get(),
+                            Constants.World.PENDING_CHUNK_SAVE_MAX_WAIT);
+                    // Only wait again once the pending saves went down
+                    this.impl$pendingSavesStalled = true;
+                    return;
+                }
+                try {
+                    this.impl$savedSignal.wait(Math.min(remaining, Constants.World.PENDING_CHUNK_SAVE_WAIT));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
     }
 
     /**
      * @author aikar - February 19th, 2017
      * @reason Refactor entire method for chunk queue improvements.
+     *
+     * <p>Sponge - All chunks pending at the time of the call are written at
+     * once, grouped by region file, instead of one chunk per call. The file IO
+     * thread sleeps in between calls, which made it fall behind on large
+     * saves.</p>
+     *
      * @return Whether write was successful
      */
     @Overwrite
     public boolean writeNextIO() {
-        final QueuedChunk chunk = this.impl$queue.poll();
-        if (chunk == null) {
+        final List<QueuedChunk> batch = this.impl$pollBatch();
+        if (batch.isEmpty()) {
             if (this.flushing) {
                 LOGGER.info("ThreadedAnvilChunkStorage ({}): All chunks are saved", new Object[] {this.chunkSaveLocation.getName()});
+                this.impl$logSaveThroughput();
             }
 
             return false;
-        } else {
-            final ChunkPos chunkpos = chunk.coords;
-            boolean lvt_3_1_;
+        }
 
-            try {
-                // this.field_193415_c.add(chunkpos);
-                final NBTTagCompound nbttagcompound = chunk.compound;
+        final long start = System.nanoTime();
+        for (final QueuedChunk chunk : batch) {
+            final ChunkPos chunkpos = chunk.coords;
+            // this.field_193415_c.add(chunkpos);
+            final NBTTagCompound nbttagcompound = chunk.compound;
 
-                if (nbttagcompound != null) {
-                    int attempts = 0;
-                    Exception laste = null;
-                    while (attempts++ < 5) {
-                        try {
-                            this.writeChunkData(chunkpos, nbttagcompound);
-                            laste = null;
-                            break;
-                        } catch (Exception exception) {
-                            // LOGGER.error((String)"Failed to save chunk",
-                            // (Throwable)exception);
-                            laste = exception;
-                        }
-                        try {
-                            Thread.sleep(10);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
+            if (nbttagcompound != null) {
+                int attempts = 0;
+                Exception laste = null;
+                while (attempts++ < 5) {
+                    try {
+                        this.writeChunkData(chunkpos, nbttagcompound);
+                        laste = null;
+                        break;
+                    } catch (Exception exception) {
+                        // LOGGER.error((String)"Failed to save chunk",
+                        // (Throwable)exception);
+                        laste = exception;
                     }
-                    if (laste != null) {
-                        laste.printStackTrace();
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
                     }
                 }
+                if (laste != null) {
+                    laste.printStackTrace();
+                }
+            }
 
-                synchronized (this.impl$lock) {
-                    if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
-                        this.chunksToSave.remove(chunkpos);
-                    }
+            synchronized (this.impl$lock) {
+                if (this.chunksToSave.get(chunkpos) == nbttagcompound) {
+                    this.chunksToSave.remove(chunkpos);
                 }
-                // Sponge - This will not equal if a newer version is still
-                // pending
-                lvt_3_1_ = true;
-            } finally {
-                // this.field_193415_c.remove(chunkpos);
             }
+            // Sponge - This will not equal if a newer version is still
+            // pending
+            // this.field_193415_c.remove(chunkpos);
+        }
+        this.impl$savedChunks.addAndGet(batch.size());
+        this.impl$saveNanos.addAndGet(System.nanoTime() - start);
+        this.impl$pendingSaves.addAndGet(-batch.size());
+        synchronized (this.impl$savedSignal) {
+            this.impl$savedSignal.notifyAll();
+        }
+
+        return true;
+    }
+
+    /**
+     * Takes up to {@link Constants.World#MAX_CHUNK_SAVE_BATCH} chunks off the
+     * queue, sorted by region file. Chunks for which newer data is queued
+     * already are dropped, only the latest data of a chunk is written.
+     *
+     * @return The chunks to write
+     */
+    private List<QueuedChunk> impl$pollBatch() {
+        final List<QueuedChunk> batch = new ArrayList<>();
+        int dropped = 0;
+        QueuedChunk chunk;
+        while (batch.size() < Constants.World.MAX_CHUNK_SAVE_BATCH && (chunk = this.impl$queue.poll()) != null) {
+            if (this.chunksToSave.get(chunk.coords) != chunk.compound) {
+                // A newer version of this chunk is queued
+                dropped++;
+                continue;
+            }
+            batch.add(chunk);
+        }
+        if (dropped > 0) {
+            this.impl$pendingSaves.addAndGet(-dropped);
+            synchronized (this.impl$savedSignal) {
+                this.impl$savedSignal.notifyAll();
+            }
+        }
+        // Write each region file in one go, in the order the chunks are stored in
+        batch.sort(REGION_ORDER);
+        return batch;
+    }
 
-            return lvt_3_1_;
+    private void impl$logSaveThroughput() {
+        final long saved = this.impl$savedChunks.getAndSet(0);
+        final long nanos = this.impl$saveNanos.getAndSet(0);
+        if (saved > 0 && nanos > 0) {
+            LOGGER.info("ThreadedAnvilChunkStorage ({}): Saved {} chunks at {} chunks/s", this.chunkSaveLocation.getName(), saved,
+                saved * TimeUnit.SECONDS.toNanos(1) / nanos);
         }
     }
 
+    @Override
+    public int bridge$getPendingChunkSaves() {
+        return this.impl$pendingSaves.get();
+    }
+
+    @Override
+    public long bridge$getSavedChunkCount() {
+        return this.impl$savedChunks.get();
+    }
+
+    @Override
+    public long bridge$getChunkSaveNanos() {
+        return this.impl$saveNanos.get();
+    }
+
     @Override
     public Path bridge$getWorldDir() {
         return this.chunkSaveLocation.toPath();
@@ -309,6 +309,12 @@ public boolean tick()
         }
     }
 
+    @Override
+    public void bridge$saveChunk(final Chunk chunk) {
+        this.saveChunkData(chunk);
+        chunk.setModified(false);
+    }
+
     @Override
     public void bridge$unloadChunkAndSave(final Chunk chunk) {
         boolean saveChunk = false;
@@ -64,6 +64,7 @@
 import org.spongepowered.common.registry.type.world.DimensionTypeRegistryModule;
 import org.spongepowered.common.registry.type.world.PortalAgentRegistryModule;
 import org.spongepowered.common.registry.type.world.WorldGeneratorModifierRegistryModule;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.world.WorldManager;
 
@@ -220,6 +221,12 @@ public abstract class WorldInfoMixin implements WorldInfoBridge {
         }
     }
 
+    // Whether commands are allowed decides the op level of the singleplayer owner
+    @Inject(method = "setAllowCommands", at = @At("RETURN"))
+    private void impl$invalidateResolvedPermissions(final CallbackInfo ci) {
+        SpongeBaseSubject.invalidateResolvedPermissions();
+    }
+
     @SuppressWarnings("RedundantCast")
     @Inject(method = "setDifficulty", at = @At("HEAD"), cancellable = true)
     private void onSetDifficultyVanilla(@Nullable final EnumDifficulty newDifficulty, final CallbackInfo ci) {
@@ -27,15 +27,20 @@
 import net.minecraft.world.WorldServer;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
 import org.spongepowered.common.mixin.plugin.entityactivation.EntityActivationRange;
+import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
 
 @Mixin(value = WorldServer.class, priority = 1005)
 public abstract class WorldServerMixin_Activation extends WorldMixin {
 
     @Override
     protected void impl$entityActivationCheck(final CallbackInfo ci) {
+        final WorldTimingsHandler timings = ((WorldServerBridge) this).bridge$getTimingsHandler();
+        timings.entityActivationCheck.startTiming();
         EntityActivationRange.activateEntities(((net.minecraft.world.World) (Object) this));
+        timings.entityActivationCheck.stopTiming();
     }
 
 }
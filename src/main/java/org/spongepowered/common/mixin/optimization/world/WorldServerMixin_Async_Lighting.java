@@ -24,8 +24,8 @@
  */
 package org.spongepowered.common.mixin.optimization.world;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
@@ -42,18 +42,22 @@
 import org.spongepowered.common.bridge.util.math.BlockPosBridge;
 import org.spongepowered.common.mixin.core.world.WorldMixin;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.AsyncLightingEngine;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
 @Mixin(value = WorldServer.class)
 public abstract class WorldServerMixin_Async_Lighting extends WorldMixin implements WorldServerBridge_AsyncLighting {
 
-    private ExecutorService asyncLightingImpl$lightExecutorService =
-                Executors.newFixedThreadPool(SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(), new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread").build());
+    private final AsyncLightingEngine asyncLightingImpl$lightingEngine = new AsyncLightingEngine(
+            SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getNumThreads(),
+            this::asyncLightingBridge$checkLightAsync);
+    private final ExecutorService asyncLightingImpl$lightExecutorService = this.asyncLightingImpl$lightingEngine.getExecutor();
+    private long asyncLightingImpl$lastQueueWarning;
 
     @Override
     public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
@@ -68,131 +72,130 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             return false;
         } else {
             final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) currentChunk;
-            int i = 0;
-            int j = 0;
-            //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
-            final int k = this.asyncLightingImpl$getLightForAsync(lightType, pos, currentChunk, neighbors); // Sponge - use thread safe method
-            final int l = this.asyncLightingImpl$getRawBlockLightAsync(lightType, pos, currentChunk, neighbors); // Sponge - use thread safe method
-            final int i1 = pos.getX();
-            final int j1 = pos.getY();
-            final int k1 = pos.getZ();
-
-            if (l > k) {
-                this.lightUpdateBlockList[j++] = 133152;
-            } else if (l < k) {
-                this.lightUpdateBlockList[j++] = 133152 | k << 18;
-
-                while (i < j) {
-                    final int l1 = this.lightUpdateBlockList[i++];
-                    final int i2 = (l1 & 63) - 32 + i1;
-                    final int j2 = (l1 >> 6 & 63) - 32 + j1;
-                    final int k2 = (l1 >> 12 & 63) - 32 + k1;
-                    final int l2 = l1 >> 18 & 15;
-                    final BlockPos blockpos = new BlockPos(i2, j2, k2);
-                    int i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos, currentChunk, neighbors); // Sponge - use thread safe method
-
-                    if (i3 == l2) {
-                        this.asyncLightingImpl$setLightForAsync(lightType, blockpos, 0, currentChunk, neighbors); // Sponge - use thread safe method
-
-                        if (l2 > 0) {
-                            final int j3 = MathHelper.abs(i2 - i1);
-                            final int k3 = MathHelper.abs(j2 - j1);
-                            final int l3 = MathHelper.abs(k2 - k1);
-
-                            if (j3 + k3 + l3 < 17) {
-                                final BlockPos.PooledMutableBlockPos blockpos$pooledmutableblockpos = BlockPos.PooledMutableBlockPos.retain();
-
-                                for (final EnumFacing enumfacing : EnumFacing.values()) {
-                                    final int i4 = i2 + enumfacing.getXOffset();
-                                    final int j4 = j2 + enumfacing.getYOffset();
-                                    final int k4 = k2 + enumfacing.getZOffset();
-                                    blockpos$pooledmutableblockpos.setPos(i4, j4, k4);
-                                    // Sponge start - get chunk safely
-                                    final Chunk pooledChunk = this.asyncLightingImpl$getLightChunk(blockpos$pooledmutableblockpos, currentChunk, neighbors);
-                                    if (pooledChunk == null) {
-                                        continue;
+            try {
+                int i = 0;
+                int j = 0;
+                //this.theProfiler.startSection("getBrightness"); // Sponge - don't use profiler off of main thread
+                final int k = this.asyncLightingImpl$getLightForAsync(lightType, pos, currentChunk, neighbors); // Sponge - use thread safe method
+                final int l = this.asyncLightingImpl$getRawBlockLightAsync(lightType, pos, currentChunk, neighbors); // Sponge - use thread safe method
+                final int i1 = pos.getX();
+                final int j1 = pos.getY();
+                final int k1 = pos.getZ();
+
+                if (l > k) {
+                    this.lightUpdateBlockList[j++] = 133152;
+                } else if (l < k) {
+                    this.lightUpdateBlockList[j++] = 133152 | k << 18;
+
+                    while (i < j) {
+                        final int l1 = this.lightUpdateBlockList[i++];
+                        final int i2 = (l1 & 63) - 32 + i1;
+                        final int j2 = (l1 >> 6 & 63) - 32 + j1;
+                        final int k2 = (l1 >> 12 & 63) - 32 + k1;
+                        final int l2 = l1 >> 18 & 15;
+                        final BlockPos blockpos = new BlockPos(i2, j2, k2);
+                        int i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos, currentChunk, neighbors); // Sponge - use thread safe method
+
+                        if (i3 == l2) {
+                            this.asyncLightingImpl$setLightForAsync(lightType, blockpos, 0, currentChunk, neighbors); // Sponge - use thread safe method
+
+                            if (l2 > 0) {
+                                final int j3 = MathHelper.abs(i2 - i1);
+                                final int k3 = MathHelper.abs(j2 - j1);
+                                final int l3 = MathHelper.abs(k2 - k1);
+
+                                if (j3 + k3 + l3 < 17) {
+                                    final BlockPos.PooledMutableBlockPos blockpos$pooledmutableblockpos = BlockPos.PooledMutableBlockPos.retain();
+
+                                    for (final EnumFacing enumfacing : EnumFacing.values()) {
+                                        final int i4 = i2 + enumfacing.getXOffset();
+                                        final int j4 = j2 + enumfacing.getYOffset();
+                                        final int k4 = k2 + enumfacing.getZOffset();
+                                        blockpos$pooledmutableblockpos.setPos(i4, j4, k4);
+                                        // Sponge start - get chunk safely
+                                        final Chunk pooledChunk = this.asyncLightingImpl$getLightChunk(blockpos$pooledmutableblockpos, currentChunk, neighbors);
+                                        if (pooledChunk == null) {
+                                            continue;
+                                        }
+                                        final int l4 = Math.max(1, pooledChunk.getBlockState(blockpos$pooledmutableblockpos).getLightOpacity());
+                                        i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
+                                        // Sponge end
+
+                                        if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
+                                            this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
+                                        }
                                     }
-                                    final int l4 = Math.max(1, pooledChunk.getBlockState(blockpos$pooledmutableblockpos).getLightOpacity());
-                                    i3 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos$pooledmutableblockpos, currentChunk, neighbors);
-                                    // Sponge end
 
-                                    if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
-                                        this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6 | k4 - k1 + 32 << 12 | l2 - l4 << 18;
-                                    }
+                                    blockpos$pooledmutableblockpos.release();
                                 }
-
-                                blockpos$pooledmutableblockpos.release();
                             }
                         }
                     }
+
+                    i = 0;
                 }
 
-                i = 0;
-            }
+                //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
+                //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
 
-            //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
-            //this.theProfiler.startSection("checkedPosition < toCheckCount"); // Sponge - don't use profiler off of main thread
-
-            while (i < j) {
-                final int i5 = this.lightUpdateBlockList[i++];
-                final int j5 = (i5 & 63) - 32 + i1;
-                final int k5 = (i5 >> 6 & 63) - 32 + j1;
-                final int l5 = (i5 >> 12 & 63) - 32 + k1;
-                final BlockPos blockpos1 = new BlockPos(j5, k5, l5);
-                final int i6 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos1, currentChunk, neighbors); // Sponge - use thread safe method
-                final int j6 = this.asyncLightingImpl$getRawBlockLightAsync(lightType, blockpos1, currentChunk, neighbors); // Sponge - use thread safe method
-
-                if (j6 != i6) {
-                    this.asyncLightingImpl$setLightForAsync(lightType, blockpos1, j6, currentChunk, neighbors); // Sponge - use thread safe method
-
-                    if (j6 > i6) {
-                        final int k6 = Math.abs(j5 - i1);
-                        final int l6 = Math.abs(k5 - j1);
-                        final int i7 = Math.abs(l5 - k1);
-                        final boolean flag = j < this.lightUpdateBlockList.length - 6;
-
-                        if (k6 + l6 + i7 < 17 && flag) {
-                            // Sponge start - use thread safe method asyncLightingImpl$getLightForAsync
-                            if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                while (i < j) {
+                    final int i5 = this.lightUpdateBlockList[i++];
+                    final int j5 = (i5 & 63) - 32 + i1;
+                    final int k5 = (i5 >> 6 & 63) - 32 + j1;
+                    final int l5 = (i5 >> 12 & 63) - 32 + k1;
+                    final BlockPos blockpos1 = new BlockPos(j5, k5, l5);
+                    final int i6 = this.asyncLightingImpl$getLightForAsync(lightType, blockpos1, currentChunk, neighbors); // Sponge - use thread safe method
+                    final int j6 = this.asyncLightingImpl$getRawBlockLightAsync(lightType, blockpos1, currentChunk, neighbors); // Sponge - use thread safe method
+
+                    if (j6 != i6) {
+                        this.asyncLightingImpl$setLightForAsync(lightType, blockpos1, j6, currentChunk, neighbors); // Sponge - use thread safe method
+
+                        if (j6 > i6) {
+                            final int k6 = Math.abs(j5 - i1);
+                            final int l6 = Math.abs(k5 - j1);
+                            final int i7 = Math.abs(l5 - k1);
+                            final boolean flag = j < this.lightUpdateBlockList.length - 6;
+
+                            if (k6 + l6 + i7 < 17 && flag) {
+                                // Sponge start - use thread safe method asyncLightingImpl$getLightForAsync
+                                if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.west(), currentChunk, neighbors) < j6) {
+                                    this.lightUpdateBlockList[j++] = j5 - 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                }
 
-                            if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                                if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.east(), currentChunk, neighbors) < j6) {
+                                    this.lightUpdateBlockList[j++] = j5 + 1 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                }
 
-                            if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                                if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.down(), currentChunk, neighbors) < j6) {
+                                    this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                }
 
-                            if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
-                            }
+                                if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.up(), currentChunk, neighbors) < j6) {
+                                    this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 + 1 - j1 + 32 << 6) + (l5 - k1 + 32 << 12);
+                                }
 
-                            if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
-                            }
+                                if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.north(), currentChunk, neighbors) < j6) {
+                                    this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 - 1 - k1 + 32 << 12);
+                                }
 
-                            if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
-                                this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                if (this.asyncLightingImpl$getLightForAsync(lightType, blockpos1.south(), currentChunk, neighbors) < j6) {
+                                    this.lightUpdateBlockList[j++] = j5 - i1 + 32 + (k5 - j1 + 32 << 6) + (l5 + 1 - k1 + 32 << 12);
+                                }
+                                // Sponge end
                             }
-                            // Sponge end
                         }
                     }
                 }
-            }
 
-            // Sponge start - Asynchronous light updates
-            spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
-            spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
-            for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
-                final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
-                neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+                //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
+                return true;
+            } finally {
+                // Sponge start - Asynchronous light updates
+                // Neighbors are retained and released by whoever resolved them, see bridge$updateLightAsync
+                spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).remove((Short) this.asyncLightingImpl$blockPosToShort(pos));
+                spongeChunk.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
+                // Sponge end
             }
-
-            // Sponge end
-            //this.theProfiler.endSection(); // Sponge - don't use profiler off of main thread
-            return true;
         }
     }
 
@@ -212,15 +215,35 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
         }
 
         final short shortPos = this.asyncLightingImpl$blockPosToShort(pos);
-        if (spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).contains(shortPos)) {
+        if (!spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos)) {
+            // Already queued
             return false;
         }
 
         final Chunk chunk = currentChunk;
-        spongeChunk.asyncLightingBridge$getQueuedLightingUpdates(lightType).add(shortPos);
         spongeChunk.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
         spongeChunk.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
 
+        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
+            // Coalesced with the other pending checks of the same section, the neighbors
+            // are resolved once per batch and retained until the batch is done.
+            this.asyncLightingImpl$lightingEngine.enqueue(lightType, pos, chunk, this::asyncLightingImpl$getLightPriority,
+                    this::asyncLightingImpl$retainNeighbors, this::asyncLightingImpl$releaseNeighbors);
+            this.asyncLightingImpl$checkQueueDepth();
+        } else {
+            final List<Chunk> neighbors = this.asyncLightingImpl$retainNeighbors(chunk);
+            try {
+                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+            } finally {
+                this.asyncLightingImpl$releaseNeighbors(neighbors);
+            }
+        }
+
+        return true;
+    }
+
+    private List<Chunk> asyncLightingImpl$retainNeighbors(final Chunk chunk) {
+        final ChunkBridge_AsyncLighting spongeChunk = (ChunkBridge_AsyncLighting) chunk;
         final List<Chunk> neighbors = spongeChunk.bridge$getNeighbors();
 
         // add diagonal chunks
@@ -252,17 +275,54 @@ public boolean checkLightFor(final EnumSkyBlock lightType, final BlockPos pos) {
             neighbor.asyncLightingBridge$getPendingLightUpdates().incrementAndGet();
             neighbor.asyncLightingBridge$setLightUpdateTime(chunk.getWorld().getTotalWorldTime());
         }
+        return neighbors;
+    }
 
-        //System.out.println("size = " + ((ThreadPoolExecutor) this.asyncLightingImpl$lightExecutorService).getQueue().size());
-        if (SpongeImpl.getServer().isCallingFromMinecraftThread()) {
-            this.asyncLightingImpl$lightExecutorService.execute(() -> {
-                this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
-            });
-        } else {
-            this.asyncLightingBridge$checkLightAsync(lightType, pos, chunk, neighbors);
+    private void asyncLightingImpl$releaseNeighbors(final List<Chunk> neighbors) {
+        for (final net.minecraft.world.chunk.Chunk neighborChunk : neighbors) {
+            final ChunkBridge_AsyncLighting neighbor = (ChunkBridge_AsyncLighting) neighborChunk;
+            neighbor.asyncLightingBridge$getPendingLightUpdates().decrementAndGet();
         }
+    }
 
-        return true;
+    /**
+     * Gets the priority of light checks in the given chunk, which is the
+     * squared chunk distance to the closest player. Checks are processed
+     * in ascending order of priority.
+     *
+     * @param chunk The chunk
+     * @return The priority
+     */
+    private int asyncLightingImpl$getLightPriority(final Chunk chunk) {
+        if (!SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().prioritizeNearPlayers()) {
+            return 0;
+        }
+        int priority = Integer.MAX_VALUE;
+        for (final EntityPlayer player : this.playerEntities) {
+            final long dx = chunk.x - (MathHelper.floor(player.posX) >> 4);
+            final long dz = chunk.z - (MathHelper.floor(player.posZ) >> 4);
+            priority = (int) Math.min(priority, dx * dx + dz * dz);
+        }
+        return priority;
+    }
+
+    private void asyncLightingImpl$checkQueueDepth() {
+        final int threshold = SpongeImpl.getGlobalConfigAdapter().getConfig().getOptimizations().getAsyncLightingCategory().getQueueWarningThreshold();
+        if (threshold <= 0 || this.asyncLightingImpl$lightingEngine.getQueuedPositions() < threshold) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        if (now - this.asyncLightingImpl$lastQueueWarning >= TimeUnit.MINUTES.toMillis(1)) {
+            this.asyncLightingImpl$lastQueueWarning = now;
+            SpongeImpl.getLogger().warn("World '{}' has {} light checks in {} sections queued for asynchronous lighting (peak: {}).",
+                    this.worldInfo.getWorldName(), this.asyncLightingImpl$lightingEngine.getQueuedPositions(),
+                    this.asyncLightingImpl$lightingEngine.getQueuedSections(), this.asyncLightingImpl$lightingEngine.getPeakQueuedPositions());
+        }
+    }
+
+    @Override
+    public AsyncLightingEngine asyncLightingBridge$getLightingEngine() {
+        return this.asyncLightingImpl$lightingEngine;
     }
 
     @Override
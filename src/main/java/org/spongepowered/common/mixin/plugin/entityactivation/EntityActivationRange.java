@@ -28,6 +28,9 @@
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -50,7 +53,9 @@
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -78,6 +83,7 @@
 import org.spongepowered.common.mixin.entityactivation.util.math.AxisAlignedBBAccessor_EntityActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -90,15 +96,21 @@ public class EntityActivationRange {
             .put((byte) 5, "misc")
             .build();
 
-    static AxisAlignedBB maxBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static AxisAlignedBB tileEntityBB = new AxisAlignedBB(0, 0, 0, 0, 0, 0);
     static Map<Byte, Integer> maxActivationRanges = Maps.newHashMap();
 
+    // The index of players whose maximum activation range reaches into a
+    // chunk. Every chunk key maps to the head of a linked list of player
+    // indices stored in the two parallel link lists, which are reused between
+    // ticks as activation only ever happens on the main thread.
+    private static final Long2IntOpenHashMap playerLinksByChunk = new Long2IntOpenHashMap();
+    private static final IntArrayList linkedPlayers = new IntArrayList();
+    private static final IntArrayList nextLinks = new IntArrayList();
+
+    static {
+        playerLinksByChunk.defaultReturnValue(-1);
+    }
+
     /**
      * Initializes an entities type on construction to specify what group this
      * entity is in for activation ranges.
@@ -218,6 +230,10 @@ public static void growBb(final AxisAlignedBB target, final AxisAlignedBB source
      * Find what entities are in range of the players in the world and set
      * active if in range.
      *
+     * <p>Every chunk within the maximum activation range of a player is only
+     * visited once, the entities within it are then checked against the
+     * players that can reach that chunk.</p>
+     *
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(final World world) {
@@ -225,49 +241,64 @@ public static void activateEntities(final World world) {
             return;
         }
 
-        for (final EntityPlayer player : world.playerEntities) {
+        int maxRange = 0;
+        for (final Integer range : maxActivationRanges.values()) {
+            if (range > maxRange) {
+                maxRange = range;
+            }
+        }
+        maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
 
-            int maxRange = 0;
-            for (final Integer range : maxActivationRanges.values()) {
-                if (range > maxRange) {
-                    maxRange = range;
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        final List<EntityPlayer> players = world.playerEntities;
+        try {
+            for (int playerIndex = 0; playerIndex < players.size(); playerIndex++) {
+                final EntityPlayer player = players.get(playerIndex);
+                ((ActivationCapability) player).activation$setActivatedTick(currentTick);
+                final AxisAlignedBB playerBB = player.getEntityBoundingBox();
+
+                final int minChunkX = MathHelper.floor((playerBB.minX - maxRange) / 16.0D);
+                final int maxChunkX = MathHelper.floor((playerBB.maxX + maxRange) / 16.0D);
+                final int minChunkZ = MathHelper.floor((playerBB.minZ - maxRange) / 16.0D);
+                final int maxChunkZ = MathHelper.floor((playerBB.maxZ + maxRange) / 16.0D);
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; ++chunkX) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; ++chunkZ) {
+                        final long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                        nextLinks.add(playerLinksByChunk.get(chunkKey));
+                        linkedPlayers.add(playerIndex);
+                        playerLinksByChunk.put(chunkKey, linkedPlayers.size() - 1);
+                    }
                 }
             }
 
-            maxRange = Math.min((((org.spongepowered.api.world.World) world).getViewDistance() << 4) - 8, maxRange);
-            ((ActivationCapability) player).activation$setActivatedTick(SpongeImpl.getServer().getTickCounter());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-
-            final int i = MathHelper.floor(maxBB.minX / 16.0D);
-            final int j = MathHelper.floor(maxBB.maxX / 16.0D);
-            final int k = MathHelper.floor(maxBB.minZ / 16.0D);
-            final int l = MathHelper.floor(maxBB.maxZ / 16.0D);
-
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    final WorldServer worldserver = (WorldServer) world;
-                    final Chunk chunk = ((ChunkProviderBridge) worldserver.getChunkProvider()).bridge$getLoadedChunkWithoutMarkingActive(i1, j1);
-                    if (chunk != null) {
-                        activateChunkEntities(player, chunk);
-                    }
+            final ChunkProviderBridge chunkProvider = (ChunkProviderBridge) ((WorldServer) world).getChunkProvider();
+            for (final LongIterator iterator = playerLinksByChunk.keySet().iterator(); iterator.hasNext(); ) {
+                final long chunkKey = iterator.nextLong();
+                final Chunk chunk = chunkProvider.bridge$getLoadedChunkWithoutMarkingActive((int) chunkKey, (int) (chunkKey >> 32));
+                if (chunk != null) {
+                    activateChunkEntities(players, playerLinksByChunk.get(chunkKey), chunk, currentTick);
                 }
             }
+        } finally {
+            playerLinksByChunk.clear();
+            linkedPlayers.clear();
+            nextLinks.clear();
         }
     }
 
     /**
      * Checks for the activation state of all entities in this chunk.
      *
+     * @param players The players of the world
+     * @param firstLink The first link to the players within range of the chunk
      * @param chunk Chunk to check for activation
+     * @param currentTick The current tick
      */
-    private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
-        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
-
-            for (final Object o : chunk.getEntityLists()[i]) {
-                final Entity entity = (Entity) o;
+    private static void activateChunkEntities(final List<EntityPlayer> players, final int firstLink, final Chunk chunk, final long currentTick) {
+        for (final ClassInheritanceMultiMap<Entity> entityList : chunk.getEntityLists()) {
+            for (final Entity entity : entityList) {
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -288,53 +319,32 @@ private static void activateChunkEntities(final EntityPlayer player, final Chunk
                         spongeEntity.activation$requiresActivationCacheRefresh(false);
                     }
                     // check for entity type overrides
-                    final byte activationType = spongeEntity.activation$getActivationType();
                     final int bbActivationRange = spongeEntity.activation$getActivationRange();
-
-                    if (activationType == 5) {
-                        growBb(miscBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 4) {
-                        growBb(ambientBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 3) {
-                        growBb(aquaticBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else if (activationType == 2) {
-                        growBb(creatureBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    } else {
-                        growBb(monsterBB, player.getEntityBoundingBox(), bbActivationRange, 256, bbActivationRange);
-                    }
-
-                    switch (spongeEntity.activation$getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                    final AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+                    for (int link = firstLink; link != -1; link = nextLinks.getInt(link)) {
+                        final AxisAlignedBB playerBB = players.get(linkedPlayers.getInt(link)).getEntityBoundingBox();
+                        if (intersectsGrown(playerBB, bbActivationRange, 256, entityBB)) {
+                            spongeEntity.activation$setActivatedTick(currentTick);
                             break;
-                        case 4:
-                            if (ambientBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersects(entity.getEntityBoundingBox())) {
-                                spongeEntity.activation$setActivatedTick(currentTick);
-                            }
+                        }
                     }
                 }
             }
         }
     }
 
+    /**
+     * Checks whether the source AABB, grown by the given values, intersects
+     * the target AABB. This is the same as {@link #growBb} followed by
+     * {@link AxisAlignedBB#intersects(AxisAlignedBB)}, without having to
+     * modify an AABB.
+     */
+    private static boolean intersectsGrown(final AxisAlignedBB source, final int xz, final int y, final AxisAlignedBB target) {
+        return source.minX - xz < target.maxX && source.maxX + xz > target.minX
+                && source.minY - y < target.maxY && source.maxY + y > target.minY
+                && source.minZ - xz < target.maxZ && source.maxZ + xz > target.minZ;
+    }
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
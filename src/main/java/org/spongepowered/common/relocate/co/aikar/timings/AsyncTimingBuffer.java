@@ -0,0 +1,159 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.spongepowered.common.relocate.co.aikar.util.LoadingIntMap;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * Records the timings of a thread other than the main thread. The handlers
+ * themselves may only be touched by the main thread, so the recorded time
+ * is merged into them whenever a {@link TimingHistory} is taken.
+ */
+final class AsyncTimingBuffer {
+
+    private static final Queue<AsyncTimingBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<AsyncTimingBuffer> THREAD_BUFFER = ThreadLocal.withInitial(() -> {
+        final AsyncTimingBuffer buffer = new AsyncTimingBuffer(Thread.currentThread());
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    private final WeakReference<Thread> thread;
+    // Modified by the owning thread while holding the lock of this buffer
+    private final Int2ObjectMap<Entry> entries = new Int2ObjectOpenHashMap<>();
+    // Only accessed by the owning thread
+    @Nullable private Entry current;
+
+    private AsyncTimingBuffer(Thread thread) {
+        this.thread = new WeakReference<>(thread);
+    }
+
+    static void startTiming(TimingHandler handler) {
+        THREAD_BUFFER.get().start(handler);
+    }
+
+    static void stopTiming(TimingHandler handler) {
+        THREAD_BUFFER.get().stop(handler);
+    }
+
+    /**
+     * Merges the time recorded by all threads into the handlers, this may
+     * only be called from the main thread.
+     */
+    static void mergeAll() {
+        for (Iterator<AsyncTimingBuffer> it = BUFFERS.iterator(); it.hasNext(); ) {
+            final AsyncTimingBuffer buffer = it.next();
+            buffer.merge(true);
+            final Thread thread = buffer.thread.get();
+            if (thread == null || !thread.isAlive()) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops the time recorded by all threads which wasn't merged yet.
+     */
+    static void discardAll() {
+        for (AsyncTimingBuffer buffer : BUFFERS) {
+            buffer.merge(false);
+        }
+    }
+
+    private void start(TimingHandler handler) {
+        Entry entry = this.entries.get(handler.id);
+        if (entry == null) {
+            entry = new Entry(handler);
+            synchronized (this) {
+                this.entries.put(handler.id, entry);
+            }
+        }
+        if (++entry.depth == 1) {
+            entry.start = System.nanoTime();
+            entry.parent = this.current;
+            this.current = entry;
+        }
+    }
+
+    private void stop(TimingHandler handler) {
+        final Entry entry = this.entries.get(handler.id);
+        if (entry == null || entry.depth == 0) {
+            return;
+        }
+        if (--entry.depth == 0 && entry.start != 0) {
+            final long diff = System.nanoTime() - entry.start;
+            entry.start = 0;
+            final boolean current = this.current == entry;
+            synchronized (this) {
+                entry.record.add(diff);
+                if (current && entry.parent != null) {
+                    entry.parent.children.get(handler.id).add(diff);
+                }
+            }
+            if (current) {
+                this.current = entry.parent;
+            }
+        }
+    }
+
+    private synchronized void merge(boolean apply) {
+        for (Entry entry : this.entries.values()) {
+            if (entry.record.getCurTickCount() == 0) {
+                continue;
+            }
+            if (apply) {
+                entry.handler.merge(entry.record, entry.children);
+            }
+            entry.record.setCurTickCount(0);
+            entry.record.setCurTickTotal(0);
+            entry.children.clear();
+        }
+    }
+
+    private static final class Entry {
+
+        final TimingHandler handler;
+        // The time which wasn't merged yet is kept as the time of the current tick
+        final TimingData record;
+        final Int2ObjectOpenHashMap<TimingData> children = new LoadingIntMap<>(TimingData::new);
+        @Nullable Entry parent;
+        int depth;
+        long start;
+
+        Entry(TimingHandler handler) {
+            this.handler = handler;
+            this.record = new TimingData(handler.id);
+        }
+    }
+}
@@ -95,10 +95,13 @@ public void stopTiming() {
             this.minuteData.reset();
         }
         if (TimingHistory.timedTicks % Timings.getHistoryInterval() == 0) {
-            TimingsManager.HISTORY.add(new TimingHistory());
+            final TimingHistory history = new TimingHistory();
+            TimingsManager.HISTORY.add(history);
+            TimingsLocalExport.exportHistory(history);
             TimingsManager.resetTimings();
         }
         TimingsExport.reportTimings();
+        TimingsLocalExport.reportTimings();
     }
 
     boolean isViolated() {
@@ -131,6 +131,10 @@ public static Timing getPluginSchedulerTimings(PluginContainer plugin) {
         return SpongeTimingsFactory.ofSafe(plugin.getName(), TimingsManager.PLUGIN_SCHEDULER_HANDLER);
     }
 
+    public static Timing getPluginAsyncSchedulerTimings(PluginContainer plugin) {
+        return SpongeTimingsFactory.ofSafe(plugin.getName(), "Async Tasks");
+    }
+
     public static Timing getCancelTasksTimer() {
         return SpongeTimingsFactory.ofSafe("Cancel Tasks");
     }
@@ -63,6 +63,10 @@ public void init() {
         setTimingsEnabled(this.moduleEnabled && category.isEnabled());
         setHistoryInterval(category.getHistoryInterval());
         setHistoryLength(category.getHistoryLength());
+        TimingsLocalExport.directory = SpongeImpl.getGameDir().resolve(category.getExportDirectory());
+        TimingsLocalExport.exportHistory = category.isExportHistory();
+        TimingsLocalExport.keptReports = Math.max(1, category.getExportKeptReports());
+        TimingsLocalExport.jfrEvents = category.isExportJfrEvents();
 
         SpongeImpl.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
@@ -184,6 +188,16 @@ public void generateReport(MessageChannel channel) {
         TimingsExport.requestingReport.add(channel);
     }
 
+    /**
+     * Requests a report to be written to the local export directory
+     * instead of being uploaded.
+     *
+     * @param sender Who to report to
+     */
+    public static void generateLocalReport(CommandSource sender) {
+        TimingsLocalExport.requestingReport.add(MessageChannel.fixed(sender));
+    }
+
     public static long getCost() {
         return TimingsExport.getCost();
     }
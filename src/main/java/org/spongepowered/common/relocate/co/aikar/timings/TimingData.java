@@ -79,6 +79,17 @@ void processTick(boolean violated) {
         this.curTickCount = 0;
     }
 
+    /**
+     * Adds the time of the current tick of the given data as completed
+     * time, used for time recorded outside of the main thread.
+     *
+     * @param data The data to merge
+     */
+    void merge(TimingData data) {
+        this.totalTime += data.curTickTotal;
+        this.count += data.curTickCount;
+    }
+
     void reset() {
         this.count = 0;
         this.lagCount = 0;
@@ -106,6 +117,18 @@ public JsonArray export() {
         return array;
     }
 
+    int getId() {
+        return id;
+    }
+
+    int getLagCount() {
+        return lagCount;
+    }
+
+    long getLagTotalTime() {
+        return lagTotalTime;
+    }
+
     boolean hasData() {
         return count > 0;
     }
@@ -32,10 +32,12 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.relocate.co.aikar.util.LoadingIntMap;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 class TimingHandler implements Timing {
 
-    private static int idPool = 1;
-    final int id = idPool++;
+    private static final AtomicInteger idPool = new AtomicInteger(1);
+    final int id = idPool.getAndIncrement();
 
     final String name;
     private final boolean verbose;
@@ -113,6 +115,10 @@ public TimingHandler startTiming() {
             return this;
         }
 
+        if (!SpongeImplHooks.isMainThread()) {
+            AsyncTimingBuffer.startTiming(this);
+            return this;
+        }
         if (++this.timingDepth == 1) {
             this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
@@ -127,13 +133,11 @@ public void stopTiming() {
             return;
         }
 
+        if (!SpongeImplHooks.isMainThread()) {
+            AsyncTimingBuffer.stopTiming(this);
+            return;
+        }
         if (--this.timingDepth == 0 && this.start != 0) {
-            if (!SpongeImplHooks.isMainThread()) {
-                SpongeImpl.getLogger().fatal("stopTiming called async for " + this.name);
-                new Throwable().printStackTrace();
-                this.start = 0;
-                return;
-            }
             addDiff(System.nanoTime() - this.start);
             this.start = 0;
         }
@@ -165,6 +169,26 @@ void addDiff(long diff) {
         }
     }
 
+    /**
+     * Merges the time recorded by another thread into this timer, this is
+     * only called from the main thread.
+     *
+     * @param record The time recorded by the other thread
+     * @param children The time of the timers which were started while this
+     *     timer was running on the other thread
+     */
+    void merge(TimingData record, Int2ObjectOpenHashMap<TimingData> children) {
+        this.record.merge(record);
+        for (TimingData child : children.values()) {
+            this.children.get(child.getId()).merge(child);
+        }
+        if (!this.added) {
+            this.added = true;
+            this.timed = true;
+            TimingsManager.HANDLERS.add(this);
+        }
+    }
+
     /**
      * Reset this timer, setting all values to zero.
      *
@@ -198,7 +222,7 @@ public int hashCode() {
      */
     @Override
     public void close() {
-        stopTimingIfSync();
+        stopTiming();
     }
 
     public boolean isSpecial() {
@@ -69,6 +69,8 @@ public class TimingHistory {
     final JsonObject worlds;
 
     TimingHistory() {
+        // Time recorded by other threads is only added to the handlers now
+        AsyncTimingBuffer.mergeAll();
         this.endTime = System.currentTimeMillis() / 1000;
         this.startTime = TimingsManager.historyStart / 1000;
         if (timedTicks % 1200 != 0 || TimingsManager.MINUTE_REPORTS.isEmpty()) {
@@ -25,11 +25,11 @@
 package org.spongepowered.common.relocate.co.aikar.timings;
 
 import co.aikar.timings.Timing;
-import org.spongepowered.common.relocate.co.aikar.util.LoadingMap;
-import org.spongepowered.common.relocate.co.aikar.util.MRUMapCache;
 
-import java.util.ArrayDeque;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Used as a basis for fast HashMap key comparisons for the Timing Map. <p/>
@@ -39,10 +39,9 @@
 final class TimingIdentifier {
 
     /**
-     * Holds all groups. Autoloads on request for a group by name.
+     * Holds all groups, which are created on request by {@link #getGroup(String)}.
      */
-    static final Map<String, TimingGroup> GROUP_MAP = MRUMapCache.of(
-            LoadingMap.newIdentityHashMap(TimingGroup::new, 64));
+    static final Map<String, TimingGroup> GROUP_MAP = new ConcurrentHashMap<>(64);
     static final TimingGroup DEFAULT_GROUP = getGroup("Minecraft");
     final String group;
     final String name;
@@ -63,7 +62,11 @@ static TimingGroup getGroup(String groupName) {
             return DEFAULT_GROUP;
         }
 
-        return GROUP_MAP.get(groupName.intern());
+        final TimingGroup group = GROUP_MAP.get(groupName);
+        if (group != null) {
+            return group;
+        }
+        return GROUP_MAP.computeIfAbsent(groupName.intern(), TimingGroup::new);
     }
 
     // We are using .intern() on the strings so it is guaranteed to be an
@@ -87,11 +90,11 @@ public int hashCode() {
 
     static class TimingGroup {
 
-        private static int idPool = 1;
-        final int id = idPool++;
+        private static final AtomicInteger idPool = new AtomicInteger(1);
+        final int id = idPool.getAndIncrement();
 
         final String name;
-        ArrayDeque<TimingHandler> handlers = new ArrayDeque<>(64);
+        final ConcurrentLinkedDeque<TimingHandler> handlers = new ConcurrentLinkedDeque<>();
 
         TimingGroup(String name) {
             this.name = name;
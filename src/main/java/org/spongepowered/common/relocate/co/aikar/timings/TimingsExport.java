@@ -47,6 +47,13 @@
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.format.TextColors;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
+import org.spongepowered.common.data.ImmutableDataCachingUtil;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.scheduler.AsyncTaskExecutor;
+import org.spongepowered.common.service.permission.base.SpongeBaseSubject;
+import org.spongepowered.common.world.AsyncLightingEngine;
+import org.spongepowered.common.world.WorldManager;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -58,6 +65,7 @@
 import java.net.InetAddress;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.zip.GZIPOutputStream;
@@ -142,7 +150,18 @@ static void reportTimings() {
                 .add("flags", RUNTIME_FLAG_JOINER.join(runtimeBean.getInputArguments()))
                 .add("gc", JSONUtil.mapArrayToObject(ManagementFactory.getGarbageCollectorMXBeans(), (input) -> {
                     return JSONUtil.singleObjectPair(input.getName(), JSONUtil.arrayOf(input.getCollectionCount(), input.getCollectionTime()));
-                })));
+                }))
+                .add("asyncscheduler", getAsyncSchedulerData())
+                .add("asynclighting", getAsyncLightingData())
+                .add("datacache", JSONUtil.objectBuilder()
+                        .add("manipulatorlookups", ImmutableDataCachingUtil.getManipulatorCacheLookups())
+                        .add("manipulatorhitrate", ImmutableDataCachingUtil.getManipulatorCacheHitRate())
+                        .add("valuelookups", ImmutableDataCachingUtil.getValueCacheLookups())
+                        .add("valuehitrate", ImmutableDataCachingUtil.getValueCacheHitRate()))
+                .add("permissioncache", JSONUtil.objectBuilder()
+                        .add("hits", SpongeBaseSubject.getResolvedPermissionHits())
+                        .add("misses", SpongeBaseSubject.getResolvedPermissionMisses()))
+                .add("skippedevents", getSkippedEventData()));
 
         Set<TileEntityType> tileEntityTypeSet = Sets.newHashSet();
         Set<EntityType> entityTypeSet = Sets.newHashSet();
@@ -244,6 +263,45 @@ static long getCost() {
         return timingsCost;
     }
 
+    private static JsonObject getAsyncSchedulerData() {
+        final AsyncTaskExecutor executor = SpongeImpl.getScheduler().getAsyncTaskExecutor();
+        return JSONUtil.objectBuilder()
+                .add("activethreads", executor.getActiveThreads())
+                .add("poolsize", executor.getPoolSize())
+                .add("maxpoolsize", executor.getMaximumPoolSize())
+                .add("queuedepth", executor.getQueueDepth())
+                .add("completed", executor.getCompletedTasks())
+                .add("rejected", executor.getRejectedTasks())
+                .add("avgwait", executor.getAverageWaitTime())
+                .add("maxwait", executor.getMaxWaitTime())
+                .add("avgrun", executor.getAverageRunTime())
+                .add("maxrun", executor.getMaxRunTime())
+                .build();
+    }
+
+    private static JsonObject getSkippedEventData() {
+        final Map<Class<?>, Long> skippedEvents = ((SpongeEventManager) Sponge.getEventManager()).checker.getSkippedEvents();
+        return JSONUtil.mapArrayToObject(skippedEvents.entrySet(), (entry) ->
+                JSONUtil.singleObjectPair(entry.getKey().getName(), entry.getValue()));
+    }
+
+    private static JsonObject getAsyncLightingData() {
+        return JSONUtil.mapArrayToObject(WorldManager.getWorlds(), (world) -> {
+            if (!(world instanceof WorldServerBridge_AsyncLighting)) {
+                return null;
+            }
+            final AsyncLightingEngine engine = ((WorldServerBridge_AsyncLighting) world).asyncLightingBridge$getLightingEngine();
+            return JSONUtil.singleObjectPair(world.getWorldInfo().getWorldName(), JSONUtil.objectBuilder()
+                    .add("queuedepth", engine.getQueueDepth())
+                    .add("queuedsections", engine.getQueuedSections())
+                    .add("queuedpositions", engine.getQueuedPositions())
+                    .add("peakqueuedpositions", engine.getPeakQueuedPositions())
+                    .add("processedbatches", engine.getProcessedBatches())
+                    .add("processedpositions", engine.getProcessedPositions())
+                    .build());
+        });
+    }
+
     private static JsonElement serializeConfigNode(ConfigurationNode node) {
         if (node.hasMapChildren()) {
             JsonObject object = new JsonObject();
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import org.spongepowered.common.SpongeImpl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Emits timings as custom JFR events, which show up in any running flight
+ * recording. JFR is accessed reflectively through its event factory since
+ * not every Java 8 runtime ships it.
+ */
+final class TimingsJfr {
+
+    @Nullable private static final Object eventFactory;
+    @Nullable private static final Method newEvent;
+    @Nullable private static final Method set;
+    @Nullable private static final Method commit;
+
+    static {
+        Object factory = null;
+        Method newEventMethod = null;
+        Method setMethod = null;
+        Method commitMethod = null;
+        try {
+            final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            final Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            final Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            final Class<?> eventClass = Class.forName("jdk.jfr.Event");
+
+            final Constructor<?> annotation = annotationElementClass.getConstructor(Class.class, Object.class);
+            final List<Object> annotations = Arrays.asList(
+                    annotation.newInstance(Class.forName("jdk.jfr.Name"), "org.spongepowered.Timing"),
+                    annotation.newInstance(Class.forName("jdk.jfr.Label"), "Timing"),
+                    annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[] {"Sponge", "Timings"}));
+            final Constructor<?> value = valueDescriptorClass.getConstructor(Class.class, String.class);
+            final List<Object> fields = Arrays.asList(
+                    value.newInstance(String.class, "group"),
+                    value.newInstance(String.class, "name"),
+                    value.newInstance(long.class, "count"),
+                    value.newInstance(long.class, "totalTime"),
+                    value.newInstance(long.class, "lagCount"),
+                    value.newInstance(long.class, "ticks"));
+
+            factory = eventFactoryClass.getMethod("create", List.class, List.class).invoke(null, annotations, fields);
+            newEventMethod = eventFactoryClass.getMethod("newEvent");
+            setMethod = eventClass.getMethod("set", int.class, Object.class);
+            commitMethod = eventClass.getMethod("commit");
+        } catch (ClassNotFoundException e) {
+            // JFR isn't available in this jvm
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            SpongeImpl.getLogger().warn("Could not create the JFR timing event", e);
+        }
+        eventFactory = factory;
+        newEvent = newEventMethod;
+        set = setMethod;
+        commit = commitMethod;
+    }
+
+    private TimingsJfr() {
+    }
+
+    static boolean isAvailable() {
+        return eventFactory != null;
+    }
+
+    static void emit(String group, String name, long count, long totalTime, long lagCount, long ticks) {
+        if (eventFactory == null) {
+            return;
+        }
+        try {
+            final Object event = newEvent.invoke(eventFactory);
+            set.invoke(event, 0, group);
+            set.invoke(event, 1, name);
+            set.invoke(event, 2, count);
+            set.invoke(event, 3, totalTime);
+            set.invoke(event, 4, lagCount);
+            set.invoke(event, 5, ticks);
+            commit.invoke(event);
+        } catch (ReflectiveOperationException e) {
+            SpongeImpl.getLogger().warn("Could not emit a JFR timing event", e);
+        }
+    }
+}
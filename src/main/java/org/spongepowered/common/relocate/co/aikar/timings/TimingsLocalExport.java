@@ -0,0 +1,363 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import com.google.common.collect.Lists;
+import com.google.common.html.HtmlEscapers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.channel.MessageChannel;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes timings reports to the local disk instead of uploading them. Each
+ * report is a directory with the stacks in the collapsed format read by
+ * flame graph tools and a html summary, the timings can also be emitted as
+ * JFR events. Only copying the data happens on the main thread.
+ */
+final class TimingsLocalExport implements Runnable {
+
+    private static final DateTimeFormatter DIRECTORY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String STACKS_FILE = "stacks.collapsed";
+    private static final String SUMMARY_FILE = "report.html";
+    // Guards against deep handler graphs, real stacks are nowhere near this deep
+    private static final int MAX_STACK_DEPTH = 64;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Timings Export Thread").setDaemon(true).build());
+    static final List<MessageChannel> requestingReport = Lists.newArrayList();
+
+    static Path directory = Paths.get("timings");
+    static boolean exportHistory = false;
+    static int keptReports = 24;
+    static boolean jfrEvents = false;
+
+    @Nullable private final TimingsReportListener listeners;
+    private final TimingHistory[] history;
+    private final Int2ObjectMap<HandlerName> names;
+    private final Int2ObjectMap<Totals> totals = new Int2ObjectOpenHashMap<>();
+    private long totalTicks;
+
+    private TimingsLocalExport(@Nullable TimingsReportListener listeners, TimingHistory[] history) {
+        this.listeners = listeners;
+        this.history = history;
+        this.names = getHandlerNames();
+    }
+
+    /**
+     * Exports the current history and a snapshot of the running history for
+     * everyone who requested a local report.
+     */
+    static void reportTimings() {
+        if (requestingReport.isEmpty()) {
+            return;
+        }
+        TimingsReportListener listeners = new TimingsReportListener(requestingReport);
+        requestingReport.clear();
+        listeners.send(Text.of(TextColors.GREEN, "Preparing local Timings Report..."));
+
+        final TimingHistory[] history = new TimingHistory[TimingsManager.HISTORY.size() + 1];
+        int i = 0;
+        for (TimingHistory timingHistory : TimingsManager.HISTORY) {
+            history[i++] = timingHistory;
+        }
+        history[i] = new TimingHistory(); // Current snapshot
+        executor.execute(new TimingsLocalExport(listeners, history));
+    }
+
+    /**
+     * Exports a finished history frame, if the rolling history is enabled.
+     *
+     * @param history The history frame
+     */
+    static void exportHistory(TimingHistory history) {
+        if (exportHistory) {
+            executor.execute(new TimingsLocalExport(null, new TimingHistory[] {history}));
+        }
+    }
+
+    private static Int2ObjectMap<HandlerName> getHandlerNames() {
+        final Int2ObjectMap<HandlerName> names = new Int2ObjectOpenHashMap<>();
+        for (TimingIdentifier.TimingGroup group : TimingIdentifier.GROUP_MAP.values()) {
+            for (TimingHandler handler : group.handlers) {
+                names.put(handler.id, new HandlerName(group.name, handler.name));
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void run() {
+        try {
+            final Path reportDirectory = createReportDirectory();
+            mergeHistory();
+            writeStacks(reportDirectory.resolve(STACKS_FILE));
+            writeSummary(reportDirectory.resolve(SUMMARY_FILE));
+            if (jfrEvents) {
+                emitJfrEvents();
+            }
+            removeOldReports();
+            if (this.listeners != null) {
+                this.listeners.send(Text.of(TextColors.GREEN, "Timings report written to " + reportDirectory.toAbsolutePath()));
+            }
+        } catch (IOException | RuntimeException e) {
+            if (this.listeners != null) {
+                this.listeners.send(Text.of(TextColors.RED, "Error writing timings report, check your logs for more information"));
+            }
+            SpongeImpl.getLogger().error("Could not write timings report", e);
+        } finally {
+            if (this.listeners != null) {
+                this.listeners.done();
+            }
+        }
+    }
+
+    private Path createReportDirectory() throws IOException {
+        final String name = LocalDateTime.now().format(DIRECTORY_FORMAT);
+        Path reportDirectory = directory.resolve(name);
+        for (int i = 1; Files.exists(reportDirectory); i++) {
+            reportDirectory = directory.resolve(name + "_" + i);
+        }
+        return Files.createDirectories(reportDirectory);
+    }
+
+    private void mergeHistory() {
+        for (TimingHistory timingHistory : this.history) {
+            this.totalTicks += timingHistory.totalTicks;
+            for (TimingHistoryEntry entry : timingHistory.entries) {
+                final TimingData data = entry.data;
+                Totals totals = this.totals.get(data.getId());
+                if (totals == null) {
+                    totals = new Totals();
+                    this.totals.put(data.getId(), totals);
+                }
+                totals.count += data.count;
+                totals.totalTime += data.totalTime;
+                totals.lagCount += data.getLagCount();
+                totals.lagTotalTime += data.getLagTotalTime();
+                for (TimingData child : entry.children) {
+                    totals.children.addTo(child.getId(), child.totalTime);
+                }
+            }
+        }
+    }
+
+    private void writeStacks(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            final int rootId = TimingsManager.FULL_SERVER_TICK.id;
+            final Totals root = this.totals.get(rootId);
+            if (root != null) {
+                appendStacks(writer, rootId, root.totalTime, new StringBuilder(), new IntOpenHashSet());
+            }
+        }
+    }
+
+    // Timings only know how much time a handler spent in each of its children, not in
+    // which stacks, so the time of a handler is split between its children proportionally
+    private void appendStacks(Writer writer, int id, long time, StringBuilder stack, IntSet onStack) throws IOException {
+        final int length = stack.length();
+        if (length > 0) {
+            stack.append(';');
+        }
+        stack.append(getFrameName(id));
+        onStack.add(id);
+
+        long childTime = 0;
+        final Totals totals = this.totals.get(id);
+        if (totals != null && totals.totalTime > 0 && onStack.size() < MAX_STACK_DEPTH) {
+            for (Int2LongMap.Entry child : totals.children.int2LongEntrySet()) {
+                final long share = (long) ((double) time * child.getLongValue() / totals.totalTime);
+                if (share <= 0 || onStack.contains(child.getIntKey())) {
+                    continue;
+                }
+                childTime += share;
+                appendStacks(writer, child.getIntKey(), share, stack, onStack);
+            }
+        }
+        // Samples are in microseconds
+        final long selfTime = (time - childTime) / 1000;
+        if (selfTime > 0) {
+            writer.append(stack).append(' ').append(Long.toString(selfTime)).append('\n');
+        }
+
+        onStack.remove(id);
+        stack.setLength(length);
+    }
+
+    private String getFrameName(int id) {
+        final HandlerName name = this.names.get(id);
+        if (name == null) {
+            return "Unknown #" + id;
+        }
+        final String frame = TimingIdentifier.DEFAULT_GROUP.name.equals(name.group) ? name.name : name.group + " - " + name.name;
+        // Semicolons separate the frames of a stack
+        return frame.replace(';', ',');
+    }
+
+    private void writeSummary(Path path) throws IOException {
+        final Totals root = this.totals.get(TimingsManager.FULL_SERVER_TICK.id);
+        final long rootTime = root == null ? 0 : root.totalTime;
+        final List<Int2ObjectMap.Entry<Totals>> handlers = this.totals.int2ObjectEntrySet().stream()
+                .filter(entry -> entry.getValue().count > 0)
+                .sorted(Comparator.comparingLong((Int2ObjectMap.Entry<Totals> entry) -> entry.getValue().totalTime).reversed())
+                .collect(Collectors.toList());
+        final List<TimingHistory.MinuteReport> minuteReports = new ArrayList<>();
+        for (TimingHistory timingHistory : this.history) {
+            for (TimingHistory.MinuteReport minuteReport : timingHistory.minuteReports) {
+                minuteReports.add(minuteReport);
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>Timings Report</title>\n")
+                    .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                    .append("td,th{border:1px solid #ccc;padding:2px 6px;text-align:right}td:first-child,th:first-child{text-align:left}</style>\n")
+                    .append("</head>\n<body>\n<h1>Timings Report</h1>\n<p>")
+                    .append(formatTime(this.history[0].startTime)).append(" to ").append(formatTime(this.history[this.history.length - 1].endTime))
+                    .append(", ").append(Long.toString(this.totalTicks)).append(" ticks</p>\n");
+
+            writer.append("<h2>Handlers</h2>\n<table>\n")
+                    .append("<tr><th>Name</th><th>Count</th><th>Total (ms)</th><th>Per tick (ms)</th><th>Of tick (%)</th><th>Lag count</th><th>Lag total (ms)</th></tr>\n");
+            for (Int2ObjectMap.Entry<Totals> entry : handlers) {
+                final Totals totals = entry.getValue();
+                writer.append("<tr><td>").append(escape(getFrameName(entry.getIntKey())))
+                        .append("</td><td>").append(Long.toString(totals.count))
+                        .append("</td><td>").append(formatMillis(totals.totalTime))
+                        .append("</td><td>").append(this.totalTicks == 0 ? "-" : formatMillis(totals.totalTime / this.totalTicks))
+                        .append("</td><td>").append(rootTime == 0 ? "-" : String.format(Locale.ROOT, "%.2f", totals.totalTime * 100D / rootTime))
+                        .append("</td><td>").append(Long.toString(totals.lagCount))
+                        .append("</td><td>").append(formatMillis(totals.lagTotalTime))
+                        .append("</td></tr>\n");
+            }
+            writer.append("</table>\n");
+
+            writer.append("<h2>Minutes</h2>\n<table>\n")
+                    .append("<tr><th>Time</th><th>TPS</th><th>Ping (ms)</th><th>Used memory (MB)</th><th>Free memory (MB)</th><th>Load average</th></tr>\n");
+            for (TimingHistory.MinuteReport minuteReport : minuteReports) {
+                writer.append("<tr><td>").append(formatTime(minuteReport.time))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.2f", minuteReport.tps))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.0f", minuteReport.pingRecord.avg))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.0f", minuteReport.usedMemory / 1048576D))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.0f", minuteReport.freeMemory / 1048576D))
+                        .append("</td><td>").append(String.format(Locale.ROOT, "%.2f", minuteReport.loadAvg))
+                        .append("</td></tr>\n");
+            }
+            writer.append("</table>\n</body>\n</html>\n");
+        }
+    }
+
+    private static String escape(String text) {
+        return HtmlEscapers.htmlEscaper().escape(text);
+    }
+
+    private static String formatTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()).format(TIME_FORMAT);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000000D);
+    }
+
+    private void emitJfrEvents() {
+        if (!TimingsJfr.isAvailable()) {
+            return;
+        }
+        for (Int2ObjectMap.Entry<Totals> entry : this.totals.int2ObjectEntrySet()) {
+            final HandlerName name = this.names.get(entry.getIntKey());
+            final Totals totals = entry.getValue();
+            if (name != null && totals.count > 0) {
+                TimingsJfr.emit(name.group, name.name, totals.count, totals.totalTime, totals.lagCount, this.totalTicks);
+            }
+        }
+    }
+
+    private static void removeOldReports() throws IOException {
+        final List<Path> reports;
+        try (Stream<Path> stream = Files.list(directory)) {
+            reports = stream.filter(Files::isDirectory)
+                    .filter(path -> Files.exists(path.resolve(SUMMARY_FILE)))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .collect(Collectors.toList());
+        }
+        for (int i = 0; i < reports.size() - keptReports; i++) {
+            try (Stream<Path> stream = Files.walk(reports.get(i))) {
+                final List<Path> files = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static final class HandlerName {
+
+        final String group;
+        final String name;
+
+        HandlerName(String group, String name) {
+            this.group = group;
+            this.name = name;
+        }
+    }
+
+    private static final class Totals {
+
+        long count;
+        long totalTime;
+        long lagCount;
+        long lagTotalTime;
+        final Int2LongOpenHashMap children = new Int2LongOpenHashMap();
+    }
+}
@@ -30,20 +30,18 @@
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
-import org.spongepowered.common.relocate.co.aikar.util.LoadingMap;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class TimingsManager {
 
-    static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = Collections.synchronizedMap(
-            LoadingMap.newHashMap((id) -> (id.protect ? new UnsafeTimingHandler(id) : new TimingHandler(id)), 256, .5F));
+    static final Map<TimingIdentifier, TimingHandler> TIMING_MAP = new ConcurrentHashMap<>(256, .5F);
     public static final FullServerTickHandler FULL_SERVER_TICK = new FullServerTickHandler();
     public static final TimingHandler TIMINGS_TICK = SpongeTimingsFactory.ofSafe("Timings Tick", FULL_SERVER_TICK);
     public static final Timing DATA_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Data");
@@ -101,10 +99,8 @@ static void stopServer() {
     }
 
     static void recheckEnabled() {
-        synchronized (TIMING_MAP) {
-            for (TimingHandler timings : TIMING_MAP.values()) {
-                timings.checkEnabled();
-            }
+        for (TimingHandler timings : TIMING_MAP.values()) {
+            timings.checkEnabled();
         }
         needsRecheckEnabled = false;
     }
@@ -112,12 +108,10 @@ static void recheckEnabled() {
     static void resetTimings() {
         if (needsFullReset) {
             // Full resets need to re-check every handlers enabled state
-            // Timing map can be modified from async so we must sync on it.
-            synchronized (TIMING_MAP) {
-                for (TimingHandler timings : TIMING_MAP.values()) {
-                    timings.reset(true);
-                }
+            for (TimingHandler timings : TIMING_MAP.values()) {
+                timings.reset(true);
             }
+            AsyncTimingBuffer.discardAll();
             if (timingStart != 0) {
                 SpongeImpl.getLogger().info("Timings reset");
             }
@@ -141,7 +135,12 @@ static void resetTimings() {
     }
 
     static TimingHandler getHandler(String group, String name, Timing parent, boolean protect) {
-        return TIMING_MAP.get(new TimingIdentifier(group, name, parent, protect));
+        final TimingIdentifier id = new TimingIdentifier(group, name, parent, protect);
+        final TimingHandler handler = TIMING_MAP.get(id);
+        if (handler != null) {
+            return handler;
+        }
+        return TIMING_MAP.computeIfAbsent(id, (i) -> i.protect ? new UnsafeTimingHandler(i) : new TimingHandler(i));
     }
 
     // TODO Revise this
@@ -57,6 +57,8 @@ public class WorldTimingsHandler {
     public final Timing tracker2;
     public final Timing doTick;
     public final Timing tickEntities;
+    public final Timing entityActivationCheck;
+    public final Timing incrementalSave;
 
     // Chunk Load
     public final Timing syncChunkLoadTimer;
@@ -113,6 +115,8 @@ public WorldTimingsHandler(World world) {
         this.tracker2 = SpongeTimingsFactory.ofSafe(name + "tracker stage 2");
         this.doTick = SpongeTimingsFactory.ofSafe(name + "doTick");
         this.tickEntities = SpongeTimingsFactory.ofSafe(name + "tickEntities");
+        this.entityActivationCheck = SpongeTimingsFactory.ofSafe(name + "entityActivationCheck");
+        this.incrementalSave = SpongeTimingsFactory.ofSafe(name + "incrementalSave");
 
         this.causeTrackerBlockTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockCaptures");
         this.causeTrackerBlockBreakTimer = SpongeTimingsFactory.ofSafe(name + "causeTracker - BlockBreakCaptures");
@@ -0,0 +1,333 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * The bounded thread pool that runs the asynchronous {@link ScheduledTask}s,
+ * configured through the {@link SchedulerCategory}. Every task that is
+ * executed through {@link #execute(ScheduledTask, Runnable)} is measured so
+ * the pool can be inspected through {@link SpongeScheduler#getAsyncTaskExecutor()}
+ * and timings reports.
+ */
+public final class AsyncTaskExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<Runnable> queue;
+    private final int queueCapacity;
+    // Tasks that did not fit into the queue. They are moved back into the queue
+    // by the worker threads as it drains, tasks are never run on the submitting
+    // thread, which is often the server thread. This is not bounded, tasks are
+    // never dropped, so the queue capacity doesn't bound the number of tasks.
+    private final ConcurrentLinkedDeque<Runnable> overflow = new ConcurrentLinkedDeque<>();
+    private final int pluginConcurrencyLimit;
+    private final Map<String, PluginTaskLimiter> pluginLimiters = new ConcurrentHashMap<>();
+    // The tasks held back by all plugin limiters, which count against the queue capacity
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final LongAdder totalRunTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final AtomicLong maxRunTime = new AtomicLong();
+
+    AsyncTaskExecutor(SchedulerCategory category) {
+        final int maxThreads = category.getAsyncMaxThreads();
+        final int queueCapacity = category.getAsyncQueueCapacity();
+        this.queueCapacity = queueCapacity;
+        this.queue = queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>();
+        this.pluginConcurrencyLimit = category.getAsyncPluginConcurrencyLimit();
+        // The core size equals the maximum size, otherwise the pool would only
+        // grow beyond a single thread once the queue is full. Idle threads are
+        // allowed to time out so a quiet server doesn't keep them around.
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, this.queue,
+                new ThreadFactoryBuilder().setNameFormat("Sponge - Async Scheduler Thread #%d").setDaemon(true).build(),
+                new QueueFullHandler()) {
+
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable throwable) {
+                drainOverflow();
+            }
+        };
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the backing {@link ExecutorService}, for work that is not bound to
+     * a {@link ScheduledTask}.
+     *
+     * @return The executor service
+     */
+    ExecutorService getExecutorService() {
+        return this.executor;
+    }
+
+    /**
+     * Executes the runnable of the given task, respecting the concurrency
+     * limit of the plugin that owns the task.
+     *
+     * @param task The task being executed
+     * @param runnable The runnable that executes the task
+     */
+    void execute(ScheduledTask task, Runnable runnable) {
+        final PluginTaskLimiter limiter = this.pluginConcurrencyLimit > 0
+                ? this.pluginLimiters.computeIfAbsent(task.getOwner().getId(), id -> new PluginTaskLimiter())
+                : null;
+        final MeasuredRunnable measured = new MeasuredRunnable(runnable, limiter);
+        if (limiter == null) {
+            this.executor.execute(measured);
+        } else {
+            limiter.submit(measured);
+        }
+    }
+
+    /**
+     * Gets the number of threads that are currently running a task.
+     *
+     * @return The number of active threads
+     */
+    public int getActiveThreads() {
+        return this.executor.getActiveCount();
+    }
+
+    /**
+     * Gets the number of threads that are currently in the pool.
+     *
+     * @return The pool size
+     */
+    public int getPoolSize() {
+        return this.executor.getPoolSize();
+    }
+
+    public int getMaximumPoolSize() {
+        return this.executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Gets the number of tasks waiting for a free thread, including the tasks
+     * that are held back by a plugin concurrency limit and the tasks that did
+     * not fit into the queue.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size() + this.pendingTasks.get() + this.overflow.size();
+    }
+
+    private boolean isQueueFull() {
+        return this.queueCapacity > 0 && this.queue.size() + this.pendingTasks.get() >= this.queueCapacity;
+    }
+
+    /**
+     * Moves tasks from the overflow back into the queue, as long as there is
+     * room for them. Called by the worker threads after each task.
+     */
+    private void drainOverflow() {
+        Runnable runnable;
+        while (!this.isQueueFull() && !this.executor.isShutdown() && (runnable = this.overflow.pollFirst()) != null) {
+            // Tasks which already hold a slot of their plugin limiter go straight
+            // into the queue, submitting them again would take a second slot
+            if (runnable instanceof MeasuredRunnable && ((MeasuredRunnable) runnable).limiter != null
+                    && !((MeasuredRunnable) runnable).holdsSlot) {
+                ((MeasuredRunnable) runnable).limiter.submit((MeasuredRunnable) runnable);
+            } else if (!this.queue.offer(runnable)) {
+                // Another thread filled the queue in the meantime
+                this.overflow.offerFirst(runnable);
+                return;
+            }
+        }
+    }
+
+    public long getCompletedTasks() {
+        return this.completedTasks.sum();
+    }
+
+    public long getRejectedTasks() {
+        return this.rejectedTasks.sum();
+    }
+
+    /**
+     * Gets the average time in nanoseconds a task waited before it started
+     * running.
+     *
+     * @return The average wait time
+     */
+    public long getAverageWaitTime() {
+        final long completed = this.completedTasks.sum();
+        return completed == 0 ? 0 : this.totalWaitTime.sum() / completed;
+    }
+
+    /**
+     * Gets the average time in nanoseconds a task took to run.
+     *
+     * @return The average run time
+     */
+    public long getAverageRunTime() {
+        final long completed = this.completedTasks.sum();
+        return completed == 0 ? 0 : this.totalRunTime.sum() / completed;
+    }
+
+    public long getMaxWaitTime() {
+        return this.maxWaitTime.get();
+    }
+
+    public long getMaxRunTime() {
+        return this.maxRunTime.get();
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Retry until either the value is stored or a larger one is present
+        }
+    }
+
+    private final class MeasuredRunnable implements Runnable {
+
+        private final Runnable runnable;
+        @Nullable private final PluginTaskLimiter limiter;
+        private final long submitTime = System.nanoTime();
+        // Whether the task took a slot of its limiter, which is released once it ran
+        boolean holdsSlot;
+
+        MeasuredRunnable(Runnable runnable, @Nullable PluginTaskLimiter limiter) {
+            this.runnable = runnable;
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void run() {
+            final long startTime = System.nanoTime();
+            try {
+                this.runnable.run();
+            } finally {
+                final long endTime = System.nanoTime();
+                final long waitTime = startTime - this.submitTime;
+                final long runTime = endTime - startTime;
+                AsyncTaskExecutor.this.completedTasks.increment();
+                AsyncTaskExecutor.this.totalWaitTime.add(waitTime);
+                AsyncTaskExecutor.this.totalRunTime.add(runTime);
+                updateMax(AsyncTaskExecutor.this.maxWaitTime, waitTime);
+                updateMax(AsyncTaskExecutor.this.maxRunTime, runTime);
+                if (this.limiter != null) {
+                    this.limiter.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds back the tasks of a single plugin once it reached the configured
+     * amount of concurrently running tasks.
+     */
+    private final class PluginTaskLimiter {
+
+        private final Queue<MeasuredRunnable> pending = new ArrayDeque<>();
+        private int running;
+
+        void submit(MeasuredRunnable runnable) {
+            synchronized (this) {
+                if (this.running >= AsyncTaskExecutor.this.pluginConcurrencyLimit) {
+                    if (AsyncTaskExecutor.this.isQueueFull()) {
+                        AsyncTaskExecutor.this.rejectedTasks.increment();
+                        AsyncTaskExecutor.this.overflow.offerLast(runnable);
+                    } else {
+                        this.pending.add(runnable);
+                        AsyncTaskExecutor.this.pendingTasks.incrementAndGet();
+                    }
+                    return;
+                }
+                this.running++;
+                runnable.holdsSlot = true;
+            }
+            AsyncTaskExecutor.this.executor.execute(runnable);
+        }
+
+        void release() {
+            final MeasuredRunnable next;
+            synchronized (this) {
+                next = this.pending.poll();
+                if (next == null) {
+                    this.running--;
+                    return;
+                }
+                next.holdsSlot = true;
+                AsyncTaskExecutor.this.pendingTasks.decrementAndGet();
+            }
+            // The slot of the completed task is handed over to the next one
+            AsyncTaskExecutor.this.executor.execute(next);
+        }
+
+        /**
+         * Gives up the slot of a task that will never run, because the pool
+         * was shut down.
+         */
+        synchronized void abandon() {
+            this.running--;
+            AsyncTaskExecutor.this.pendingTasks.addAndGet(-this.pending.size());
+            this.pending.clear();
+        }
+    }
+
+    /**
+     * Moves rejected tasks to the overflow, from where the worker threads move
+     * them back into the queue once there is room.
+     */
+    private final class QueueFullHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                if (runnable instanceof MeasuredRunnable && ((MeasuredRunnable) runnable).holdsSlot) {
+                    ((MeasuredRunnable) runnable).limiter.abandon();
+                }
+                return;
+            }
+            AsyncTaskExecutor.this.rejectedTasks.increment();
+            AsyncTaskExecutor.this.overflow.offerLast(runnable);
+        }
+    }
+
+}
@@ -48,6 +48,7 @@ public class ScheduledTask implements Task {
     private final PluginContainer owner;
     private final Consumer<Task> consumer;
     private long timestamp;
+    private long queuedExecutionTimestamp;
 
     // As this state is going to be read by multiple threads
     // potentially very quickly, marking this a volatile will
@@ -186,6 +187,24 @@ void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Gets whether the {@link #nextExecutionTimestamp()} is measured in
+     * ticks rather than nanoseconds.
+     *
+     * @return True if the next execution is tick based
+     */
+    boolean isTickBased() {
+        return this.state.isActive ? this.intervalIsTicks : this.delayIsTicks;
+    }
+
+    long getQueuedExecutionTimestamp() {
+        return this.queuedExecutionTimestamp;
+    }
+
+    void setQueuedExecutionTimestamp(long queuedExecutionTimestamp) {
+        this.queuedExecutionTimestamp = queuedExecutionTimestamp;
+    }
+
     ScheduledTaskState getState() {
         return this.state;
     }
@@ -208,7 +227,8 @@ public enum TaskSynchronicity {
 
     public Timing getTimingsHandler() {
         if (this.taskTimer == null) {
-            this.taskTimer = SpongeTimings.getPluginSchedulerTimings(this.owner);
+            this.taskTimer = this.isAsynchronous() ? SpongeTimings.getPluginAsyncSchedulerTimings(this.owner)
+                    : SpongeTimings.getPluginSchedulerTimings(this.owner);
         }
         return this.taskTimer;
     }
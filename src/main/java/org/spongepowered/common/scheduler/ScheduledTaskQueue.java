@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A store of {@link ScheduledTask}s ordered by their next execution. Tasks
+ * are kept in one of two heaps depending on whether their next execution is
+ * measured in server ticks or in {@link System#nanoTime() nanoseconds}, so
+ * that a scheduler tick only ever touches the tasks that are actually due
+ * instead of scanning every pending task.
+ *
+ * <p>A task is only present in this queue while it is waiting to be
+ * executed. Tasks that are switching or executing are re-added by the
+ * scheduler once their execution completed.</p>
+ */
+final class ScheduledTaskQueue {
+
+    private static final Comparator<ScheduledTask> EXECUTION_ORDER = Comparator.comparingLong(ScheduledTask::getQueuedExecutionTimestamp);
+
+    private final PriorityQueue<ScheduledTask> tickQueue = new PriorityQueue<>(EXECUTION_ORDER);
+    private final PriorityQueue<ScheduledTask> timeQueue = new PriorityQueue<>(EXECUTION_ORDER);
+
+    /**
+     * Adds the task to the queue, its position is determined by the
+     * {@link ScheduledTask#nextExecutionTimestamp() next execution timestamp}
+     * at the moment it is added.
+     *
+     * @param task The task to add
+     */
+    synchronized void add(ScheduledTask task) {
+        // The execution timestamp is captured so that later state changes
+        // of the task (cancellation, etc.) cannot corrupt the heap ordering.
+        task.setQueuedExecutionTimestamp(task.nextExecutionTimestamp());
+        if (task.isTickBased()) {
+            this.tickQueue.offer(task);
+        } else {
+            this.timeQueue.offer(task);
+        }
+    }
+
+    /**
+     * Removes all the tasks that are due at the given tick and time and
+     * adds them to the target collection, in execution order.
+     *
+     * @param tick The current tick
+     * @param time The current time in nanoseconds
+     * @param target The collection to add the due tasks to
+     */
+    synchronized void pollDue(long tick, long time, Collection<ScheduledTask> target) {
+        pollDue(this.tickQueue, tick, target);
+        pollDue(this.timeQueue, time, target);
+    }
+
+    private static void pollDue(PriorityQueue<ScheduledTask> queue, long now, Collection<ScheduledTask> target) {
+        ScheduledTask task;
+        while ((task = queue.peek()) != null && task.getQueuedExecutionTimestamp() <= now) {
+            target.add(queue.poll());
+        }
+    }
+
+    /**
+     * Gets the earliest nanosecond based execution timestamp within this
+     * queue, or {@link Long#MAX_VALUE} if no such task is present.
+     *
+     * @return The next execution timestamp in nanoseconds
+     */
+    synchronized long getNextExecutionTime() {
+        final ScheduledTask task = this.timeQueue.peek();
+        return task == null ? Long.MAX_VALUE : task.getQueuedExecutionTimestamp();
+    }
+
+    synchronized int size() {
+        return this.tickQueue.size() + this.timeQueue.size();
+    }
+
+}
@@ -35,6 +35,8 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -44,8 +46,12 @@
 
 abstract class SchedulerBase {
 
-    // The simple queue of all pending (and running) ScheduledTasks
+    // The simple map of all pending (and running) ScheduledTasks
     private final Map<UUID, ScheduledTask> taskMap = Maps.newConcurrentMap();
+    // The pending ScheduledTasks, ordered by their next execution
+    private final ScheduledTaskQueue taskQueue = new ScheduledTaskQueue();
+    // The tasks that are due in the current tick
+    private final List<ScheduledTask> dueTasks = new ArrayList<>();
     private long sequenceNumber = 0L;
     private final String taskNameFmt;
 
@@ -72,6 +78,16 @@ protected long getTimestamp(ScheduledTask task) {
         return System.nanoTime();
     }
 
+    /**
+     * Gets the current tick of this scheduler, used to determine which tick
+     * based tasks are due.
+     *
+     * @return The current tick
+     */
+    protected long getTick() {
+        return 0L;
+    }
+
     /**
      * Adds the task to the task map, will attempt to process the task on the
      * next call to {@link #runTick}.
@@ -81,6 +97,7 @@ protected long getTimestamp(ScheduledTask task) {
     protected void addTask(ScheduledTask task) {
         task.setTimestamp(this.getTimestamp(task));
         this.taskMap.put(task.getUniqueId(), task);
+        this.taskQueue.add(task);
     }
 
     /**
@@ -97,21 +114,43 @@ protected Optional<Task> getTask(UUID id) {
     }
 
     protected Set<Task> getScheduledTasks() {
-        synchronized (this.taskMap) {
-            return Sets.<Task>newHashSet(this.taskMap.values());
+        final Set<Task> tasks = Sets.newHashSet();
+        for (ScheduledTask task : this.taskMap.values()) {
+            // Cancelled tasks are only dropped from the queue once they
+            // would have been due, so they are filtered out here instead.
+            if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+                this.removeTask(task);
+            } else {
+                tasks.add(task);
+            }
         }
+        return tasks;
     }
 
     /**
-     * Process all tasks in the map.
+     * Gets the earliest nanosecond timestamp at which a time based task is
+     * due to be executed, or {@link Long#MAX_VALUE} if there is none.
+     *
+     * @return The next execution time
+     */
+    protected long getNextExecutionTime() {
+        return this.taskQueue.getNextExecutionTime();
+    }
+
+    /**
+     * Process all tasks that are due.
      */
     protected final void runTick() {
         this.preTick();
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.startTimingIfSync();
         try {
-            this.taskMap.values().forEach(this::processTask);
+            this.taskQueue.pollDue(this.getTick(), System.nanoTime(), this.dueTasks);
+            for (ScheduledTask task : this.dueTasks) {
+                this.processTask(task);
+            }
             this.postTick();
         } finally {
+            this.dueTasks.clear();
             this.finallyPostTick();
         }
         TimingsManager.PLUGIN_SCHEDULER_HANDLER.stopTimingIfSync();
@@ -137,7 +176,7 @@ protected void finallyPostTick() {
     }
 
     /**
-     * Processes the task.
+     * Processes a task that is due to be executed.
      *
      * @param task The task to process
      */
@@ -148,34 +187,30 @@ protected void processTask(ScheduledTask task) {
             this.removeTask(task);
             return;
         }
-        // If the task is already being processed, we wait for the previous
-        // occurrence to terminate.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.EXECUTING) {
-            return;
-        }
-        long threshold = Long.MAX_VALUE;
-        // Figure out if we start a delayed Task after threshold ticks or, start
-        // it after the interval (period) of the repeating task parameter.
-        if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
-            threshold = task.offset;
-        } else if (task.getState() == ScheduledTask.ScheduledTaskState.RUNNING) {
-            threshold = task.period;
-        }
-        // This moment is 'now'
-        long now = this.getTimestamp(task);
-        // So, if the current time minus the timestamp of the task is greater
-        // than the delay to wait before starting the task, then start the task.
         // Repeating tasks get a reset-timestamp each time they are set RUNNING
-        // If the task has a period of 0 (zero) this task will not repeat, and
-        // is removed after we start it.
-        if (threshold <= (now - task.getTimestamp())) {
-            task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
-            task.setTimestamp(this.getTimestamp(task));
-            startTask(task);
-            // If task is one time shot, remove it from the map.
-            if (task.period == 0L) {
-                this.removeTask(task);
-            }
+        // and are queued again once the execution completes. If the task has a
+        // period of 0 (zero) this task will not repeat, and is removed after we
+        // start it.
+        task.setState(ScheduledTask.ScheduledTaskState.SWITCHING);
+        task.setTimestamp(this.getTimestamp(task));
+        startTask(task);
+        // If task is one time shot, remove it from the map.
+        if (task.period == 0L) {
+            this.removeTask(task);
+        }
+    }
+
+    /**
+     * Queues the task for its next execution after it completed, unless it
+     * is a one time shot or was cancelled in the meantime.
+     *
+     * @param task The task to reschedule
+     */
+    private void rescheduleTask(ScheduledTask task) {
+        if (task.getState() == ScheduledTask.ScheduledTaskState.CANCELED) {
+            this.removeTask(task);
+        } else if (task.period != 0L) {
+            this.taskQueue.add(task);
         }
     }
 
@@ -189,7 +224,12 @@ protected void startTask(final ScheduledTask task) {
             task.setState(ScheduledTask.ScheduledTaskState.EXECUTING);
             try (final PhaseContext<?> context = createContext(task, task.getOwner());
                  final Timing timings = task.getTimingsHandler()) {
-                timings.startTimingIfSync();
+                // Asynchronous tasks are recorded by their own thread and merged later
+                if (task.isAsynchronous()) {
+                    timings.startTiming();
+                } else {
+                    timings.startTimingIfSync();
+                }
                 if (context != null) {
                     context.buildAndSwitch();
                 }
@@ -201,6 +241,7 @@ protected void startTask(final ScheduledTask task) {
                 }
             } finally {
                 task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                this.rescheduleTask(task);
                 onTaskCompletion(task);
             }
         });
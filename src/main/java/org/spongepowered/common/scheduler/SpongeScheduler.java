@@ -198,6 +198,16 @@ public void tickSyncScheduler() {
         }
     }
 
+    /**
+     * Gets the executor running the asynchronous tasks, which exposes metrics
+     * about the thread pool.
+     *
+     * @return The async task executor
+     */
+    public AsyncTaskExecutor getAsyncTaskExecutor() {
+        return this.asyncScheduler.getTaskExecutor();
+    }
+
     public <T> CompletableFuture<T> submitAsyncTask(Callable<T> callable) {
         return Functional.asyncFailableFuture(callable, this.asyncScheduler.getExecutor());
     }
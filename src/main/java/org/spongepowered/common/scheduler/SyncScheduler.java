@@ -47,6 +47,11 @@ void tick() {
         this.runTick();
     }
 
+    @Override
+    protected long getTick() {
+        return this.counter;
+    }
+
     @Override
     protected long getTimestamp(ScheduledTask task) {
         if (task.getState() == ScheduledTask.ScheduledTaskState.WAITING) {
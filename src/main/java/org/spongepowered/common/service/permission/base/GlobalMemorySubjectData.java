@@ -58,7 +58,7 @@ public CompletableFuture<Boolean> setPermission(Set<Context> contexts, String pe
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.setPermission(contexts, permission, value);
+        return notifyChanged(super.setPermission(contexts, permission, value));
     }
 
     @Override
@@ -66,7 +66,7 @@ public CompletableFuture<Boolean> clearPermissions(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearPermissions(contexts);
+        return notifyChanged(super.clearPermissions(contexts));
     }
 
     @Override
@@ -74,7 +74,7 @@ public CompletableFuture<Boolean> addParent(Set<Context> contexts, SubjectRefere
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.addParent(contexts, parent);
+        return notifyChanged(super.addParent(contexts, parent));
     }
 
     @Override
@@ -82,7 +82,7 @@ public CompletableFuture<Boolean> removeParent(Set<Context> contexts, SubjectRef
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.removeParent(contexts, parent);
+        return notifyChanged(super.removeParent(contexts, parent));
     }
 
     @Override
@@ -90,6 +90,29 @@ public CompletableFuture<Boolean> clearParents(Set<Context> contexts) {
         if (!contexts.isEmpty()) {
             return CompletableFuture.completedFuture(false);
         }
-        return super.clearParents(contexts);
+        return notifyChanged(super.clearParents(contexts));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearPermissions() {
+        return notifyChanged(super.clearPermissions());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> clearParents() {
+        return notifyChanged(super.clearParents());
+    }
+
+    /**
+     * Called after the permissions or parents of this data changed, which
+     * invalidates the permission values resolved by subjects.
+     */
+    protected void onChanged() {
+        SpongeBaseSubject.invalidateResolvedPermissions();
+    }
+
+    private CompletableFuture<Boolean> notifyChanged(CompletableFuture<Boolean> result) {
+        onChanged();
+        return result;
     }
 }
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.service.permission.base;
 
+import com.google.common.collect.ImmutableSet;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.permission.MemorySubjectData;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -31,13 +32,44 @@
 import org.spongepowered.api.service.permission.SubjectData;
 import org.spongepowered.api.service.permission.SubjectReference;
 import org.spongepowered.api.util.Tristate;
+import org.spongepowered.common.service.permission.SpongePermissionService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
 
 public abstract class SpongeBaseSubject implements Subject {
 
+    // Bumped whenever any subject data, parent or op level known to the
+    // Sponge permission service changes, invalidating every resolved value
+    private static final AtomicLong resolvedGeneration = new AtomicLong();
+    private static final LongAdder resolvedHits = new LongAdder();
+    private static final LongAdder resolvedMisses = new LongAdder();
+
+    @Nullable private volatile ResolvedPermissions resolvedPermissions;
+
+    /**
+     * Invalidates the resolved permission values of all subjects. This has to
+     * be called whenever something a resolved value may depend on changes.
+     */
+    public static void invalidateResolvedPermissions() {
+        resolvedGeneration.incrementAndGet();
+    }
+
+    public static long getResolvedPermissionHits() {
+        return resolvedHits.sum();
+    }
+
+    public static long getResolvedPermissionMisses() {
+        return resolvedMisses.sum();
+    }
+
     public abstract PermissionService getService();
 
     @Override
@@ -60,9 +92,55 @@ public boolean hasPermission(Set<Context> contexts, String permission) {
 
     @Override
     public Tristate getPermissionValue(Set<Context> contexts, String permission) {
+        if (!canCacheResolvedPermissions()) {
+            return resolvePermissionValue(contexts, permission);
+        }
+        // Read the generation before resolving, so a change made while resolving
+        // leaves the stored value behind in an already outdated cache
+        final long generation = resolvedGeneration.get();
+        ResolvedPermissions resolved = this.resolvedPermissions;
+        if (resolved == null || resolved.generation != generation) {
+            resolved = new ResolvedPermissions(generation);
+            this.resolvedPermissions = resolved;
+        }
+        Map<String, Tristate> values = resolved.values.get(contexts);
+        if (values == null) {
+            values = resolved.values.computeIfAbsent(ImmutableSet.copyOf(contexts), k -> new ConcurrentHashMap<>());
+        }
+        Tristate value = values.get(permission);
+        if (value != null) {
+            resolvedHits.increment();
+            return value;
+        }
+        resolvedMisses.increment();
+        value = resolvePermissionValue(contexts, permission);
+        values.put(permission, value);
+        return value;
+    }
+
+    /**
+     * Resolves the permission value without consulting the cache of resolved
+     * values, subclasses adding their own fallbacks should override this.
+     *
+     * @param contexts The contexts to check with
+     * @param permission The permission to resolve
+     * @return The resolved value
+     */
+    protected Tristate resolvePermissionValue(Set<Context> contexts, String permission) {
         return getDataPermissionValue(getTransientSubjectData(), permission);
     }
 
+    /**
+     * Only the subject data of the Sponge permission service notifies about
+     * changes, other services or plain {@link MemorySubjectData} may change
+     * without the resolved values being invalidated.
+     *
+     * @return Whether resolved permission values may be cached
+     */
+    protected boolean canCacheResolvedPermissions() {
+        return getService() instanceof SpongePermissionService && getTransientSubjectData() instanceof GlobalMemorySubjectData;
+    }
+
     protected Tristate getDataPermissionValue(MemorySubjectData subject, String permission) {
         Tristate res = subject.getNodeTree(SubjectData.GLOBAL_CONTEXT).get(permission);
 
@@ -112,4 +190,14 @@ public Optional<String> getOption(Set<Context> contexts, String key) {
     public Set<Context> getActiveContexts() {
         return SubjectData.GLOBAL_CONTEXT;
     }
+
+    private static final class ResolvedPermissions {
+
+        final long generation;
+        final Map<Set<Context>, Map<String, Tristate>> values = new ConcurrentHashMap<>();
+
+        ResolvedPermissions(long generation) {
+            this.generation = generation;
+        }
+    }
 }
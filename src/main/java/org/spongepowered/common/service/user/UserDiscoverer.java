@@ -27,11 +27,11 @@
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.server.management.PlayerList;
 import net.minecraft.server.management.PlayerProfileCache;
 import net.minecraft.server.management.UserListBans;
+import net.minecraft.server.management.UserListBansEntry;
 import net.minecraft.server.management.UserListEntry;
 import net.minecraft.server.management.UserListEntryBan;
 import net.minecraft.server.management.UserListWhitelist;
@@ -40,6 +40,7 @@
 import net.minecraft.world.storage.SaveHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.profile.GameProfileCache;
 import org.spongepowered.api.profile.ProfileNotFoundException;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.entity.player.SpongeUser;
@@ -47,12 +48,14 @@
 import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
 import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
 import org.spongepowered.common.mixin.core.world.storage.SaveHandlerAccessor;
+import org.spongepowered.common.util.SpongeUsernameCache;
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -60,6 +63,7 @@
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 class UserDiscoverer {
 
@@ -137,17 +141,14 @@ static User findByUsername(final String username) {
             return user;
         }
 
-        // check mojang cache
+        // check mojang cache, without looking up unknown names
         final PlayerProfileCache cache = SpongeImpl.getServer().getPlayerProfileCache();
-        final HashSet<String> names = Sets.newHashSet(cache.getUsernames());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
-            final GameProfile profile = cache.getGameProfileForUsername(username);
-            if (profile != null) {
-                return findByProfile((org.spongepowered.api.profile.GameProfile) profile);
-            }
+        final Optional<org.spongepowered.api.profile.GameProfile> cachedProfile = ((GameProfileCache) cache).getByName(username);
+        if (cachedProfile.isPresent()) {
+            return findByProfile(cachedProfile.get());
         }
 
-        // check username cache
+        // look up the profile, a name in the username cache may have been taken over by another player since
         final org.spongepowered.api.profile.GameProfile profile;
         try {
             profile = Sponge.getServer().getGameProfileManager().get(username).get();
@@ -157,11 +158,28 @@ static User findByUsername(final String username) {
             if (e.getCause() instanceof ProfileNotFoundException) {
                 return null;
             }
+            // fall back to the username cache when the lookup itself failed
+            final User lastKnownUser = findByLastKnownUsername(username);
+            if (lastKnownUser != null) {
+                return lastKnownUser;
+            }
             throw new RuntimeException("Exception while looking up username " + username, e);
         }
         return UserDiscoverer.findByProfile(profile);
     }
 
+    private static User findByLastKnownUsername(final String username) {
+        final UUID lastKnownUniqueId = SpongeUsernameCache.getLastKnownUUID(username);
+        if (lastKnownUniqueId == null) {
+            return null;
+        }
+        final String lastKnownName = SpongeUsernameCache.getLastKnownUsername(lastKnownUniqueId);
+        if (lastKnownName == null || !lastKnownName.equalsIgnoreCase(username)) {
+            return null;
+        }
+        return findByProfile((org.spongepowered.api.profile.GameProfile) new GameProfile(lastKnownUniqueId, lastKnownName));
+    }
+
     @SuppressWarnings("unchecked")
     static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
@@ -211,6 +229,54 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         return profiles.values();
     }
 
+    /**
+     * Finds the profiles of all known users whose last known name starts with
+     * the given prefix, ignoring case. Unlike {@link #getAllProfiles()}, this
+     * doesn't enumerate every known profile but searches the username cache.
+     *
+     * @param prefix The prefix of the names
+     * @return The matching profiles
+     */
+    @SuppressWarnings("unchecked")
+    static Collection<org.spongepowered.api.profile.GameProfile> match(final String prefix) {
+        Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        final Map<UUID, org.spongepowered.api.profile.GameProfile> profiles = new HashMap<>();
+
+        // Add all matching cached profiles, which includes users the username cache may not know about
+        userCache.asMap().values().stream()
+                .map(User::getProfile)
+                .filter(p -> p.getName().isPresent() && p.getName().get().toLowerCase(Locale.ROOT).startsWith(lowerPrefix))
+                .forEach(p -> profiles.put(p.getUniqueId(), p));
+
+        // Add all matching names that have data files
+        final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+        for (final Map.Entry<UUID, String> entry : SpongeUsernameCache.getUsernamesStartingWith(prefix, Integer.MAX_VALUE).entrySet()) {
+            final UUID uuid = entry.getKey();
+            if (profiles.containsKey(uuid) || getPlayerDataFile(uuid) == null) {
+                continue;
+            }
+            nonExistentUsers.remove(uuid);
+            final GameProfile profile = profileCache.getProfileByUUID(uuid);
+            profiles.put(uuid, (org.spongepowered.api.profile.GameProfile) (profile == null ? new GameProfile(uuid, entry.getValue()) : profile));
+        }
+
+        // Add all matching whitelisted and banned users, see getAllProfiles
+        addToProfiles(matching(((UserListAccessor<GameProfile, UserListWhitelistEntry>) SpongeImpl.getServer().getPlayerList().getWhitelistedPlayers()).accessor$getValues().values(), lowerPrefix), profiles, profileCache);
+        addToProfiles(matching(((UserListAccessor<GameProfile, UserListBansEntry>) SpongeImpl.getServer().getPlayerList().getBannedPlayers()).accessor$getValues().values(), lowerPrefix), profiles, profileCache);
+        return profiles.values();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends UserListEntry<GameProfile>> List<E> matching(final Collection<E> entries, final String lowerPrefix) {
+        return entries.stream()
+                .filter(entry -> {
+                    final String name = ((UserLIstEntryAccessor<GameProfile>) entry).accessor$getValue().getName();
+                    return name != null && name.toLowerCase(Locale.ROOT).startsWith(lowerPrefix);
+                })
+                .collect(Collectors.toList());
+    }
+
     @SuppressWarnings("unchecked")
     private static void addToProfiles(
             final Collection<? extends UserListEntry<GameProfile>> gameProfiles,
@@ -148,6 +148,8 @@ public static final class Sponge {
         public static final String SPONGE_ENTITY_CREATOR = "Creator";
         public static final String SPONGE_ENTITY_NOTIFIER = "Notifier";
         public static final String SPONGE_BLOCK_POS_TABLE = "BlockPosTable";
+        public static final String SPONGE_SHORT_BLOCK_POS_TABLE = "ShortBlockPosTable";
+        public static final String SPONGE_INT_BLOCK_POS_TABLE = "IntBlockPosTable";
         public static final String SPONGE_PLAYER_UUID_TABLE = "PlayerIdTable";
         public static final String CUSTOM_MANIPULATOR_TAG_LIST = "CustomManipulators";
         public static final DataQuery CUSTOM_MANIPULATOR_LIST = of(CUSTOM_MANIPULATOR_TAG_LIST);
@@ -367,6 +369,32 @@ public static final class World {
 
 
         public static final int CHUNK_GC_TICK_INTERVAL = 600;
+        /**
+         * The maximum number of chunks written by a single file IO pass of a
+         * chunk loader, see AnvilChunkLoaderMixin.
+         */
+        public static final int MAX_CHUNK_SAVE_BATCH = 1024;
+        /**
+         * The time in milliseconds to wait at most for pending chunk saves
+         * before checking again whether they have gone down.
+         */
+        public static final long PENDING_CHUNK_SAVE_WAIT = 100;
+        /**
+         * The time in milliseconds a single chunk save waits in total for
+         * pending chunk saves to go down, after which it carries on anyway.
+         */
+        public static final long PENDING_CHUNK_SAVE_MAX_WAIT = 10000;
+        /**
+         * The number of entries without chunks the player chunk map looks at
+         * per tick for every chunk whose terrain may be generated ahead of
+         * time.
+         */
+        public static final int ENTRIES_EXAMINED_PER_PREPARED_CHUNK = 4;
+        /**
+         * The number of missing chunks known to be on disk the player chunk
+         * map remembers before it forgets all of them.
+         */
+        public static final int MAX_REMEMBERED_CHUNKS_ON_DISK = 4096;
 
         public static final Vector3i BLOCK_MIN = new Vector3i(-30000000, 0, -30000000);
         public static final Vector3i BIOME_MIN = new Vector3i(Constants.World.BLOCK_MIN.getX(), 0, Constants.World.BLOCK_MIN.getZ());
@@ -24,24 +24,45 @@
  */
 package org.spongepowered.common.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nullable;
 
 import org.spongepowered.common.SpongeImpl;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
@@ -54,6 +75,10 @@
  * For convenience, {@link #getMap()} is provided to get an immutable copy of
  * the caches underlying map.
  *
+ * <p>Changes are appended to a journal next to the cache file when saving,
+ * the full cache file is only rewritten once the journal has grown large
+ * enough. Both happen on a separate thread.</p>
+ *
  * Note: This class represents Forge's UsernameCache. It is used merely used
  * to support both SpongeForge and SpongeVanilla. Original code can be found
  * here :
@@ -63,15 +88,36 @@
 public final class SpongeUsernameCache {
 
     // Thread-safe map
-    private static Map<UUID, String> map = new ConcurrentHashMap<>();
+    private static final Map<UUID, String> map = new ConcurrentHashMap<>();
+    // Lower case usernames to the uuid that was last seen using them
+    private static final Map<String, UUID> uuidsByName = new ConcurrentHashMap<>();
+    // The same as above, but sorted to allow searching by prefix
+    private static final NavigableMap<String, UUID> sortedUuidsByName = new ConcurrentSkipListMap<>();
+    // Lower case usernames to every uuid using them, the one seen last at the end. Names are
+    // only unique ignoring case among current players, so the cache can have several owners
+    // of one name. Only touched while holding the lock.
+    private static final Map<String, List<UUID>> ownersByName = new HashMap<>();
 
     private static final Charset charset = Charsets.UTF_8;
 
     private static File saveFile = new File(".", "usernamecache.json");
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
-    private static boolean loaded = false;
-    private static boolean dirty = false;
+    // The journal is only rewritten into the save file once it has at least this many
+    // entries, and more than half as many entries as there are cached usernames
+    private static final int MIN_COMPACTION_ENTRIES = 1024;
+    private static final String JOURNAL_ADD = "+";
+    private static final String JOURNAL_REMOVE = "-";
+
+    // Changes which still have to be appended to the journal
+    private static final Queue<String> pendingJournalEntries = new ConcurrentLinkedQueue<>();
+    // Only touched from the writer thread after loading
+    private static int journalEntries = 0;
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Sponge - Username Cache Writer").setDaemon(true).build());
+
+    private static final Object lock = new Object();
+    private static volatile boolean loaded = false;
 
     /**
      * Internal method used to set the proper server directory when it's available
@@ -109,8 +155,10 @@ public static void setUsername(UUID uuid, String username) {
             return;
         }
 
-        map.put(uuid, username);
-        dirty = true;
+        synchronized (lock) {
+            put(uuid, username);
+            pendingJournalEntries.add(JOURNAL_ADD + uuid + ' ' + gson.toJson(username));
+        }
     }
 
     /**
@@ -126,12 +174,15 @@ public static boolean removeUsername(UUID uuid) {
             load();
         }
 
-        if (map.remove(uuid) != null) {
-            dirty = true;
-            return true;
+        synchronized (lock) {
+            final String previous = map.remove(uuid);
+            if (previous == null) {
+                return false;
+            }
+            unindex(uuid, previous);
+            pendingJournalEntries.add(JOURNAL_REMOVE + uuid);
         }
-
-        return false;
+        return true;
     }
 
     /**
@@ -160,7 +211,7 @@ public static String getLastKnownUsername(UUID uuid) {
      * <b>May be <code>null</code></b>
      *
      * @param username
-     *            the player's username
+     *            the player's username, case insensitive
      * @return the player's last known uuid, or <code>null</code> if the
      *         cache doesn't have a record of the username
      */
@@ -171,13 +222,38 @@ public static UUID getLastKnownUUID(String username) {
             load();
         }
 
-        for (Map.Entry<UUID, String> mapEntry : map.entrySet()) {
-            if (mapEntry.getValue().equalsIgnoreCase(username)) {
-                return mapEntry.getKey();
-            }
+        return uuidsByName.get(username.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Get the last known usernames starting with the given prefix, ignoring
+     * case, ordered by their lower case names.
+     *
+     * @param prefix
+     *            the prefix of the usernames
+     * @param limit
+     *            the maximum amount of usernames to return
+     * @return the matching usernames, by the player's {@link java.util.UUID UUID}
+     */
+    public static Map<UUID, String> getUsernamesStartingWith(String prefix, int limit) {
+        checkNotNull(prefix);
+        checkArgument(limit >= 0, "limit cannot be negative");
+        if (!loaded) {
+            load();
         }
 
-        return null;
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        final Map<UUID, String> usernames = new LinkedHashMap<>();
+        for (Map.Entry<String, UUID> entry : sortedUuidsByName.tailMap(lowerPrefix, true).entrySet()) {
+            if (usernames.size() >= limit || !entry.getKey().startsWith(lowerPrefix)) {
+                break;
+            }
+            final String username = map.get(entry.getValue());
+            if (username != null) {
+                usernames.put(entry.getValue(), username);
+            }
+        }
+        return usernames;
     }
 
     /**
@@ -210,23 +286,32 @@ public static Map<UUID, String> getMap() {
     }
 
     /**
-     * Save the cache to file
+     * Save the changes to the cache to file, this happens asynchronously
      */
     public static void save() {
         if (!loaded) {
             return;
         }
 
-        if (!dirty) {
+        if (pendingJournalEntries.isEmpty()) {
             return;
         }
 
+        writer.execute(SpongeUsernameCache::writeJournal);
+    }
+
+    /**
+     * Save the changes to the cache to file and wait until all of them
+     * have been written
+     */
+    public static void saveAndWait() {
+        save();
         try {
-            // Make sure we don't save when another thread is still saving
-            Files.write(gson.toJson(map), saveFile, charset);
-            dirty = false;
-        } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
+            writer.submit(() -> {}).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            SpongeImpl.getLogger().error("Failed to wait for the username cache to be saved!", e);
         }
     }
 
@@ -234,26 +319,157 @@ public static void save() {
      * Load the cache from file
      */
     public static void load() {
-        loaded = true;
-        if (!saveFile.exists()) return;
+        synchronized (lock) {
+            loaded = true;
+            map.clear();
+            uuidsByName.clear();
+            sortedUuidsByName.clear();
+            ownersByName.clear();
+            pendingJournalEntries.clear();
+            journalEntries = 0;
+
+            if (saveFile.exists()) {
+                try {
+                    String json = Files.toString(saveFile, charset);
+                    Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
+
+                    // Can be null when the json file is malformed
+                    final Map<UUID, String> loadedMap = gson.fromJson(json, type);
+                    if (loadedMap != null) {
+                        for (Map.Entry<UUID, String> entry : loadedMap.entrySet()) {
+                            put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                } catch (JsonSyntaxException e) {
+                    SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
+                    saveFile.delete();
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
+                    saveFile.delete();
+                }
+            }
 
+            final File journal = getJournalFile();
+            if (journal.exists()) {
+                try (BufferedReader reader = java.nio.file.Files.newBufferedReader(journal.toPath(), charset)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!replay(line)) {
+                            // Most likely the last line, which wasn't fully written
+                            SpongeImpl.getLogger().warn("Skipping malformed username cache journal entry: {}", line);
+                        }
+                        journalEntries++;
+                    }
+                } catch (IOException e) {
+                    SpongeImpl.getLogger().error("Failed to read username cache journal from disk", e);
+                }
+            }
+        }
+    }
+
+    private static boolean replay(String line) {
         try {
+            if (line.startsWith(JOURNAL_ADD)) {
+                final int split = line.indexOf(' ');
+                if (split < 0) {
+                    return false;
+                }
+                final String username = gson.fromJson(line.substring(split + 1), String.class);
+                if (username == null) {
+                    return false;
+                }
+                put(UUID.fromString(line.substring(1, split)), username);
+                return true;
+            } else if (line.startsWith(JOURNAL_REMOVE)) {
+                final UUID uuid = UUID.fromString(line.substring(1));
+                final String previous = map.remove(uuid);
+                if (previous != null) {
+                    unindex(uuid, previous);
+                }
+                return true;
+            }
+        } catch (IllegalArgumentException | JsonSyntaxException e) {
+            // Fall through
+        }
+        return false;
+    }
+
+    private static void put(UUID uuid, String username) {
+        final String previous = map.put(uuid, username);
+        if (previous != null) {
+            unindex(uuid, previous);
+        }
+        index(uuid, username);
+    }
 
-            String json = Files.toString(saveFile, charset);
-            Type type = new TypeToken<Map<UUID, String>>() { private static final long serialVersionUID = 1L; }.getType();
+    private static void index(UUID uuid, String username) {
+        final String lowerUsername = username.toLowerCase(Locale.ROOT);
+        final List<UUID> owners = ownersByName.computeIfAbsent(lowerUsername, k -> new ArrayList<>(1));
+        owners.remove(uuid);
+        owners.add(uuid);
+        uuidsByName.put(lowerUsername, uuid);
+        sortedUuidsByName.put(lowerUsername, uuid);
+    }
 
-            map = gson.fromJson(json, type);
-        } catch (JsonSyntaxException e) {
-            SpongeImpl.getLogger().error("Could not parse username cache file as valid json, deleting file", e);
-            saveFile.delete();
+    private static void unindex(UUID uuid, String username) {
+        final String lowerUsername = username.toLowerCase(Locale.ROOT);
+        final List<UUID> owners = ownersByName.get(lowerUsername);
+        if (owners == null || !owners.remove(uuid)) {
+            return;
+        }
+        if (owners.isEmpty()) {
+            ownersByName.remove(lowerUsername);
+            uuidsByName.remove(lowerUsername);
+            sortedUuidsByName.remove(lowerUsername);
+        } else {
+            // Fall back to the owner that was seen last before this one
+            final UUID owner = owners.get(owners.size() - 1);
+            uuidsByName.put(lowerUsername, owner);
+            sortedUuidsByName.put(lowerUsername, owner);
+        }
+    }
+
+    private static File getJournalFile() {
+        return new File(saveFile.getParentFile(), saveFile.getName() + ".journal");
+    }
+
+    private static void writeJournal() {
+        boolean failed = false;
+        try (BufferedWriter journal = java.nio.file.Files.newBufferedWriter(getJournalFile().toPath(), charset,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            String entry;
+            while ((entry = pendingJournalEntries.poll()) != null) {
+                journal.write(entry);
+                journal.newLine();
+                journalEntries++;
+            }
         } catch (IOException e) {
-            SpongeImpl.getLogger().error("Failed to read username cache file from disk, deleting file", e);
-            saveFile.delete();
-        } finally {
-            // Can sometimes occur when the json file is malformed
-            if (map == null) {
-                map = Maps.newHashMap();
+            SpongeImpl.getLogger().error("Failed to append to the username cache journal, rewriting the full cache instead!", e);
+            failed = true;
+        }
+
+        if (failed || journalEntries >= Math.max(MIN_COMPACTION_ENTRIES, map.size() / 2)) {
+            compact();
+        }
+    }
+
+    private static void compact() {
+        final File tempFile = new File(saveFile.getParentFile(), saveFile.getName() + ".tmp");
+        try {
+            try (Writer fileWriter = java.nio.file.Files.newBufferedWriter(tempFile.toPath(), charset)) {
+                gson.toJson(map, fileWriter);
             }
+            try {
+                java.nio.file.Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                java.nio.file.Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Everything in the journal is part of the save file now
+            java.nio.file.Files.deleteIfExists(getJournalFile().toPath());
+            journalEntries = 0;
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save username cache to file!", e);
         }
     }
 }
@@ -26,7 +26,6 @@
 
 import com.flowpowered.math.vector.Vector3i;
 import org.spongepowered.api.block.BlockState;
-import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.util.DiscreteTransform3;
 import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
@@ -45,9 +44,6 @@
 
 public class ArrayImmutableBlockBuffer extends AbstractBlockBuffer implements ImmutableBlockVolume {
 
-    @SuppressWarnings("ConstantConditions")
-    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
-
     private final Palette<BlockState> palette;
     private final BackingData data;
 
@@ -78,7 +74,7 @@ public Palette<BlockState> getPalette() {
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
-        return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
+        return ArrayMutableBlockBuffer.getPaletteBlock(this.palette, this.data.get(getIndex(x, y, z)));
     }
 
     @Override
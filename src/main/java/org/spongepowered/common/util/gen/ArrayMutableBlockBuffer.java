@@ -126,7 +126,7 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
 
                 newdata = new PackedBackingData(dataSize, highId);
                 for (int i = 0; i < dataSize; i++) {
-                    newdata.set(i, newpalette.getOrAssign(this.palette.get(this.data.get(i)).orElse(AIR)));
+                    newdata.set(i, newpalette.getOrAssign(getPaletteBlock(this.palette, this.data.get(i))));
                 }
                 this.palette = newpalette;
             } else {
@@ -145,7 +145,29 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
     @Override
     public BlockState getBlock(int x, int y, int z) {
         checkRange(x, y, z);
-        return this.palette.get(this.data.get(getIndex(x, y, z))).orElse(AIR);
+        return getPaletteBlock(this.palette, this.data.get(getIndex(x, y, z)));
+    }
+
+    static BlockState getPaletteBlock(Palette<BlockState> palette, int id) {
+        // Avoids an Optional per block for the palettes created by Sponge
+        final BlockState block = palette instanceof BlockPaletteWrapper
+                ? ((BlockPaletteWrapper) palette).getNullable(id)
+                : palette.get(id).orElse(null);
+        return block == null ? AIR : block;
+    }
+
+    /**
+     * Gets the id of the block at the given position in the palette of this
+     * buffer, see {@link #getPalette()}.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     * @return The palette id of the block
+     */
+    public int getBlockId(int x, int y, int z) {
+        checkRange(x, y, z);
+        return this.data.get(getIndex(x, y, z));
     }
 
     @Override
@@ -0,0 +1,293 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Runs the asynchronous light checks of a single world.
+ *
+ * <p>Light checks are coalesced per chunk section: every section with
+ * pending checks is a single batch on the lighting executor, which keeps
+ * accepting new positions until it has been drained. This keeps the
+ * executor queue at one entry per section instead of one per block, and
+ * the neighbouring chunks only have to be resolved once per batch.</p>
+ *
+ * <p>Batches are ordered by their priority, lower values first. Any other
+ * task handed to the executor runs before all batches, in submission
+ * order.</p>
+ */
+public final class AsyncLightingEngine {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final Comparator<Runnable> TASK_ORDER = Comparator
+            .comparingInt((Runnable task) -> ((PrioritizedTask) task).priority)
+            .thenComparingLong(task -> ((PrioritizedTask) task).sequence);
+
+    /**
+     * Performs a single light check of a queued position.
+     */
+    @FunctionalInterface
+    public interface LightCheck {
+
+        void check(EnumSkyBlock lightType, BlockPos pos, Chunk chunk, List<Chunk> neighbors);
+    }
+
+    private final LightCheck lightCheck;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Long, SectionBatch> batches = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queuedPositions = new AtomicInteger();
+    private final AtomicLong processedPositions = new AtomicLong();
+    private final AtomicLong processedBatches = new AtomicLong();
+    private volatile int peakQueuedPositions;
+
+    public AsyncLightingEngine(final int threads, final LightCheck lightCheck) {
+        this.lightCheck = lightCheck;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(64, TASK_ORDER),
+                new ThreadFactoryBuilder().setNameFormat("Sponge - Async Light Thread - %d").setDaemon(true).build()) {
+
+            @Override
+            public void execute(final Runnable command) {
+                super.execute(command instanceof PrioritizedTask ? command : new PrioritizedTask(0, command));
+            }
+        };
+    }
+
+    public ExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Queues a light check for the given position. The position is added
+     * to the pending batch of its section if there is one, otherwise a new
+     * batch is created and submitted.
+     *
+     * <p>The caller is responsible for deduplicating positions.</p>
+     *
+     * @param lightType The light type to check
+     * @param pos The block position
+     * @param chunk The chunk containing the position
+     * @param priorityResolver Resolves the priority of the chunk when a new
+     *     batch is created, lower runs first
+     * @param neighborResolver Resolves and retains the neighbors of the
+     *     chunk when a new batch is created
+     * @param neighborRelease Releases the neighbors once the batch is done
+     */
+    public void enqueue(final EnumSkyBlock lightType, final BlockPos pos, final Chunk chunk, final ToIntFunction<Chunk> priorityResolver,
+            final Function<Chunk, List<Chunk>> neighborResolver, final Consumer<List<Chunk>> neighborRelease) {
+        final long key = sectionKey(chunk.x, pos.getY() >> 4, chunk.z);
+        final int queued = this.queuedPositions.incrementAndGet();
+        if (queued > this.peakQueuedPositions) {
+            this.peakQueuedPositions = queued;
+        }
+        while (true) {
+            final SectionBatch batch = this.batches.computeIfAbsent(key,
+                    k -> new SectionBatch(k, chunk, neighborResolver.apply(chunk), neighborRelease));
+            final int result = batch.add(lightType, pos.toLong());
+            if (result == SectionBatch.ADDED_FIRST) {
+                this.executor.execute(new PrioritizedTask(priorityResolver.applyAsInt(chunk), batch));
+            }
+            if (result != SectionBatch.RETIRED) {
+                break;
+            }
+            // The batch was retired right before we could add to it, so another one is needed.
+            this.batches.remove(key, batch);
+        }
+    }
+
+    /**
+     * Gets the amount of sections that have light checks pending.
+     *
+     * @return The pending section count
+     */
+    public int getQueuedSections() {
+        return this.batches.size();
+    }
+
+    /**
+     * Gets the amount of block positions that have light checks pending.
+     *
+     * @return The pending position count
+     */
+    public int getQueuedPositions() {
+        return this.queuedPositions.get();
+    }
+
+    /**
+     * Gets the highest amount of pending block positions seen at once.
+     *
+     * @return The peak pending position count
+     */
+    public int getPeakQueuedPositions() {
+        return this.peakQueuedPositions;
+    }
+
+    /**
+     * Gets the amount of tasks waiting in the executor queue, which
+     * includes both section batches and whole chunk light checks.
+     *
+     * @return The executor queue depth
+     */
+    public int getQueueDepth() {
+        return this.executor.getQueue().size();
+    }
+
+    public long getProcessedPositions() {
+        return this.processedPositions.get();
+    }
+
+    public long getProcessedBatches() {
+        return this.processedBatches.get();
+    }
+
+    private static long sectionKey(final int chunkX, final int sectionY, final int chunkZ) {
+        return (chunkX & 0x3FFFFFFL) << 38 | (chunkZ & 0x3FFFFFFL) << 12 | (sectionY & 0xFFFL);
+    }
+
+    private static class PrioritizedTask implements Runnable {
+
+        final int priority;
+        final long sequence;
+        private final Runnable task;
+
+        PrioritizedTask(final int priority, final Runnable task) {
+            this.priority = priority;
+            this.sequence = SEQUENCE.getAndIncrement();
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+    }
+
+    private final class SectionBatch implements Runnable {
+
+        static final int RETIRED = -1;
+        static final int ADDED = 0;
+        static final int ADDED_FIRST = 1;
+
+        private final long key;
+        private final Chunk chunk;
+        private final List<Chunk> neighbors;
+        private final Consumer<List<Chunk>> neighborRelease;
+        private LongArrayList skyPositions = new LongArrayList();
+        private LongArrayList blockPositions = new LongArrayList();
+        private boolean scheduled;
+        private boolean retired;
+
+        SectionBatch(final long key, final Chunk chunk, final List<Chunk> neighbors, final Consumer<List<Chunk>> neighborRelease) {
+            this.key = key;
+            this.chunk = chunk;
+            this.neighbors = neighbors;
+            this.neighborRelease = neighborRelease;
+        }
+
+        synchronized int add(final EnumSkyBlock lightType, final long pos) {
+            if (this.retired) {
+                return RETIRED;
+            }
+            (lightType == EnumSkyBlock.SKY ? this.skyPositions : this.blockPositions).add(pos);
+            if (!this.scheduled) {
+                this.scheduled = true;
+                return ADDED_FIRST;
+            }
+            return ADDED;
+        }
+
+        @Override
+        public void run() {
+            LongArrayList sky = new LongArrayList();
+            LongArrayList block = new LongArrayList();
+            try {
+                while (true) {
+                    synchronized (this) {
+                        if (this.skyPositions.isEmpty() && this.blockPositions.isEmpty()) {
+                            this.retired = true;
+                            break;
+                        }
+                        // Swap the pending lists out so new positions can be queued while these are processed.
+                        final LongArrayList pendingSky = this.skyPositions;
+                        final LongArrayList pendingBlock = this.blockPositions;
+                        this.skyPositions = sky;
+                        this.blockPositions = block;
+                        sky = pendingSky;
+                        block = pendingBlock;
+                    }
+                    this.process(EnumSkyBlock.SKY, sky);
+                    this.process(EnumSkyBlock.BLOCK, block);
+                }
+            } finally {
+                // Only reached without retiring if something other than a light check failed,
+                // the remaining positions are dropped so the batch can't hold chunks forever.
+                final int dropped;
+                synchronized (this) {
+                    dropped = this.retired ? 0 : sky.size() + block.size() + this.skyPositions.size() + this.blockPositions.size();
+                    this.retired = true;
+                }
+                AsyncLightingEngine.this.queuedPositions.addAndGet(-dropped);
+                AsyncLightingEngine.this.batches.remove(this.key, this);
+                AsyncLightingEngine.this.processedBatches.incrementAndGet();
+                this.neighborRelease.accept(this.neighbors);
+            }
+        }
+
+        private void process(final EnumSkyBlock lightType, final LongArrayList positions) {
+            final int size = positions.size();
+            for (int i = 0; i < size; i++) {
+                final BlockPos pos = BlockPos.fromLong(positions.getLong(i));
+                try {
+                    AsyncLightingEngine.this.lightCheck.check(lightType, pos, this.chunk, this.neighbors);
+                } catch (Exception e) {
+                    SpongeImpl.getLogger().error("Failed to check {} light at {} asynchronously.", lightType, pos, e);
+                }
+            }
+            positions.clear();
+            AsyncLightingEngine.this.queuedPositions.addAndGet(-size);
+            AsyncLightingEngine.this.processedPositions.addAndGet(size);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.world.MinecraftException;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.IChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.SpongeEventFactory;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
+import org.spongepowered.common.bridge.world.chunk.storage.AnvilChunkLoaderBridge;
+import org.spongepowered.common.mixin.core.world.WorldServerAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An auto-save of a single world that is spread over multiple ticks.
+ *
+ * <p>The level data is saved right away, the chunks that need saving at
+ * that point are then serialized a few at a time on every tick until all
+ * of them are done. Chunks that have been dirty for a while are saved
+ * first. While the file IO thread is behind on writing chunks, no chunks
+ * are saved so the pending chunk data doesn't keep growing.</p>
+ */
+final class IncrementalWorldSave {
+
+    private final WorldServer world;
+    private final Cause cause;
+    private final List<Chunk> chunks;
+    private int index;
+
+    private IncrementalWorldSave(final WorldServer world, final Cause cause, final List<Chunk> chunks) {
+        this.world = world;
+        this.cause = cause;
+        this.chunks = chunks;
+    }
+
+    static IncrementalWorldSave start(final WorldServer world) throws MinecraftException {
+        final Cause cause = Sponge.getCauseStackManager().getCurrentCause();
+        Sponge.getEventManager().post(SpongeEventFactory.createSaveWorldEventPre(cause, (org.spongepowered.api.world.World) world));
+        ((WorldServerAccessor) world).accessor$saveLevel();
+
+        // needsSaving(false) is true for modified chunks and for chunks with entities that have not been
+        // saved for a while, these go first. The remaining ones only have entities that were saved recently.
+        final List<Chunk> stale = new ArrayList<>();
+        final List<Chunk> recent = new ArrayList<>();
+        for (final Chunk chunk : world.getChunkProvider().getLoadedChunks()) {
+            if (chunk.needsSaving(false)) {
+                stale.add(chunk);
+            } else if (chunk.needsSaving(true)) {
+                recent.add(chunk);
+            }
+        }
+        stale.addAll(recent);
+        return new IncrementalWorldSave(world, cause, stale);
+    }
+
+    /**
+     * Saves chunks until either the chunk or the time limit is reached, or
+     * none at all if too many chunk saves are still pending.
+     *
+     * @param maxChunks The maximum number of chunks to save
+     * @param maxNanos The maximum time to spend, in nanoseconds
+     * @return True if all chunks have been saved
+     */
+    boolean tick(final int maxChunks, final long maxNanos) {
+        if (this.isFileIOBehind()) {
+            return false;
+        }
+        return this.saveChunks(maxChunks, maxNanos);
+    }
+
+    private boolean saveChunks(final int maxChunks, final long maxNanos) {
+        final long start = System.nanoTime();
+        final ChunkProviderServerBridge chunkProvider = (ChunkProviderServerBridge) this.world.getChunkProvider();
+        ((WorldServerBridge) this.world).bridge$getTimingsHandler().incrementalSave.startTiming();
+        int saved = 0;
+        while (this.index < this.chunks.size() && saved < maxChunks && System.nanoTime() - start < maxNanos) {
+            final Chunk chunk = this.chunks.get(this.index);
+            // Let go of the chunk right away, it may be unloaded by now
+            this.chunks.set(this.index++, null);
+            // Chunks that were unloaded in the meantime have been saved on unload already
+            if (chunk.isLoaded() && chunk.needsSaving(true)) {
+                chunkProvider.bridge$saveChunk(chunk);
+                saved++;
+            }
+        }
+        ((WorldServerBridge) this.world).bridge$getTimingsHandler().incrementalSave.stopTiming();
+        return this.index >= this.chunks.size();
+    }
+
+    private boolean isFileIOBehind() {
+        final int maxPending = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getMaxPendingChunkSaves();
+        final IChunkLoader chunkLoader = this.world.getChunkProvider().chunkLoader;
+        return maxPending > 0 && chunkLoader instanceof AnvilChunkLoaderBridge
+                && ((AnvilChunkLoaderBridge) chunkLoader).bridge$getPendingChunkSaves() >= maxPending;
+    }
+
+    /**
+     * Saves all chunks that are still left in one go and completes the
+     * save, used when the world is saved fully or unloaded before the
+     * incremental save got to finish.
+     */
+    void flush() {
+        this.saveChunks(Integer.MAX_VALUE, Long.MAX_VALUE);
+        this.finish();
+    }
+
+    /**
+     * Completes the save the same way {@link WorldServer#saveAllChunks(boolean, net.minecraft.util.IProgressUpdate)}
+     * does, posting the post save event and queueing chunks no player is
+     * watching for unload unless the chunk GC takes care of that.
+     */
+    void finish() {
+        this.chunks.clear();
+        Sponge.getEventManager().post(SpongeEventFactory.createSaveWorldEventPost(this.cause, (org.spongepowered.api.world.World) this.world));
+
+        if (((WorldServerBridge) this.world).bridge$getChunkGCTickInterval() > 0) {
+            return;
+        }
+        final ChunkProviderServer chunkProvider = this.world.getChunkProvider();
+        for (final Chunk chunk : new ArrayList<>(chunkProvider.getLoadedChunks())) {
+            if (chunk != null && !this.world.getPlayerChunkMap().contains(chunk.x, chunk.z)) {
+                chunkProvider.queueUnload(chunk);
+            }
+        }
+    }
+}
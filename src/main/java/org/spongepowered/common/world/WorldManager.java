@@ -77,6 +77,7 @@
 import org.spongepowered.common.bridge.world.WorldSettingsBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
 import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.config.type.GeneralConfigBase;
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.data.util.DataUtil;
@@ -101,6 +102,7 @@
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -111,6 +113,7 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -133,6 +136,7 @@ public final class WorldManager {
     private static final IntSet usedDimensionIds = new IntOpenHashSet();
     private static final Map<WorldServer, WorldServer> weakWorldByWorld = new MapMaker().weakKeys().weakValues().concurrencyLevel(1).makeMap();
     private static final Queue<WorldServer> unloadQueue = new ArrayDeque<>();
+    private static final Map<WorldServer, IncrementalWorldSave> incrementalSaves = new IdentityHashMap<>();
     private static final Comparator<WorldServer>
             WORLD_SERVER_COMPARATOR =
             (world1, world2) -> {
@@ -557,6 +561,9 @@ public static boolean unloadWorld(final WorldServer worldServer, final boolean c
                 // Don't save if server is stopping to avoid duplicate saving.
                 if (!isShuttingDown) {
                     saveWorld(worldServer, true);
+                } else {
+                    // Chunks an incremental save didn't get to yet still have to be written
+                    flushIncrementalSave(worldServer);
                 }
 
                 ((WorldInfoBridge) worldServer.getWorldInfo()).bridge$getConfigAdapter().save();
@@ -565,6 +572,7 @@ public static boolean unloadWorld(final WorldServer worldServer, final boolean c
             } finally {
                 worldByDimensionId.remove(dimensionId);
                 weakWorldByWorld.remove(worldServer);
+                incrementalSaves.remove(worldServer);
                 ((MinecraftServerBridge) server).bridge$removeWorldTickTimes(dimensionId);
                 reorderWorldsVanillaFirst();
             }
@@ -573,6 +581,8 @@ public static boolean unloadWorld(final WorldServer worldServer, final boolean c
     }
 
     public static void saveWorld(final WorldServer worldServer, final boolean flush) throws MinecraftException {
+        // Complete a pending incremental save first so its post event is not lost
+        flushIncrementalSave(worldServer);
         if (((WorldProperties) worldServer.getWorldInfo()).getSerializationBehavior() != SerializationBehaviors.NONE) {
             worldServer.saveAllChunks(true, null);
         }
@@ -581,6 +591,45 @@ public static void saveWorld(final WorldServer worldServer, final boolean flush)
         }
     }
 
+    /**
+     * Starts saving the world over the next ticks, see {@link #tickIncrementalSaves()}.
+     * Does nothing if an incremental save of the world is still in progress.
+     *
+     * @param worldServer The world to save
+     * @throws MinecraftException If the level data could not be saved
+     */
+    public static void saveWorldIncrementally(final WorldServer worldServer) throws MinecraftException {
+        if (((WorldProperties) worldServer.getWorldInfo()).getSerializationBehavior() == SerializationBehaviors.NONE
+                || incrementalSaves.containsKey(worldServer)) {
+            return;
+        }
+        incrementalSaves.put(worldServer, IncrementalWorldSave.start(worldServer));
+    }
+
+    private static void flushIncrementalSave(final WorldServer worldServer) {
+        final IncrementalWorldSave incrementalSave = incrementalSaves.remove(worldServer);
+        if (incrementalSave != null) {
+            incrementalSave.flush();
+        }
+    }
+
+    public static void tickIncrementalSaves() {
+        if (incrementalSaves.isEmpty()) {
+            return;
+        }
+        final Iterator<Map.Entry<WorldServer, IncrementalWorldSave>> iterator = incrementalSaves.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<WorldServer, IncrementalWorldSave> entry = iterator.next();
+            final WorldCategory category = ((WorldInfoBridge) entry.getKey().getWorldInfo()).bridge$getConfigAdapter().getConfig().getWorld();
+            final int maxChunks = Math.max(1, category.getIncrementalAutoSaveChunksPerTick());
+            final long maxNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, category.getIncrementalAutoSaveTimePerTick()));
+            if (entry.getValue().tick(maxChunks, maxNanos)) {
+                iterator.remove();
+                entry.getValue().finish();
+            }
+        }
+    }
+
     public static Optional<WorldServer> loadWorld(final UUID uuid) {
         checkNotNull(uuid);
         // If someone tries to load loaded world, return it
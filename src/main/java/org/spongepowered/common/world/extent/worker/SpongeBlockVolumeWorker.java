@@ -31,6 +31,7 @@
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.MutableBlockVolume;
 import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
 import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
@@ -38,16 +39,38 @@
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMerger;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
 import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeVisitor;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.event.tracking.phase.plugin.BasicPluginContext;
 import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiFunction;
 
 /**
+ * Works on every block of a volume.
  *
+ * <p>If the parallel block workers optimization is enabled, large immutable
+ * volumes are split into slabs along the x axis which are mapped, merged and
+ * reduced on the common fork join pool. The mappers, mergers and reducers are
+ * then called from several threads at once and must not share mutable state.
+ * Every slab is reduced starting from the same identity, which must therefore
+ * not be mutated, and the slab reductions are combined in order along the x
+ * axis with the merge function. Otherwise every block is worked on by the
+ * calling thread and the merge function of a reduction is never called.</p>
  */
 public class SpongeBlockVolumeWorker<V extends BlockVolume> implements BlockVolumeWorker<V> {
 
+    // Immutable volumes with at least this many blocks are split into slabs
+    // along the x axis, which are worked on in parallel. The slabs are aligned
+    // to chunk sections and span the whole y and z range of the volume, which
+    // matches the layout of the array block buffers.
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int SLAB_WIDTH = 16;
+
     protected final V volume;
 
     public SpongeBlockVolumeWorker(V volume) {
@@ -62,36 +85,77 @@ public V getVolume() {
     @SuppressWarnings("try")
     @Override
     public void map(BlockVolumeMapper mapper, MutableBlockVolume destination) {
+        final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        // a single go, requiring only one event
+        try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+            .source(this)) {
+            phaseState.buildAndSwitch();
+            this.mapBlocks(unmodifiableVolume, mapper, destination, shouldWorkInParallel(unmodifiableVolume));
+        }
+    }
+
+    void mapBlocks(UnmodifiableBlockVolume unmodifiableVolume, BlockVolumeMapper mapper, MutableBlockVolume destination, boolean parallel) {
         final Vector3i offset = align(destination);
         final int xOffset = offset.getX();
         final int yOffset = offset.getY();
         final int zOffset = offset.getZ();
-        final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
         final int xMin = unmodifiableVolume.getBlockMin().getX();
         final int yMin = unmodifiableVolume.getBlockMin().getY();
         final int zMin = unmodifiableVolume.getBlockMin().getZ();
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
-        // a single go, requiring only one event
-        try (BasicPluginContext phaseState = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
-            .source(this)) {
-            phaseState.buildAndSwitch();
-            for (int z = zMin; z <= zMax; z++) {
-                for (int y = yMin; y <= yMax; y++) {
-                    for (int x = xMin; x <= xMax; x++) {
-                        final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
-
-                        destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+        if (parallel) {
+            // The blocks are mapped in parallel, but only set on this thread
+            forEachSlab(xMin, xMax, (xStart, xEnd) -> {
+                final BlockState[] blocks = new BlockState[(xEnd - xStart + 1) * (zMax - zMin + 1) * (yMax - yMin + 1)];
+                int i = 0;
+                for (int x = xStart; x <= xEnd; x++) {
+                    for (int z = zMin; z <= zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            blocks[i++] = mapper.map(unmodifiableVolume, x, y, z);
+                        }
                     }
                 }
+                return blocks;
+            }, (xStart, xEnd, blocks) -> {
+                int i = 0;
+                for (int x = xStart; x <= xEnd; x++) {
+                    for (int z = zMin; z <= zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            destination.setBlock(x + xOffset, y + yOffset, z + zOffset, blocks[i++]);
+                        }
+                    }
+                }
+            });
+            return;
+        }
+        for (int z = zMin; z <= zMax; z++) {
+            for (int y = yMin; y <= yMax; y++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    final BlockState block = mapper.map(unmodifiableVolume, x, y, z);
+
+                    destination.setBlock(x + xOffset, y + yOffset, z + zOffset, block);
+                }
             }
         }
     }
 
     @Override
     public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolume destination) {
-        final Vector3i offsetSecond = align(second);
+        final UnmodifiableBlockVolume firstUnmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
+        try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
+            .source(this)) {
+            context.buildAndSwitch();
+            this.mergeBlocks(firstUnmodifiableVolume, secondUnmodifiableVolume, merger, destination,
+                shouldWorkInParallel(firstUnmodifiableVolume) && secondUnmodifiableVolume instanceof ImmutableBlockVolume);
+        }
+    }
+
+    void mergeBlocks(UnmodifiableBlockVolume firstUnmodifiableVolume, UnmodifiableBlockVolume secondUnmodifiableVolume, BlockVolumeMerger merger,
+        MutableBlockVolume destination, boolean parallel) {
+        final Vector3i offsetSecond = align(secondUnmodifiableVolume);
         final int xOffsetSecond = offsetSecond.getX();
         final int yOffsetSecond = offsetSecond.getY();
         final int zOffsetSecond = offsetSecond.getZ();
@@ -99,25 +163,45 @@ public void merge(BlockVolume second, BlockVolumeMerger merger, MutableBlockVolu
         final int xOffsetDestination = offsetDestination.getX();
         final int yOffsetDestination = offsetDestination.getY();
         final int zOffsetDestination = offsetDestination.getZ();
-        final UnmodifiableBlockVolume firstUnmodifiableVolume = this.volume.getUnmodifiableBlockView();
         final int xMin = firstUnmodifiableVolume.getBlockMin().getX();
         final int yMin = firstUnmodifiableVolume.getBlockMin().getY();
         final int zMin = firstUnmodifiableVolume.getBlockMin().getZ();
         final int xMax = firstUnmodifiableVolume.getBlockMax().getX();
         final int yMax = firstUnmodifiableVolume.getBlockMax().getY();
         final int zMax = firstUnmodifiableVolume.getBlockMax().getZ();
-        final UnmodifiableBlockVolume secondUnmodifiableVolume = second.getUnmodifiableBlockView();
-        try (BasicPluginContext context = PluginPhase.State.BLOCK_WORKER.createPhaseContext()
-            .source(this)) {
-            context.buildAndSwitch();
-            for (int z = zMin; z <= zMax; z++) {
-                for (int y = yMin; y <= yMax; y++) {
-                    for (int x = xMin; x <= xMax; x++) {
-                        final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
-                            secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
-                        destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+        if (parallel) {
+            // The blocks are merged in parallel, but only set on this thread
+            forEachSlab(xMin, xMax, (xStart, xEnd) -> {
+                final BlockState[] blocks = new BlockState[(xEnd - xStart + 1) * (zMax - zMin + 1) * (yMax - yMin + 1)];
+                int i = 0;
+                for (int x = xStart; x <= xEnd; x++) {
+                    for (int z = zMin; z <= zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            blocks[i++] = merger.merge(firstUnmodifiableVolume, x, y, z,
+                                secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                        }
                     }
                 }
+                return blocks;
+            }, (xStart, xEnd, blocks) -> {
+                int i = 0;
+                for (int x = xStart; x <= xEnd; x++) {
+                    for (int z = zMin; z <= zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, blocks[i++]);
+                        }
+                    }
+                }
+            });
+            return;
+        }
+        for (int z = zMin; z <= zMax; z++) {
+            for (int y = yMin; y <= yMax; y++) {
+                for (int x = xMin; x <= xMax; x++) {
+                    final BlockState block = merger.merge(firstUnmodifiableVolume, x, y, z,
+                        secondUnmodifiableVolume, x + xOffsetSecond, y + yOffsetSecond, z + zOffsetSecond);
+                    destination.setBlock(x + xOffsetDestination, y + yOffsetDestination, z + zOffsetDestination, block);
+                }
             }
         }
     }
@@ -147,12 +231,31 @@ public void iterate(BlockVolumeVisitor<V> visitor) {
     @Override
     public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity) {
         final UnmodifiableBlockVolume unmodifiableVolume = this.volume.getUnmodifiableBlockView();
+        return reduceBlocks(unmodifiableVolume, reducer, merge, identity, shouldWorkInParallel(unmodifiableVolume));
+    }
+
+    static <T> T reduceBlocks(UnmodifiableBlockVolume unmodifiableVolume, BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T identity,
+        boolean parallel) {
         final int xMin = unmodifiableVolume.getBlockMin().getX();
         final int yMin = unmodifiableVolume.getBlockMin().getY();
         final int zMin = unmodifiableVolume.getBlockMin().getZ();
         final int xMax = unmodifiableVolume.getBlockMax().getX();
         final int yMax = unmodifiableVolume.getBlockMax().getY();
         final int zMax = unmodifiableVolume.getBlockMax().getZ();
+        if (parallel) {
+            // Every slab is reduced from the identity, the results are merged in order
+            return foldSlabs(xMin, xMax, (xStart, xEnd) -> {
+                T slabReduction = identity;
+                for (int x = xStart; x <= xEnd; x++) {
+                    for (int z = zMin; z <= zMax; z++) {
+                        for (int y = yMin; y <= yMax; y++) {
+                            slabReduction = reducer.reduce(unmodifiableVolume, x, y, z, slabReduction);
+                        }
+                    }
+                }
+                return slabReduction;
+            }, identity, (reduction, xStart, xEnd, slabReduction) -> merge.apply(reduction, slabReduction));
+        }
         T reduction = identity;
         for (int z = zMin; z <= zMax; z++) {
             for (int y = yMin; y <= yMax; y++) {
@@ -164,6 +267,76 @@ public <T> T reduce(BlockVolumeReducer<T> reducer, BiFunction<T, T, T> merge, T
         return reduction;
     }
 
+    private static boolean shouldWorkInParallel(UnmodifiableBlockVolume volume) {
+        final GlobalConfig config = SpongeImpl.getGlobalConfigAdapter().getConfig();
+        return config.getModules().useOptimizations() && config.getOptimizations().useParallelBlockWorkers() && canWorkInParallel(volume);
+    }
+
+    private static boolean canWorkInParallel(UnmodifiableBlockVolume volume) {
+        if (!(volume instanceof ImmutableBlockVolume)) {
+            return false;
+        }
+        final Vector3i size = volume.getBlockSize();
+        return (long) size.getX() * size.getY() * size.getZ() >= PARALLEL_THRESHOLD && size.getX() > SLAB_WIDTH;
+    }
+
+    /**
+     * Splits the x range into slabs aligned to chunk sections, which are
+     * worked on in the common fork join pool. The results are consumed on
+     * the calling thread in order, and only a limited number of slabs is
+     * queued at once so the results don't all have to be kept in memory.
+     */
+    private static <T> void forEachSlab(int xMin, int xMax, SlabWork<T> work, SlabConsumer<T> consumer) {
+        foldSlabs(xMin, xMax, work, null, (unused, xStart, xEnd, result) -> {
+            consumer.accept(xStart, xEnd, result);
+            return null;
+        });
+    }
+
+    /**
+     * Works on the slabs like {@link #forEachSlab}, folding their results
+     * into a single one on the calling thread.
+     */
+    private static <T, R> R foldSlabs(int xMin, int xMax, SlabWork<T> work, R initial, SlabFolder<T, R> folder) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int maxQueued = pool.getParallelism() * 2;
+        final Deque<ForkJoinTask<T>> tasks = new ArrayDeque<>(maxQueued);
+        final Deque<int[]> bounds = new ArrayDeque<>(maxQueued);
+        R folded = initial;
+        int xStart = xMin;
+        while (xStart <= xMax || !tasks.isEmpty()) {
+            if (xStart <= xMax && tasks.size() < maxQueued) {
+                final int start = xStart;
+                final int end = Math.min(xMax, (xStart & ~(SLAB_WIDTH - 1)) + SLAB_WIDTH - 1);
+                tasks.add(pool.submit(() -> work.work(start, end)));
+                bounds.add(new int[] {start, end});
+                xStart = end + 1;
+            } else {
+                final int[] slab = bounds.poll();
+                folded = folder.fold(folded, slab[0], slab[1], tasks.poll().join());
+            }
+        }
+        return folded;
+    }
+
+    @FunctionalInterface
+    private interface SlabWork<T> {
+
+        T work(int xStart, int xEnd);
+    }
+
+    @FunctionalInterface
+    private interface SlabConsumer<T> {
+
+        void accept(int xStart, int xEnd, T result);
+    }
+
+    @FunctionalInterface
+    private interface SlabFolder<T, R> {
+
+        R fold(R folded, int xStart, int xEnd, T result);
+    }
+
     private Vector3i align(BlockVolume other) {
         final Vector3i thisSize = this.volume.getBlockSize();
         final Vector3i otherSize = other.getBlockSize();
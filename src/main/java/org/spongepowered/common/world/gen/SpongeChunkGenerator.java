@@ -32,6 +32,7 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.block.BlockFalling;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -74,10 +75,12 @@
 import org.spongepowered.api.world.gen.WorldGenerator;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.TimingBridge;
+import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.gen.ChunkGeneratorOverworldBridge;
 import org.spongepowered.common.bridge.world.gen.FlaggedPopulatorBridge;
+import org.spongepowered.common.config.category.WorldCategory;
 import org.spongepowered.common.event.tracking.IPhaseState;
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
@@ -94,9 +97,13 @@
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -109,6 +116,9 @@ public class SpongeChunkGenerator implements WorldGenerator, IChunkGenerator {
 
     private static final Vector3i CHUNK_AREA = new Vector3i(16, 1, 16);
 
+    // Shared by all worlds, only accessed from the main thread
+    @Nullable private static ExecutorService terrainExecutor;
+
     protected BiomeGenerator biomeGenerator;
     protected GenerationPopulator baseGenerator;
     protected List<GenerationPopulator> genpop;
@@ -124,6 +134,9 @@ public class SpongeChunkGenerator implements WorldGenerator, IChunkGenerator {
     protected Map<String, Timing> populatorTimings = Maps.newHashMap();
     protected Timing chunkGeneratorTiming;
 
+    // The terrain of chunks which is being generated off the main thread
+    private final TerrainReadAhead<PreparedTerrain> preparedTerrain = new TerrainReadAhead<>();
+
     public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerator biomegen) {
         this.world = checkNotNull(world, "world");
         this.baseGenerator = checkNotNull(base, "baseGenerator");
@@ -134,7 +147,8 @@ public SpongeChunkGenerator(World world, GenerationPopulator base, BiomeGenerato
 
         this.genpop = Lists.newArrayList();
         this.pop = Lists.newArrayList();
-        this.biomeSettings = Maps.newHashMap();
+        // Read by terrain generation off the main thread
+        this.biomeSettings = new ConcurrentHashMap<>();
         this.rand = new Random(world.getSeed());
         this.noise4 = new NoiseGeneratorPerlin(this.rand, 4);
         this.stoneNoise = new double[256];
@@ -168,6 +182,7 @@ public void setBaseGenerationPopulator(GenerationPopulator baseGenerationPopulat
         if (this.baseGenerator instanceof ChunkGeneratorOverworldBridge) {
             ((ChunkGeneratorOverworldBridge) this.baseGenerator).bridge$setBiomeGenerator(this.biomeGenerator);
         }
+        this.preparedTerrain.discard();
     }
 
     @Override
@@ -177,6 +192,7 @@ public List<GenerationPopulator> getGenerationPopulators() {
 
     public void setGenerationPopulators(List<GenerationPopulator> generationPopulators) {
         this.genpop = Lists.newArrayList(generationPopulators);
+        this.preparedTerrain.discard();
     }
 
     @Override
@@ -193,7 +209,8 @@ public Map<BiomeType, BiomeGenerationSettings> getBiomeOverrides() {
     }
 
     public void setBiomeOverrides(Map<BiomeType, BiomeGenerationSettings> biomeOverrides) {
-        this.biomeSettings = Maps.newHashMap(biomeOverrides);
+        this.biomeSettings = new ConcurrentHashMap<>(biomeOverrides);
+        this.preparedTerrain.discard();
     }
 
     @Override
@@ -208,6 +225,7 @@ public void setBiomeGenerator(BiomeGenerator biomeGenerator) {
         if (this.baseGenerator instanceof ChunkGeneratorOverworldBridge) {
             ((ChunkGeneratorOverworldBridge) this.baseGenerator).bridge$setBiomeGenerator(biomeGenerator);
         }
+        this.preparedTerrain.discard();
     }
 
     @Override
@@ -222,7 +240,10 @@ public BiomeGenerationSettings getBiomeSettings(BiomeType type) {
             } else {
                 settings = type.createDefaultGenerationSettings((org.spongepowered.api.world.World) this.world);
             }
-            this.biomeSettings.put(type, settings);
+            final BiomeGenerationSettings existing = this.biomeSettings.putIfAbsent(type, settings);
+            if (existing != null) {
+                return existing;
+            }
         }
         return settings;
     }
@@ -239,56 +260,162 @@ public List<Populator> getPopulators(Class<? extends Populator> type) {
 
     @Override
     public Chunk generateChunk(int chunkX, int chunkZ) {
-        this.rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
-        this.cachedBiomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
-        this.biomeGenerator.generateBiomes(this.cachedBiomes);
-        ImmutableBiomeVolume biomeBuffer = this.cachedBiomes.getImmutableBiomeCopy();
-
-        // Generate base terrain
-        ChunkPrimer chunkprimer = new ChunkPrimer();
-        MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
-        this.baseGenerator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
-
-        if (!(this.baseGenerator instanceof SpongeGenerationPopulator)) {
-            this.replaceBiomeBlocks(this.world, this.rand, chunkX, chunkZ, chunkprimer, biomeBuffer);
+        ChunkPrimer chunkprimer = null;
+        ObjectArrayMutableBiomeBuffer biomes = null;
+        final PreparedTerrain terrain = this.preparedTerrain.take(chunkX, chunkZ);
+        if (terrain != null) {
+            chunkprimer = terrain.primer;
+            biomes = terrain.biomes;
+        }
+        if (chunkprimer == null) {
+            chunkprimer = this.generateTerrain(chunkX, chunkZ, this.baseGenerator, this.genpop, this.biomeGenerator, this.cachedBiomes,
+                    this.rand, this.stoneNoise, false);
+            biomes = this.cachedBiomes;
         }
 
-        // Apply the generator populators to complete the blockBuffer
-        for (GenerationPopulator populator : this.genpop) {
-            populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+        // Assemble chunk
+        Chunk chunk;
+        if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
+            chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
+            ((ChunkBridge) chunk).bridge$fill(chunkprimer);
+        } else {
+            chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
+            biomes.fill(chunk.getBiomeArray());
         }
+        chunk.generateSkylightMap();
+        return chunk;
+    }
+
+    /**
+     * Generates the terrain of a chunk into the given buffers, without
+     * touching the world.
+     *
+     * <p>Off the main thread, this gives up before anything is generated and
+     * returns {@code null} if the chunk contains a biome whose generation
+     * settings have not been created yet, or whose generation populators can
+     * not be used off the main thread.</p>
+     */
+    @Nullable
+    private ChunkPrimer generateTerrain(int chunkX, int chunkZ, GenerationPopulator base, List<GenerationPopulator> genpop,
+            BiomeGenerator biomeGenerator, ObjectArrayMutableBiomeBuffer biomes, Random rand, double[] stoneNoise, boolean async) {
+        rand.setSeed(chunkX * 341873128712L + chunkZ * 132897987541L);
+        biomes.reuse(new Vector3i(chunkX * 16, 0, chunkZ * 16));
+        biomeGenerator.generateBiomes(biomes);
+        ImmutableBiomeVolume biomeBuffer = biomes.getImmutableBiomeCopy();
 
         // Get unique biomes to determine what generator populators to run
-        List<BiomeType> uniqueBiomes = Lists.newArrayList();
+        Map<BiomeType, BiomeGenerationSettings> uniqueBiomes = new LinkedHashMap<>();
         BiomeType biome;
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                biome = this.cachedBiomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
-                if (!uniqueBiomes.contains(biome)) {
-                    uniqueBiomes.add(biome);
+                biome = biomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z);
+                if (!uniqueBiomes.containsKey(biome)) {
+                    // Creating the default settings of a biome is left to the main thread
+                    BiomeGenerationSettings settings = async ? this.biomeSettings.get(biome) : this.getBiomeSettings(biome);
+                    if (settings == null || async && !TerrainReadAhead.isThreadSafe(settings.getGenerationPopulators())) {
+                        return null;
+                    }
+                    uniqueBiomes.put(biome, settings);
                 }
             }
         }
 
+        // Generate base terrain
+        ChunkPrimer chunkprimer = new ChunkPrimer();
+        MutableBlockVolume blockBuffer = new ChunkPrimerBuffer(chunkprimer, chunkX, chunkZ);
+        base.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+
+        if (!(base instanceof SpongeGenerationPopulator)) {
+            this.replaceBiomeBlocks(this.world, rand, chunkX, chunkZ, chunkprimer, biomeBuffer, stoneNoise, uniqueBiomes);
+        }
+
+        // Apply the generator populators to complete the blockBuffer
+        for (GenerationPopulator populator : genpop) {
+            populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
+        }
+
         // run our generator populators
-        for (BiomeType type : uniqueBiomes) {
-            BiomeGenerationSettings settings = this.getBiomeSettings(type);
+        for (BiomeGenerationSettings settings : uniqueBiomes.values()) {
             for (GenerationPopulator populator : settings.getGenerationPopulators()) {
                 populator.populate((org.spongepowered.api.world.World) this.world, blockBuffer, biomeBuffer);
             }
         }
+        return chunkprimer;
+    }
 
-        // Assemble chunk
-        Chunk chunk;
-        if (this.baseGenerator instanceof SpongeGenerationPopulator && ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk() != null) {
-            chunk = ((SpongeGenerationPopulator) this.baseGenerator).getCachedChunk();
-            ((ChunkBridge) chunk).bridge$fill(chunkprimer);
-        } else {
-            chunk = new Chunk(this.world, chunkprimer, chunkX, chunkZ);
-            this.cachedBiomes.fill(chunk.getBiomeArray());
+    /**
+     * Gets the number of chunks whose terrain may be generated ahead of time
+     * through {@link #prepareTerrain(int, int)}, which is {@code 0} if terrain
+     * can not be generated off the main thread for this world.
+     *
+     * @return The number of chunks
+     */
+    public int getTerrainReadAhead() {
+        final WorldCategory config = ((WorldInfoBridge) this.world.getWorldInfo()).bridge$getConfigAdapter().getConfig().getWorld();
+        // Subclasses may generate chunks differently, and would never pick up the prepared terrain
+        if (!config.isAsyncTerrainGeneration() || this.getClass() != SpongeChunkGenerator.class
+                || !TerrainReadAhead.isThreadSafe(this.baseGenerator) || !TerrainReadAhead.isThreadSafe(this.biomeGenerator)
+                || !TerrainReadAhead.isThreadSafe(this.genpop)) {
+            return 0;
+        }
+        return config.getAsyncTerrainGenerationReadAhead();
+    }
+
+    public boolean isTerrainPrepared(int chunkX, int chunkZ) {
+        return this.preparedTerrain.contains(chunkX, chunkZ);
+    }
+
+    /**
+     * Starts generating the terrain of the given chunk on a worker thread.
+     * The chunk is created from the terrain once it is requested through
+     * {@link #generateChunk(int, int)}. When more chunks than
+     * {@link #getTerrainReadAhead()} are prepared, the chunks which were
+     * requested first are discarded.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return Whether the terrain of the chunk is being prepared
+     */
+    public boolean prepareTerrain(int chunkX, int chunkZ) {
+        if (this.preparedTerrain.contains(chunkX, chunkZ)) {
+            return true;
+        }
+        final int readAhead = this.getTerrainReadAhead();
+        if (readAhead <= 0) {
+            return false;
+        }
+        // Snapshot the generators, so changes on the main thread don't affect chunks being generated
+        final GenerationPopulator base = this.baseGenerator;
+        final List<GenerationPopulator> genpop = ImmutableList.copyOf(this.genpop);
+        final BiomeGenerator biomeGenerator = this.biomeGenerator;
+        this.preparedTerrain.prepare(chunkX, chunkZ, readAhead, () -> {
+            final ObjectArrayMutableBiomeBuffer biomes = new ObjectArrayMutableBiomeBuffer(Vector3i.ZERO, CHUNK_AREA);
+            final ChunkPrimer primer = this.generateTerrain(chunkX, chunkZ, base, genpop, biomeGenerator, biomes, new Random(),
+                    new double[256], true);
+            return new PreparedTerrain(primer, biomes);
+        }, getTerrainExecutor());
+        return true;
+    }
+
+    private static ExecutorService getTerrainExecutor() {
+        if (terrainExecutor == null) {
+            final int threads = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().getAsyncTerrainGenerationThreads();
+            terrainExecutor = Executors.newFixedThreadPool(Math.max(1, threads),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Async Terrain Generator #%d").setDaemon(true).build());
+        }
+        return terrainExecutor;
+    }
+
+    private static final class PreparedTerrain {
+
+        // Null if the terrain has to be generated on the main thread
+        @Nullable final ChunkPrimer primer;
+        final ObjectArrayMutableBiomeBuffer biomes;
+
+        PreparedTerrain(@Nullable ChunkPrimer primer, ObjectArrayMutableBiomeBuffer biomes) {
+            this.primer = primer;
+            this.biomes = biomes;
         }
-        chunk.generateSkylightMap();
-        return chunk;
     }
 
     @Override
@@ -542,14 +669,19 @@ public void recreateStructures(Chunk chunkIn, int x, int z) {
     }
 
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes) {
+        this.replaceBiomeBlocks(world, rand, x, z, chunk, biomes, this.stoneNoise, null);
+    }
+
+    private void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeVolume biomes, double[] stoneNoise,
+            @Nullable Map<BiomeType, BiomeGenerationSettings> settings) {
         double d0 = 0.03125D;
-        this.stoneNoise = this.noise4.getRegion(this.stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
+        stoneNoise = this.noise4.getRegion(stoneNoise, x * 16, z * 16, 16, 16, d0 * 2.0D, d0 * 2.0D, 1.0D);
         Vector3i min = biomes.getBiomeMin();
         for (int x0 = 0; x0 < 16; ++x0) {
             for (int z0 = 0; z0 < 16; ++z0) {
                 BiomeType biomegenbase = biomes.getBiome(min.getX() + x0, 0, min.getZ() + z0);
-                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, this.stoneNoise[x0 + z0 * 16],
-                        this.getBiomeSettings(biomegenbase).getGroundCoverLayers());
+                this.generateBiomeTerrain(world, rand, chunk, x * 16 + x0, z * 16 + z0, stoneNoise[x0 + z0 * 16],
+                        (settings == null ? this.getBiomeSettings(biomegenbase) : settings.get(biomegenbase)).getGroundCoverLayers());
             }
         }
     }
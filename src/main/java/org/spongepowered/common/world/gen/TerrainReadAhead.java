@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * The chunks whose terrain a {@link SpongeChunkGenerator} generates ahead of
+ * time, in the order they were requested. Only accessed from the main
+ * thread.
+ *
+ * @param <T> The type of the generated terrain
+ */
+final class TerrainReadAhead<T> {
+
+    private final Long2ObjectLinkedOpenHashMap<CompletableFuture<T>> chunks = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Gets whether the given generator has opted in to being used off the
+     * main thread through {@link ThreadSafeGenerator}.
+     */
+    static boolean isThreadSafe(Object generator) {
+        return generator instanceof ThreadSafeGenerator;
+    }
+
+    static boolean isThreadSafe(List<?> generators) {
+        for (Object generator : generators) {
+            if (!isThreadSafe(generator)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean contains(int chunkX, int chunkZ) {
+        return this.chunks.containsKey(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    int size() {
+        return this.chunks.size();
+    }
+
+    /**
+     * Starts generating the terrain of the given chunk with the executor,
+     * unless it is already being generated. The chunks which were requested
+     * first are discarded to stay within the limit.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @param limit The maximum number of chunks generated ahead of time
+     * @param terrain Generates the terrain
+     * @param executor The executor to generate the terrain on
+     */
+    void prepare(int chunkX, int chunkZ, int limit, Supplier<T> terrain, Executor executor) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.chunks.containsKey(key)) {
+            return;
+        }
+        while (!this.chunks.isEmpty() && this.chunks.size() >= limit) {
+            this.chunks.removeFirst().cancel(false);
+        }
+        this.chunks.put(key, CompletableFuture.supplyAsync(terrain, executor));
+    }
+
+    /**
+     * Removes the terrain of the given chunk, waiting for it to be generated
+     * if necessary.
+     *
+     * @param chunkX The chunk x coordinate
+     * @param chunkZ The chunk z coordinate
+     * @return The terrain, or null if it wasn't generated ahead of time and
+     *     has to be generated on the main thread
+     */
+    @Nullable
+    T take(int chunkX, int chunkZ) {
+        final CompletableFuture<T> future = this.chunks.remove(ChunkPos.asLong(chunkX, chunkZ));
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Discards the terrain of all chunks, for example because the generators
+     * it was generated with have been replaced.
+     */
+    void discard() {
+        for (CompletableFuture<T> future : this.chunks.values()) {
+            future.cancel(false);
+        }
+        this.chunks.clear();
+    }
+}
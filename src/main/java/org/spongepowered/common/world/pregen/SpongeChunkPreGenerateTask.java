@@ -28,8 +28,12 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.flowpowered.math.GenericMath;
+import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -39,6 +43,7 @@
 import org.spongepowered.api.event.world.ChunkPreGenerationEvent;
 import org.spongepowered.api.scheduler.Scheduler;
 import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.ChunkPreGenerate;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.WorldBorder;
@@ -50,9 +55,12 @@
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -64,17 +72,16 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private static final int DEFAULT_TICK_INTERVAL = 4;
     private static final float DEFAULT_TICK_PERCENT = 0.8f;
 
-    private static final Vector3i[] OFFSETS = {
-            Vector3i.UNIT_Z.negate().mul(2),
-            Vector3i.UNIT_X.mul(2),
-            Vector3i.UNIT_Z.mul(2),
-            Vector3i.UNIT_X.negate().mul(2)
-    };
+    // Chunks are visited one region file at a time so that each region is
+    // opened, filled and flushed in one go instead of being revisited on
+    // every layer of a spiral.
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
 
     private final Scheduler scheduler;
 
     private final World world;
-    private final Predicate<Vector3i> doesChunkExistCheck;
+    @Nullable private final Predicate<Vector3i> doesChunkExistCheck;
     private final int chunkRadius;
     private final int chunkCount;
     private final float tickPercent;
@@ -83,16 +90,39 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private final int totalChunksToGenerate;
     private final Task spongeTask;
     private final int tickInterval;
+    private final boolean useIdleTicks;
     private final Object plugin;
 
     // If null, no listeners have been assigned, so they don't need to be registered or unregistered.
     @Nullable private final EventListener<ChunkPreGenerationEvent> eventListener;
 
-    private Vector3i currentPosition;
-    private int currentGenCount;
-    private int currentLayer;
-    private int currentIndex;
-    private int nextJump;
+    // The chunk bounds of the whole area, inclusive.
+    private final int minChunkX;
+    private final int maxChunkX;
+    private final int minChunkZ;
+    private final int maxChunkZ;
+
+    // Region coordinates ordered by their distance to the center region.
+    private final List<Vector2i> regions;
+    private int regionIndex;
+
+    // The chunk bounds of the current region clipped to the area, inclusive.
+    private int regionMinX;
+    private int regionMaxX;
+    private int regionMinZ;
+    private int regionMaxZ;
+    private int cursorX;
+    private int cursorZ;
+
+    // Which chunks of the current and the next region already exist on disk. The
+    // lookup for the next region runs asynchronously while the current one is generated.
+    @Nullable private CompletableFuture<BitSet> regionExistence;
+    @Nullable private CompletableFuture<BitSet> nextRegionExistence;
+    @Nullable private BitSet resolvedRegionExistence;
+
+    // Chunks loaded by this task for the current region, these are queued for
+    // unloading (and thus saving) once the region is done.
+    private final Long2ObjectMap<Chunk> loadedChunks = new Long2ObjectOpenHashMap<>();
 
     private int chunksSkipped = 0;
     private int chunksGenerated = 0;
@@ -103,8 +133,8 @@ public class SpongeChunkPreGenerateTask implements ChunkPreGenerate, Consumer<Ta
     private boolean isCancelled = false;
 
     private SpongeChunkPreGenerateTask(Object plugin,
-            World world, Vector3d center, double diameter, int chunkCount, float tickPercent, int tickInterval, Cause cause,
-            List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
+            World world, Vector3d center, double diameter, int chunkCount, float tickPercent, int tickInterval, boolean useIdleTicks,
+            Cause cause, List<Consumer<ChunkPreGenerationEvent>> eventListeners) {
 
         this.scheduler = Sponge.getScheduler();
         int preferredTickInterval = this.scheduler.getPreferredTickInterval();
@@ -120,7 +150,7 @@ private SpongeChunkPreGenerateTask(Object plugin,
         if (world.getWorldStorage() instanceof ChunkProviderServerBridge) {
             this.doesChunkExistCheck = this::checkChunkExistsAnvil;
         } else {
-            this.doesChunkExistCheck = v -> false;
+            this.doesChunkExistCheck = null;
         }
 
         this.chunkRadius = GenericMath.floor(diameter / 32);
@@ -129,19 +159,23 @@ private SpongeChunkPreGenerateTask(Object plugin,
         this.tickTimeLimit = Math.round(preferredTickInterval * tickPercent);
         this.cause = cause;
         this.tickInterval = tickInterval;
-        final Optional<Vector3i> currentPosition = SpongeChunkLayout.instance.toChunk(center.toInt());
-        if (currentPosition.isPresent()) {
-            this.currentPosition = currentPosition.get();
-        } else {
+        this.useIdleTicks = useIdleTicks;
+        final Optional<Vector3i> centerChunk = SpongeChunkLayout.instance.toChunk(center.toInt());
+        if (!centerChunk.isPresent()) {
             throw new IllegalArgumentException("Center is not a valid chunk coordinate");
         }
-        this.currentGenCount = 4;
-        this.currentLayer = 0;
-        this.currentIndex = 0;
-        this.nextJump = 0;
+        this.minChunkX = centerChunk.get().getX() - this.chunkRadius;
+        this.maxChunkX = centerChunk.get().getX() + this.chunkRadius;
+        this.minChunkZ = centerChunk.get().getZ() - this.chunkRadius;
+        this.maxChunkZ = centerChunk.get().getZ() + this.chunkRadius;
+        this.regions = sortRegions(this.minChunkX, this.maxChunkX, this.minChunkZ, this.maxChunkZ,
+                centerChunk.get().getX() >> REGION_SHIFT, centerChunk.get().getZ() >> REGION_SHIFT);
 
         this.totalChunksToGenerate = (int) Math.pow(this.chunkRadius * 2 + 1, 2);
 
+        this.nextRegionExistence = this.lookupRegionExistence(0);
+        this.startRegion(0);
+
         this.spongeTask = this.scheduler
                 .createTaskBuilder()
                 .intervalTicks(tickInterval)
@@ -185,6 +219,35 @@ public Duration getTotalTime() {
         return Duration.of((isCancelled() ? this.generationEndTime : System.currentTimeMillis()) - this.generationStartTime, ChronoUnit.MILLIS);
     }
 
+    /**
+     * Gets the average amount of chunks that were processed, either
+     * generated or skipped, per second since the task started.
+     *
+     * @return The chunks per second
+     */
+    public double getChunksPerSecond() {
+        final long millis = getTotalTime().toMillis();
+        if (this.generationStartTime == 0 || millis <= 0) {
+            return 0;
+        }
+        return (this.chunksGenerated + this.chunksSkipped) * 1000.0 / millis;
+    }
+
+    /**
+     * Gets the estimated time until all chunks are processed, based on
+     * the average rate so far.
+     *
+     * @return The estimated remaining time, if a rate is known yet
+     */
+    public Optional<Duration> getEstimatedTimeRemaining() {
+        final double chunksPerSecond = getChunksPerSecond();
+        if (chunksPerSecond <= 0) {
+            return Optional.empty();
+        }
+        final int remaining = this.totalChunksToGenerate - this.chunksGenerated - this.chunksSkipped;
+        return Optional.of(Duration.ofMillis(Math.round(Math.max(0, remaining) * 1000 / chunksPerSecond)));
+    }
+
     @Override
     public boolean isCancelled() {
         if (this.isCancelled) {
@@ -237,31 +300,25 @@ public void accept(Task task) {
             return;
         }
 
-        // Count how many chunks are generated during the tick
+        // If enabled, with nobody online there is no gameplay to keep smooth, so the step may
+        // use its share of every tick until the next run instead of just the one it runs in.
+        final long stepTimeLimit = this.useIdleTicks && Sponge.getServer().getOnlinePlayers().isEmpty()
+                ? this.tickTimeLimit * this.tickInterval : this.tickTimeLimit;
+
+        // Count how many chunks are generated during the tick. The chunks per tick limit
+        // applies to every chunk that is loaded, including the neighbours of generated chunks.
         int count = 0;
+        int loaded = 0;
         int skipped = 0;
-        do {
-            final Vector3i position = nextChunkPosition();
-            final Vector3i pos1 = position.sub(Vector3i.UNIT_X);
-            final Vector3i pos2 = position.sub(Vector3i.UNIT_Z);
-            final Vector3i pos3 = pos2.sub(Vector3i.UNIT_X);
-
-            // We can only skip generation if all chunks are loaded.
-            if (!areAllChunksLoaded(position, pos1, pos2, pos3)) {
-
-                // At least one chunk isn't generated, so to populate, we need to load them all.
-                this.world.loadChunk(position, true);
-                this.world.loadChunk(pos1, true);
-                this.world.loadChunk(pos2, true);
-                this.world.loadChunk(pos3, true);
-
-                count += this.currentGenCount;
+        while (hasNextChunkPosition() && checkChunkCount(loaded) && checkTickTime(System.currentTimeMillis() - stepStartTime, stepTimeLimit)) {
+            if (this.doesCurrentChunkExist()) {
+                skipped++;
             } else {
-
-                // Skipped them, log this.
-                skipped += this.currentGenCount;
+                loaded += this.generateChunk(this.cursorX, this.cursorZ);
+                count++;
             }
-        } while (hasNextChunkPosition() && checkChunkCount(count) && checkTickTime(System.currentTimeMillis() - stepStartTime));
+            this.advanceChunkPosition();
+        }
 
         this.chunksGenerated += count;
         this.chunksSkipped += skipped;
@@ -296,9 +353,45 @@ public void accept(Task task) {
         }
     }
 
-    private boolean areAllChunksLoaded(Vector3i chunk1, Vector3i chunk2, Vector3i chunk3, Vector3i chunk4) {
-        return this.doesChunkExistCheck.test(chunk1) && this.doesChunkExistCheck.test(chunk2) &&
-                this.doesChunkExistCheck.test(chunk3) && this.doesChunkExistCheck.test(chunk4);
+    private int generateChunk(int chunkX, int chunkZ) {
+        // Population of a chunk only happens once all of its positive neighbours are
+        // loaded, and it may populate its negative neighbours in turn. Since regions are
+        // unloaded as soon as they are done, make sure the full neighbourhood within the
+        // area is loaded so that chunks on region edges are populated as well.
+        int loaded = 0;
+        for (int z = Math.max(chunkZ - 1, this.minChunkZ); z <= Math.min(chunkZ + 1, this.maxChunkZ); z++) {
+            for (int x = Math.max(chunkX - 1, this.minChunkX); x <= Math.min(chunkX + 1, this.maxChunkX); x++) {
+                if ((x != chunkX || z != chunkZ) && this.loadChunk(x, z)) {
+                    loaded++;
+                }
+            }
+        }
+        if (this.loadChunk(chunkX, chunkZ)) {
+            loaded++;
+        }
+        return loaded;
+    }
+
+    private boolean loadChunk(int chunkX, int chunkZ) {
+        final long key = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.loadedChunks.containsKey(key) || this.world.getChunk(chunkX, 0, chunkZ).isPresent()) {
+            // Chunks that were already loaded are left alone, someone else is using them.
+            return false;
+        }
+        final Optional<Chunk> chunk = this.world.loadChunk(chunkX, 0, chunkZ, true);
+        chunk.ifPresent(loadedChunk -> this.loadedChunks.put(key, loadedChunk));
+        return chunk.isPresent();
+    }
+
+    private void unloadChunks() {
+        // Queued unloads are processed by the world tick and saved through the
+        // chunk loader's IO thread, so they overlap with generating the next region.
+        for (Chunk chunk : this.loadedChunks.values()) {
+            if (chunk.isLoaded()) {
+                chunk.unloadChunk();
+            }
+        }
+        this.loadedChunks.clear();
     }
 
     private void unregisterListener() {
@@ -315,41 +408,105 @@ private void cancelTask(Task task) {
         }
 
         this.isCancelled = true;
+        unloadChunks();
         unregisterListener();
     }
 
     private boolean hasNextChunkPosition() {
-        return this.currentLayer <= this.chunkRadius;
+        return this.regionIndex < this.regions.size();
     }
 
-    private Vector3i nextChunkPosition() {
-        final Vector3i nextPosition = this.currentPosition;
-        final int currentLayerIndex;
-        if (this.currentIndex >= this.nextJump) {
-            // Reached end of layer, jump to the next so we can keep spiralling
-            this.currentPosition = this.currentPosition.sub(Vector3i.UNIT_X).sub(Vector3i.UNIT_Z);
-            this.currentLayer++;
-            // Each the jump increment increases by 4 at each new layer
-            this.nextJump += this.currentLayer * 4;
-            currentLayerIndex = 1;
-        } else {
-            // Get the current index since the last jump
-            currentLayerIndex = this.currentIndex - (this.nextJump - this.currentLayer * 4);
-            // Move to next position in layer, by following a square
-            this.currentPosition = this.currentPosition.add(OFFSETS[currentLayerIndex / this.currentLayer]);
-        }
-        // If we're at the corner it's 3, else 2 for an edge
-        this.currentGenCount = currentLayerIndex % this.currentLayer == 0 ? 3 : 2;
-        this.currentIndex++;
-        return nextPosition;
+    private void advanceChunkPosition() {
+        if (++this.cursorX > this.regionMaxX) {
+            this.cursorX = this.regionMinX;
+            if (++this.cursorZ > this.regionMaxZ) {
+                unloadChunks();
+                startRegion(this.regionIndex + 1);
+            }
+        }
+    }
+
+    private void startRegion(int index) {
+        this.regionIndex = index;
+        this.regionExistence = this.nextRegionExistence;
+        this.resolvedRegionExistence = null;
+        if (index >= this.regions.size()) {
+            this.nextRegionExistence = null;
+            return;
+        }
+        final Vector2i region = this.regions.get(index);
+        this.regionMinX = Math.max(region.getX() << REGION_SHIFT, this.minChunkX);
+        this.regionMaxX = Math.min((region.getX() << REGION_SHIFT) + REGION_MASK, this.maxChunkX);
+        this.regionMinZ = Math.max(region.getY() << REGION_SHIFT, this.minChunkZ);
+        this.regionMaxZ = Math.min((region.getY() << REGION_SHIFT) + REGION_MASK, this.maxChunkZ);
+        this.cursorX = this.regionMinX;
+        this.cursorZ = this.regionMinZ;
+        this.nextRegionExistence = lookupRegionExistence(index + 1);
+    }
+
+    @Nullable
+    private CompletableFuture<BitSet> lookupRegionExistence(int index) {
+        if (index >= this.regions.size()) {
+            return null;
+        }
+        if (this.doesChunkExistCheck == null) {
+            return CompletableFuture.completedFuture(new BitSet());
+        }
+        final Vector2i region = this.regions.get(index);
+        final int fromX = Math.max(region.getX() << REGION_SHIFT, this.minChunkX);
+        final int toX = Math.min((region.getX() << REGION_SHIFT) + REGION_MASK, this.maxChunkX);
+        final int fromZ = Math.max(region.getY() << REGION_SHIFT, this.minChunkZ);
+        final int toZ = Math.min((region.getY() << REGION_SHIFT) + REGION_MASK, this.maxChunkZ);
+        return SpongeImpl.getScheduler().submitAsyncTask(() -> {
+            final BitSet existing = new BitSet((REGION_MASK + 1) * (REGION_MASK + 1));
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    if (this.doesChunkExistCheck.test(new Vector3i(x, 0, z))) {
+                        existing.set(regionIndex(x, z));
+                    }
+                }
+            }
+            return existing;
+        });
+    }
+
+    private boolean doesCurrentChunkExist() {
+        if (this.resolvedRegionExistence == null) {
+            try {
+                this.resolvedRegionExistence = checkNotNull(this.regionExistence, "regionExistence").join();
+            } catch (CompletionException e) {
+                SpongeImpl.getLogger().error("Could not determine which chunks exist in region {} {} of world {}. Assuming none.",
+                        this.cursorX >> REGION_SHIFT, this.cursorZ >> REGION_SHIFT, this.world.getName(), e.getCause());
+                this.resolvedRegionExistence = new BitSet();
+            }
+        }
+        return this.resolvedRegionExistence.get(regionIndex(this.cursorX, this.cursorZ));
+    }
+
+    private static int regionIndex(int chunkX, int chunkZ) {
+        return (chunkZ & REGION_MASK) << REGION_SHIFT | (chunkX & REGION_MASK);
+    }
+
+    private static List<Vector2i> sortRegions(int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ, int centerX, int centerZ) {
+        final List<Vector2i> regions = new ArrayList<>();
+        for (int z = minChunkZ >> REGION_SHIFT; z <= maxChunkZ >> REGION_SHIFT; z++) {
+            for (int x = minChunkX >> REGION_SHIFT; x <= maxChunkX >> REGION_SHIFT; x++) {
+                regions.add(new Vector2i(x, z));
+            }
+        }
+        // Work outwards from the center, like the spiral did on a chunk level.
+        regions.sort(Comparator
+                .comparingInt((Vector2i region) -> Math.max(Math.abs(region.getX() - centerX), Math.abs(region.getY() - centerZ)))
+                .thenComparingInt(region -> region.distanceSquared(centerX, centerZ)));
+        return regions;
     }
 
     private boolean checkChunkCount(int count) {
         return this.chunkCount <= 0 || count < this.chunkCount;
     }
 
-    private boolean checkTickTime(long tickTime) {
-        return this.tickPercent <= 0 || tickTime < this.tickTimeLimit;
+    private boolean checkTickTime(long tickTime, long limit) {
+        return this.tickPercent <= 0 || tickTime < limit;
     }
 
     private boolean checkChunkExistsAnvil(Vector3i v) {
@@ -367,6 +524,7 @@ private boolean checkChunkExistsAnvil(Vector3i v) {
     public static class Builder implements ChunkPreGenerate.Builder {
 
         private static final String TIME_FORMAT = "s's 'S'ms'";
+        private static final String ETA_FORMAT = "H'h 'm'm 's's'";
 
         private final World world;
         private final Vector3d center;
@@ -377,6 +535,7 @@ public static class Builder implements ChunkPreGenerate.Builder {
         private int tickInterval = DEFAULT_TICK_INTERVAL;
         private float tickPercent = DEFAULT_TICK_PERCENT;
         private int chunksPerTick = 0;
+        private boolean useIdleTicks = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().useIdleTicksForChunkPreGen();
 
         public Builder(World world, Vector3d center, double diameter) {
             this.world = world;
@@ -401,11 +560,15 @@ public ChunkPreGenerate.Builder logger(@Nullable Logger logger) {
                 this.addListener(event -> {
                     if (event instanceof ChunkPreGenerationEvent.Post) {
                         ChunkPreGenerationEvent.Post post = (ChunkPreGenerationEvent.Post) event;
-                        logger.info("Generated {} chunks in {}, {}% complete", post.getChunksGeneratedThisStep(),
+                        final SpongeChunkPreGenerateTask task = (SpongeChunkPreGenerateTask) post.getChunkPreGenerate();
+                        logger.info("Generated {} chunks in {}, {}% complete, {} chunks/s, ETA {}", post.getChunksGeneratedThisStep(),
                             DurationFormatUtils.formatDuration(post.getTimeTakenForStep().toMillis(), TIME_FORMAT, false),
                             GenericMath.floor(
-                                100 * (post.getChunkPreGenerate().getTotalGeneratedChunks() + post.getChunkPreGenerate().getTotalSkippedChunks())
-                                    / post.getChunkPreGenerate().getTargetTotalChunks())
+                                100 * (task.getTotalGeneratedChunks() + task.getTotalSkippedChunks()) / task.getTargetTotalChunks()),
+                            String.format("%.1f", task.getChunksPerSecond()),
+                            task.getEstimatedTimeRemaining()
+                                .map(eta -> DurationFormatUtils.formatDuration(eta.toMillis(), ETA_FORMAT, false))
+                                .orElse("unknown")
                         );
                     } else if (event instanceof ChunkPreGenerationEvent.Complete) {
                         logger.info("Done! Generated a total of {} chunks in {}", event.getChunkPreGenerate().getTargetTotalChunks(),
@@ -438,6 +601,19 @@ public ChunkPreGenerate.Builder tickPercentLimit(float tickPercent) {
             return this;
         }
 
+        /**
+         * Sets whether a step may use the tick percent limit of every tick
+         * since the last step while no players are online, rather than only
+         * of the tick it runs in.
+         *
+         * @param useIdleTicks Whether to use idle ticks
+         * @return This builder, for chaining
+         */
+        public Builder useIdleTicks(boolean useIdleTicks) {
+            this.useIdleTicks = useIdleTicks;
+            return this;
+        }
+
         @Override
         public ChunkPreGenerate.Builder addListener(Consumer<ChunkPreGenerationEvent> listener) {
             checkNotNull(listener, "listener cannot be null");
@@ -453,7 +629,7 @@ public ChunkPreGenerate start() {
             Cause cause = Sponge.getCauseStackManager().getCurrentCause();
             Sponge.getCauseStackManager().popCause();
             return new SpongeChunkPreGenerateTask(this.plugin, this.world, this.center, this.diameter, this.chunksPerTick, this.tickPercent,
-                    this.tickInterval, cause, this.eventListeners);
+                    this.tickInterval, this.useIdleTicks, cause, this.eventListeners);
         }
 
         @Override
@@ -465,6 +641,7 @@ public ChunkPreGenerate.Builder from(ChunkPreGenerate value) {
             final SpongeChunkPreGenerateTask other = (SpongeChunkPreGenerateTask) value;
             // Bypass null check
             this.plugin = other.plugin;
+            this.useIdleTicks = other.useIdleTicks;
             return tickInterval(other.tickInterval)
                     .chunksPerTick(other.chunkCount)
                     .tickPercentLimit(other.tickPercent);
@@ -476,6 +653,7 @@ public ChunkPreGenerate.Builder reset() {
             this.tickInterval = 0;
             this.chunksPerTick = 0;
             this.tickPercent = DEFAULT_TICK_PERCENT;
+            this.useIdleTicks = SpongeImpl.getGlobalConfigAdapter().getConfig().getWorld().useIdleTicksForChunkPreGen();
             this.eventListeners.clear();
             return this;
         }
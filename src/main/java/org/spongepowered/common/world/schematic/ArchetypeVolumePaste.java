@@ -0,0 +1,218 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.bridge.server.management.PlayerChunkMapEntryBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.entity.TrackedBlockPositions;
+import org.spongepowered.common.mixin.core.world.chunk.ChunkAccessor;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Pastes the blocks of an archetype volume directly into the block storage
+ * of the chunks they end up in, chunk by chunk. Unlike placing every block
+ * through the world this skips the phase tracker, block physics and
+ * neighbour notifications. Heightmaps are recalculated once per chunk, the
+ * light is only rechecked where the light or opacity of a block changed,
+ * and the changed sections are resent to the players on the next update
+ * of the chunk.
+ *
+ * <p>If the blocks are backed by an {@link ArrayMutableBlockBuffer}, the
+ * block states are resolved through its palette once per palette id rather
+ * than once per block.</p>
+ */
+final class ArchetypeVolumePaste {
+
+    private final SpongeArchetypeVolume volume;
+    private final BlockVolume blocks;
+    @Nullable private final ArrayMutableBlockBuffer buffer;
+    private final Location<World> location;
+    private final WorldServer world;
+
+    // The bounds of the paste in the world, clamped to the height of the world
+    private final Vector3i min;
+    private final Vector3i max;
+
+    // The block states of the palette ids of the buffer resolved so far
+    @Nullable private Palette<BlockState> statePalette;
+    private IBlockState[] statesById = new IBlockState[0];
+
+    // The positions of the current chunk which need their light to be rechecked
+    private final LongArrayList blockLightChanges = new LongArrayList();
+    private final LongArrayList skyLightChanges = new LongArrayList();
+
+    ArchetypeVolumePaste(SpongeArchetypeVolume volume, BlockVolume blocks, Location<World> location) {
+        this.volume = volume;
+        this.blocks = blocks;
+        this.buffer = blocks instanceof ArrayMutableBlockBuffer ? (ArrayMutableBlockBuffer) blocks : null;
+        this.location = location;
+        this.world = (WorldServer) location.getExtent();
+        final Vector3i offset = location.getBlockPosition();
+        this.min = blocks.getBlockMin().add(offset).max(Integer.MIN_VALUE, 0, Integer.MIN_VALUE);
+        this.max = blocks.getBlockMax().add(offset).min(Integer.MAX_VALUE, this.world.getHeight() - 1, Integer.MAX_VALUE);
+    }
+
+    void run() {
+        if (this.min.getY() <= this.max.getY()) {
+            for (int chunkZ = this.min.getZ() >> 4; chunkZ <= this.max.getZ() >> 4; chunkZ++) {
+                for (int chunkX = this.min.getX() >> 4; chunkX <= this.max.getX() >> 4; chunkX++) {
+                    pasteChunk(chunkX, chunkZ);
+                }
+            }
+        }
+        this.volume.applyArchetypes(this.location);
+    }
+
+    private void pasteChunk(int chunkX, int chunkZ) {
+        final Chunk chunk = this.world.getChunk(chunkX, chunkZ);
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        final boolean skyLight = this.world.provider.hasSkyLight();
+        final int offsetX = this.location.getBlockX();
+        final int offsetY = this.location.getBlockY();
+        final int offsetZ = this.location.getBlockZ();
+        final int minX = Math.max(this.min.getX(), chunkX << 4);
+        final int maxX = Math.min(this.max.getX(), (chunkX << 4) + 15);
+        final int minZ = Math.max(this.min.getZ(), chunkZ << 4);
+        final int maxZ = Math.min(this.max.getZ(), (chunkZ << 4) + 15);
+        final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        final int[] precipitationHeightMap = ((ChunkAccessor) chunk).accessor$getPrecipitationHeightMap();
+        final TrackedBlockPositions trackedPositions = ((ChunkBridge) chunk).bridge$getTrackedBlockPositions();
+        // Only chunks tracking block owners have mutable positions
+        final boolean tracked = trackedPositions != TrackedBlockPositions.EMPTY && !trackedPositions.isEmpty();
+        int changedSections = 0;
+
+        for (int sectionY = this.min.getY() >> 4; sectionY <= this.max.getY() >> 4; sectionY++) {
+            ExtendedBlockStorage section = sections[sectionY];
+            final int minY = Math.max(this.min.getY(), sectionY << 4);
+            final int maxY = Math.min(this.max.getY(), (sectionY << 4) + 15);
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        final IBlockState state = getState(x - offsetX, y - offsetY, z - offsetZ);
+                        if (section == Chunk.NULL_BLOCK_STORAGE) {
+                            if (state == Blocks.AIR.getDefaultState()) {
+                                continue;
+                            }
+                            section = new ExtendedBlockStorage(sectionY << 4, skyLight);
+                            sections[sectionY] = section;
+                        }
+                        final IBlockState oldState = section.get(x & 15, y & 15, z & 15);
+                        if (oldState == state) {
+                            continue;
+                        }
+                        pos.setPos(x, y, z);
+                        final int oldLight = SpongeImplHooks.getChunkPosLight(oldState, this.world, pos);
+                        final int oldOpacity = SpongeImplHooks.getBlockLightOpacity(oldState, this.world, pos);
+                        if (SpongeImplHooks.hasBlockTileEntity(oldState.getBlock(), oldState)) {
+                            this.world.removeTileEntity(pos);
+                        }
+                        // The owner and notifier of the replaced block don't apply to the pasted one
+                        if (tracked) {
+                            trackedPositions.remove(pos);
+                        }
+                        section.set(x & 15, y & 15, z & 15, state);
+                        final boolean opacityChanged = SpongeImplHooks.getBlockLightOpacity(state, this.world, pos) != oldOpacity;
+                        if (opacityChanged || SpongeImplHooks.getChunkPosLight(state, this.world, pos) != oldLight) {
+                            this.blockLightChanges.add(pos.toLong());
+                        }
+                        if (opacityChanged && skyLight) {
+                            this.skyLightChanges.add(pos.toLong());
+                        }
+                        // Same as Chunk#setBlockState, the precipitation height is recalculated on its next use
+                        final int column = (z & 15) << 4 | (x & 15);
+                        if (y >= precipitationHeightMap[column] - 1) {
+                            precipitationHeightMap[column] = -999;
+                        }
+                        changedSections |= 1 << sectionY;
+                    }
+                }
+            }
+        }
+
+        if (changedSections == 0) {
+            return;
+        }
+        // The sky light of the columns is recalculated right away, then the light
+        // around the blocks that gained or lost light or opacity is rechecked.
+        // This goes through the async lighting engine if it's enabled.
+        chunk.generateSkylightMap();
+        relight(EnumSkyBlock.BLOCK, this.blockLightChanges);
+        relight(EnumSkyBlock.SKY, this.skyLightChanges);
+        chunk.markDirty();
+        final PlayerChunkMapEntry entry = this.world.getPlayerChunkMap().getEntry(chunkX, chunkZ);
+        if (entry != null) {
+            ((PlayerChunkMapEntryBridge) entry).bridge$markSectionsForUpdate(changedSections);
+        }
+    }
+
+    private void relight(EnumSkyBlock lightType, LongArrayList positions) {
+        for (int i = 0; i < positions.size(); i++) {
+            this.world.checkLightFor(lightType, BlockPos.fromLong(positions.getLong(i)));
+        }
+        positions.clear();
+    }
+
+    private IBlockState getState(int x, int y, int z) {
+        if (this.buffer == null) {
+            return (IBlockState) this.blocks.getBlock(x, y, z);
+        }
+        // The states are resolved through the palette the buffer uses now
+        final Palette<BlockState> palette = this.buffer.getPalette();
+        if (palette != this.statePalette) {
+            this.statePalette = palette;
+            this.statesById = new IBlockState[palette.getHighestId() + 1];
+        }
+        final int id = this.buffer.getBlockId(x, y, z);
+        if (id >= this.statesById.length) {
+            this.statesById = Arrays.copyOf(this.statesById, id + 1);
+        }
+        IBlockState state = this.statesById[id];
+        if (state == null) {
+            state = (IBlockState) palette.get(id).orElse((BlockState) Blocks.AIR.getDefaultState());
+            this.statesById[id] = state;
+        }
+        return state;
+    }
+}
@@ -24,36 +24,39 @@
  */
 package org.spongepowered.common.world.schematic;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.api.world.schematic.PaletteType;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public class BimapPalette<T extends CatalogType> implements Palette<T> {
 
     private static final int DEFAULT_ALLOCATION_SIZE = 64;
 
-    private final BiMap<Integer, T> ids;
-    private final BiMap<T, Integer> idsr;
+    // Indexed by id, null where no type is assigned
+    private Object[] ids;
+    // Catalog types are singletons, so they can be looked up by identity
+    private final Reference2IntOpenHashMap<T> idsr;
     private final BitSet allocation = new BitSet(DEFAULT_ALLOCATION_SIZE);
     private final PaletteType<T> paletteType;
     private int maxId = 0;
 
     public BimapPalette(PaletteType<T> paletteType) {
-        this.ids = HashBiMap.create();
-        this.idsr = this.ids.inverse();
-        this.paletteType = paletteType;
+        this(paletteType, DEFAULT_ALLOCATION_SIZE);
     }
 
     public BimapPalette(PaletteType<T> paletteType, int expectedSize) {
-        this.ids = HashBiMap.create(expectedSize);
-        this.idsr = this.ids.inverse();
+        this.ids = new Object[Math.max(expectedSize, 1)];
+        this.idsr = new Reference2IntOpenHashMap<>(expectedSize);
+        this.idsr.defaultReturnValue(-1);
         this.paletteType = paletteType;
     }
 
@@ -69,27 +72,42 @@ public int getHighestId() {
 
     @Override
     public Optional<Integer> get(T state) {
-        return Optional.ofNullable(this.idsr.get(state));
+        final int id = this.idsr.getInt(state);
+        return id == -1 ? Optional.empty() : Optional.of(id);
     }
 
     @Override
     public int getOrAssign(T state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
-            int next = this.allocation.nextClearBit(0);
-            if (this.maxId < next) {
-                this.maxId = next;
-            }
-            this.allocation.set(next);
-            this.ids.put(next, state);
-            return next;
+        final int id = this.idsr.getInt(state);
+        if (id != -1) {
+            return id;
+        }
+        final int next = this.allocation.nextClearBit(0);
+        if (this.maxId < next) {
+            this.maxId = next;
         }
-        return id;
+        this.allocation.set(next);
+        this.set(next, state);
+        this.idsr.put(state, next);
+        return next;
     }
 
     @Override
     public Optional<T> get(int id) {
-        return Optional.ofNullable(this.ids.get(id));
+        return Optional.ofNullable(this.getNullable(id));
+    }
+
+    /**
+     * Gets the type with the given id, without wrapping it in an
+     * {@link Optional}.
+     *
+     * @param id The id
+     * @return The type, or null if no type has the id
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public T getNullable(int id) {
+        return id >= 0 && id < this.ids.length ? (T) this.ids[id] : null;
     }
 
     public void assign(T state, int id) {
@@ -97,20 +115,65 @@ public void assign(T state, int id) {
             this.maxId = id;
         }
         this.allocation.set(id);
-        this.ids.put(id, state);
+        final T previous = this.getNullable(id);
+        this.set(id, state);
+        if (previous != null && previous != state && this.idsr.getInt(previous) == id) {
+            // The previous type may still be assigned to other ids
+            final int other = this.findId(previous);
+            if (other == -1) {
+                this.idsr.removeInt(previous);
+            } else {
+                this.idsr.put(previous, other);
+            }
+        }
+        // If the type is assigned to multiple ids, which happens when unknown
+        // types are replaced while loading, it is found by the first of them
+        this.idsr.putIfAbsent(state, id);
+    }
+
+    // Types assigned to more than one id are only looked up by one of them
+    private boolean hasDuplicateIds() {
+        return this.allocation.cardinality() > this.idsr.size();
+    }
+
+    private int findId(T state) {
+        if (this.hasDuplicateIds()) {
+            for (int id = this.allocation.nextSetBit(0); id >= 0; id = this.allocation.nextSetBit(id + 1)) {
+                if (this.ids[id] == state) {
+                    return id;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void set(int id, T state) {
+        if (id >= this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, Math.max(id + 1, this.ids.length * 2));
+        }
+        this.ids[id] = state;
     }
 
     @Override
     public boolean remove(T state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.removeInt(state);
+        if (id == -1) {
             return false;
         }
         this.allocation.clear(id);
-        if (id == this.maxId) {
+        this.ids[id] = null;
+        if (this.hasDuplicateIds()) {
+            // Clear every other id the type is assigned to as well
+            for (int other = this.allocation.nextSetBit(0); other >= 0; other = this.allocation.nextSetBit(other + 1)) {
+                if (this.ids[other] == state) {
+                    this.allocation.clear(other);
+                    this.ids[other] = null;
+                }
+            }
+        }
+        if (!this.allocation.get(this.maxId)) {
             this.maxId = this.allocation.previousSetBit(this.maxId);
         }
-        this.ids.remove(id);
         return true;
     }
 
@@ -128,14 +191,25 @@ public boolean equals(Object o) {
             return false;
         }
         BimapPalette<?> that = (BimapPalette<?>) o;
-        return this.maxId == that.maxId &&
-               this.ids.equals(that.ids) &&
-               this.allocation.equals(that.allocation) &&
-               this.paletteType.equals(that.paletteType);
+        if (this.maxId != that.maxId
+            || !this.allocation.equals(that.allocation)
+            || !this.paletteType.equals(that.paletteType)) {
+            return false;
+        }
+        for (int id = 0; id <= this.maxId; id++) {
+            if (!Objects.equals(this.getNullable(id), that.getNullable(id))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.ids, this.allocation, this.paletteType, this.maxId);
+        int result = Objects.hash(this.allocation, this.paletteType, this.maxId);
+        for (int id = 0; id <= this.maxId; id++) {
+            result = 31 * result + Objects.hashCode(this.getNullable(id));
+        }
+        return result;
     }
 }
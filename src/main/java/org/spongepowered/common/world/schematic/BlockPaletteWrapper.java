@@ -31,6 +31,8 @@
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 @SuppressWarnings("deprecation")
 public class BlockPaletteWrapper implements org.spongepowered.api.world.schematic.BlockPalette {
 
@@ -58,6 +60,25 @@ public Optional<BlockState> get(int id) {
         return this.palette.get(id);
     }
 
+    /**
+     * Gets the block state with the given id, without wrapping it in an
+     * {@link Optional} if the wrapped palette allows it.
+     *
+     * @param id The id
+     * @return The block state, or null if no block state has the id
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public BlockState getNullable(int id) {
+        if (this.palette instanceof BimapPalette) {
+            return ((BimapPalette<BlockState>) this.palette).getNullable(id);
+        }
+        if (this.palette instanceof GlobalPalette) {
+            return ((GlobalPalette<BlockState>) this.palette).getNullable(id);
+        }
+        return this.palette.get(id).orElse(null);
+    }
+
     @Override
     public Optional<Integer> get(BlockState state) {
         return this.palette.get(state);
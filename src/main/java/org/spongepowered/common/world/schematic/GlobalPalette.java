@@ -40,28 +40,28 @@
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 import javax.annotation.Nullable;
 
 public class GlobalPalette<T extends CatalogType> implements Palette<T> {
 
     @Nullable
-    private static Palette<BlockState> blockPalette;
+    private static BlockPaletteWrapper blockPalette;
     @Nullable
     private static GlobalPalette<BiomeType> biomePalette;
 
-    private final Function<T, Integer> typeToInt;
+    private final ToIntFunction<T> typeToInt;
     private final IntFunction<T> intToType;
     private final PaletteType<T> paletteType;
     private final Class<T> catalogType;
     private final int length;
 
-    private GlobalPalette(PaletteType<T> paletteType, Function<T, Integer> map, IntFunction<T> identity, Class<T> catalogType) {
+    private GlobalPalette(PaletteType<T> paletteType, ToIntFunction<T> map, IntFunction<T> identity, Class<T> catalogType) {
         int highest = 0;
         for (T type : Sponge.getRegistry().getAllOf(catalogType)) {
-            int id = map.apply(type);
+            int id = map.applyAsInt(type);
             if (id > highest) {
                 highest = id;
             }
@@ -74,8 +74,10 @@ private GlobalPalette(PaletteType<T> paletteType, Function<T, Integer> map, IntF
     }
 
     @SuppressWarnings("deprecation")
-    public static Palette<BlockState> getBlockPalette() {
+    public static BlockPaletteWrapper getBlockPalette() {
         if (blockPalette == null) {
+            // Block#getStateId packs the meta above the block id, which is not the
+            // layout of the ids stored in schematics, so the id map is used directly
             blockPalette = new BlockPaletteWrapper(new GlobalPalette<>(PaletteTypes.GLOBAL_BLOCKS,
                 (type) -> Block.BLOCK_STATE_IDS.get((IBlockState) type),
                 (id) -> (BlockState) Block.BLOCK_STATE_IDS.getByValue(id),
@@ -108,17 +110,29 @@ public int getHighestId() {
 
     @Override
     public Optional<Integer> get(T type) {
-        return Optional.of(this.typeToInt.apply(type));
+        return Optional.of(this.typeToInt.applyAsInt(type));
     }
 
     @Override
     public int getOrAssign(T state) {
-        return this.typeToInt.apply(state);
+        return this.typeToInt.applyAsInt(state);
     }
 
     @Override
     public Optional<T> get(int id) {
-        return Optional.ofNullable(this.intToType.apply(id));
+        return Optional.ofNullable(this.getNullable(id));
+    }
+
+    /**
+     * Gets the type with the given id, without wrapping it in an
+     * {@link Optional}.
+     *
+     * @param id The id
+     * @return The type, or null if no type has the id
+     */
+    @Nullable
+    public T getNullable(int id) {
+        return this.intToType.apply(id);
     }
 
     @Override
@@ -30,6 +30,7 @@
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.tileentity.TileEntityArchetype;
@@ -127,9 +128,27 @@ public MutableBlockVolumeWorker<? extends ArchetypeVolume> getBlockWorker() {
 
     @Override
     public void apply(Location<World> location, BlockChangeFlag changeFlag) {
+        if (canPasteDirectly(location, changeFlag)) {
+            new ArchetypeVolumePaste(this, this.backing, location).run();
+            return;
+        }
         this.backing.getBlockWorker().iterate((v, x, y, z) -> {
             location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z), changeFlag);
         });
+        applyArchetypes(location);
+    }
+
+    /**
+     * Gets whether the blocks can be written directly into the chunks, which
+     * skips everything a block change flag could ask for besides updating
+     * the clients.
+     */
+    private static boolean canPasteDirectly(Location<World> location, BlockChangeFlag changeFlag) {
+        return location.getExtent() instanceof WorldServer && !changeFlag.updateNeighbors() && !changeFlag.performBlockPhysics()
+                && !changeFlag.notifyObservers();
+    }
+
+    void applyArchetypes(Location<World> location) {
         for (Vector3i pos : this.tiles.keySet()) {
             TileEntityArchetype archetype = this.tiles.get(pos);
             archetype.apply(location.add(pos));
@@ -0,0 +1,389 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.world.storage.ChunkDataStream;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.chunk.storage.RegionFileAccessor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ChunkDataStream} which reads and decompresses the chunks of a
+ * world on multiple threads. Chunks are read ahead in the order of the
+ * region files, up to a limited number of chunks at a time, and are either
+ * returned in that order or in the order they finish reading.
+ *
+ * <p>The world may be in use by the server, so the region files are only
+ * accessed through the {@link RegionFileCache}, holding the same locks the
+ * server does. The location of a chunk is looked up again right before it's
+ * read, as the server may have moved it in the meantime. Only the raw data
+ * is read while the locks are held, it's decompressed afterwards.</p>
+ *
+ * <p>Unlike {@link SpongeChunkDataStream}, chunks without valid data are
+ * skipped instead of being returned as {@code null}, and so are chunks whose
+ * data can't be decoded.</p>
+ */
+public final class PrefetchingChunkDataStream implements ChunkDataStream {
+
+    // Region files are named r.<x>.<z>.mca, anything else in the region directory is skipped
+    private static final Pattern REGION_FILE_NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    /**
+     * A filter on the header of a region file, which is checked before the
+     * data of a chunk is read at all.
+     */
+    @FunctionalInterface
+    public interface HeaderFilter {
+
+        /**
+         * Gets whether the chunk at the given position should be read.
+         *
+         * @param chunkX The x coordinate of the chunk
+         * @param chunkZ The z coordinate of the chunk
+         * @param timestamp The time the chunk was last saved, in seconds
+         * @return Whether the chunk should be read
+         */
+        boolean test(int chunkX, int chunkZ, int timestamp);
+    }
+
+    private final Path worldDir;
+    private final File worldFile;
+    private final int threads;
+    private final int readAhead;
+    private final boolean ordered;
+    @Nullable private final HeaderFilter filter;
+
+    @Nullable private ThreadPoolExecutor executor;
+    // The reads in the order they were submitted, only used in the ordered mode
+    private final Deque<ReadTask> pending = new ArrayDeque<>();
+    // The reads in the order they completed, only used in the unordered mode. Replaced along with
+    // the executor, so reads still running after a reset can't end up in the queue of the next run
+    @Nullable private BlockingQueue<ReadTask> completed;
+    private int inFlight;
+
+    @Nullable private List<Path> regionFiles;
+    private int regionFileIndex;
+    @Nullable private Region region;
+    private int chunkIndex;
+
+    @Nullable private DataContainer next;
+
+    /**
+     * Creates a new stream over the chunks of the given world directory.
+     *
+     * @param worldDir The world directory
+     * @param threads The number of threads to read chunks on
+     * @param readAhead The maximum number of chunks which are read ahead
+     * @param ordered Whether chunks are returned in the order of the region
+     *     files instead of as soon as they are read
+     * @param filter The filter of chunks to read, if any
+     */
+    public PrefetchingChunkDataStream(Path worldDir, int threads, int readAhead, boolean ordered, @Nullable HeaderFilter filter) {
+        checkArgument(threads > 0, "threads must be positive");
+        checkArgument(readAhead > 0, "readAhead must be positive");
+        this.worldDir = worldDir;
+        this.worldFile = worldDir.toFile();
+        this.threads = threads;
+        this.readAhead = readAhead;
+        this.ordered = ordered;
+        this.filter = filter;
+    }
+
+    @Override
+    public DataContainer next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final DataContainer next = this.next;
+        this.next = null;
+        return next;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next == null) {
+            this.next = take();
+            if (this.next == null) {
+                shutdown();
+            }
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public int available() {
+        int count = this.inFlight + (this.next == null ? 0 : 1);
+        if (this.region != null) {
+            count += countChunks(this.region, this.chunkIndex);
+        }
+        final List<Path> regionFiles = getRegionFiles();
+        for (int i = this.regionFileIndex; i < regionFiles.size(); i++) {
+            count += countChunks(new Region(this.worldFile, regionFiles.get(i)), 0);
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        shutdown();
+        this.regionFiles = null;
+        this.regionFileIndex = 0;
+        this.chunkIndex = 0;
+        this.next = null;
+    }
+
+    @Nullable
+    private DataContainer take() {
+        while (true) {
+            while (this.inFlight < this.readAhead && submitNextChunk()) {
+                this.inFlight++;
+            }
+            if (this.inFlight == 0) {
+                return null;
+            }
+            final DataContainer data;
+            try {
+                final ReadTask task = this.ordered ? this.pending.poll() : this.completed.take();
+                this.inFlight--;
+                data = task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+            if (data != null) {
+                return data;
+            }
+        }
+    }
+
+    private boolean submitNextChunk() {
+        final int index = findNextChunk();
+        if (index == -1) {
+            return false;
+        }
+        if (this.executor == null) {
+            this.executor = new ThreadPoolExecutor(this.threads, this.threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("Sponge - Chunk Data Stream Reader #%d").setDaemon(true).build());
+            this.executor.allowCoreThreadTimeOut(true);
+            this.completed = this.ordered ? null : new LinkedBlockingQueue<>();
+        }
+        final ReadTask task = new ReadTask(this.worldFile, this.region, index, this.completed);
+        if (this.ordered) {
+            this.pending.add(task);
+        }
+        this.executor.execute(task);
+        return true;
+    }
+
+    private int findNextChunk() {
+        final List<Path> regionFiles = getRegionFiles();
+        while (true) {
+            if (this.region == null) {
+                if (this.regionFileIndex >= regionFiles.size()) {
+                    return -1;
+                }
+                this.region = new Region(this.worldFile, regionFiles.get(this.regionFileIndex++));
+                this.chunkIndex = 0;
+            }
+            final int index = nextChunk(this.region, this.chunkIndex);
+            if (index != -1) {
+                this.chunkIndex = index + 1;
+                return index;
+            }
+            this.region = null;
+        }
+    }
+
+    private List<Path> getRegionFiles() {
+        if (this.regionFiles == null) {
+            this.regionFiles = new ArrayList<>();
+            for (Path path : WorldStorageUtil.listRegionFiles(this.worldDir)) {
+                // The server only knows region files by their coordinates, so the name has to be exactly the one it uses
+                final Matcher matcher = REGION_FILE_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches() && path.getFileName().toString().equals(
+                        "r." + Integer.parseInt(matcher.group(1)) + "." + Integer.parseInt(matcher.group(2)) + ".mca")) {
+                    this.regionFiles.add(path);
+                }
+            }
+        }
+        return this.regionFiles;
+    }
+
+    private int nextChunk(Region region, int index) {
+        for (; index < region.offsets.length; index++) {
+            if (region.offsets[index] != 0 && (this.filter == null
+                    || this.filter.test((region.x << 5) + (index & 31), (region.z << 5) + (index >>> 5), region.timestamps[index]))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int countChunks(Region region, int index) {
+        int count = 0;
+        while ((index = nextChunk(region, index)) != -1) {
+            count++;
+            index++;
+        }
+        return count;
+    }
+
+    private void shutdown() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+        this.region = null;
+        this.pending.clear();
+        this.completed = null;
+        this.inFlight = 0;
+    }
+
+    /**
+     * The chunks of a region file, as they were stored when the stream got to
+     * the region. Used to find the chunks to read, not to read them.
+     */
+    private static final class Region {
+
+        final int x;
+        final int z;
+        final int[] offsets;
+        final int[] timestamps;
+
+        Region(File worldDir, Path path) {
+            final Matcher matcher = REGION_FILE_NAME.matcher(path.getFileName().toString());
+            checkArgument(matcher.matches(), "Not a region file: %s", path);
+            this.x = Integer.parseInt(matcher.group(1));
+            this.z = Integer.parseInt(matcher.group(2));
+            synchronized (RegionFileCache.class) {
+                final RegionFile file = RegionFileCache.createOrLoadRegionFile(worldDir, this.x << 5, this.z << 5);
+                synchronized (file) {
+                    this.offsets = ((RegionFileAccessor) file).accessor$getOffsets().clone();
+                    this.timestamps = ((RegionFileAccessor) file).accessor$getChunkTimestamps().clone();
+                }
+            }
+        }
+    }
+
+    private static final class ReadTask extends FutureTask<DataContainer> {
+
+        @Nullable private final BlockingQueue<ReadTask> completed;
+
+        ReadTask(File worldDir, Region region, int index, @Nullable BlockingQueue<ReadTask> completed) {
+            super(() -> readChunk(worldDir, region, index & 31, index >>> 5));
+            this.completed = completed;
+        }
+
+        @Override
+        protected void done() {
+            if (this.completed != null && !isCancelled()) {
+                this.completed.add(this);
+            }
+        }
+    }
+
+    /**
+     * Reads a chunk like {@link RegionFile#getChunkDataInputStream(int, int)},
+     * except that the data is decompressed after the locks are released.
+     */
+    @Nullable
+    private static DataContainer readChunk(File worldDir, Region region, int localX, int localZ) {
+        final byte[] data;
+        final int compression;
+        synchronized (RegionFileCache.class) {
+            // The cache can't close the file while its lock is held
+            final RegionFile file = RegionFileCache.createOrLoadRegionFile(worldDir, (region.x << 5) + localX, (region.z << 5) + localZ);
+            synchronized (file) {
+                final int offset = ((RegionFileAccessor) file).accessor$getOffsets()[localX + localZ * 32];
+                final int sector = offset >> 8;
+                final int sectors = offset & 255;
+                if (offset == 0 || sector + sectors > ((RegionFileAccessor) file).accessor$getSectorFree().size()) {
+                    return null;
+                }
+                try {
+                    final RandomAccessFile dataFile = ((RegionFileAccessor) file).accessor$getDataFile();
+                    dataFile.seek(sector * 4096L);
+                    final int length = dataFile.readInt();
+                    if (length <= 0 || length > 4096 * sectors) {
+                        return null;
+                    }
+                    compression = dataFile.readByte();
+                    data = new byte[length - 1];
+                    dataFile.readFully(data);
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+        }
+        try {
+            final InputStream in;
+            if (compression == 1) {
+                in = new GZIPInputStream(new ByteArrayInputStream(data));
+            } else if (compression == 2) {
+                in = new InflaterInputStream(new ByteArrayInputStream(data));
+            } else {
+                return null;
+            }
+            return WorldStorageUtil.readDataFromRegion(new DataInputStream(new BufferedInputStream(in)));
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().warn("Skipping chunk {}, {} of a chunk data stream which could not be decoded",
+                    (region.x << 5) + localX, (region.z << 5) + localZ, e);
+            return null;
+        }
+    }
+}
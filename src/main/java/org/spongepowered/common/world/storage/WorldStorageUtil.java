@@ -113,19 +113,24 @@ public static Iterable<Path> listRegionFiles(Path worldDir) {
     }
 
     // Similar to RegionFileCache#createOrLoadRegionFile except this uses direct
-    // file name instead of x,z
+    // file name instead of x,z. The methods of RegionFileCache are synchronized
+    // on the class, so the same lock is used for the cache here. Chunk data
+    // streams are usually iterated off the server thread while the server is
+    // using the cache, so this can't rely on being called from the main thread.
     public static RegionFile getRegionFile(Path regionFilePath) {
         File file = regionFilePath.toFile();
-        RegionFile regionFile = RegionFileCacheAccessor.accessor$getRegionsByFileMap().get(file);
-        if (regionFile != null) {
+        synchronized (RegionFileCache.class) {
+            RegionFile regionFile = RegionFileCacheAccessor.accessor$getRegionsByFileMap().get(file);
+            if (regionFile != null) {
+                return regionFile;
+            }
+            if (RegionFileCacheAccessor.accessor$getRegionsByFileMap().size() >= 256) {
+                RegionFileCache.clearRegionFileReferences();
+            }
+            regionFile = new RegionFile(file);
+            RegionFileCacheAccessor.accessor$getRegionsByFileMap().put(file, regionFile);
             return regionFile;
         }
-        if (RegionFileCacheAccessor.accessor$getRegionsByFileMap().size() >= 256) {
-            RegionFileCache.clearRegionFileReferences();
-        }
-        regionFile = new RegionFile(file);
-        RegionFileCacheAccessor.accessor$getRegionsByFileMap().put(file, regionFile);
-        return regionFile;
     }
 
 }
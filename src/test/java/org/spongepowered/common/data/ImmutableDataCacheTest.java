@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ImmutableDataCacheTest {
+
+    private static Object get(final ImmutableDataCache<Object> cache, final Class<?> type, final Object... args) throws ExecutionException {
+        return cache.get(type, null, args, Object::new);
+    }
+
+    @Test
+    public void testSingleArgTables() throws ExecutionException {
+        final ImmutableDataCache<Object> cache = new ImmutableDataCache<>(16);
+        final Object enabled = get(cache, String.class, true);
+        final Object seconds = get(cache, String.class, TimeUnit.SECONDS);
+
+        assertSame(enabled, get(cache, String.class, true));
+        assertSame(seconds, get(cache, String.class, TimeUnit.SECONDS));
+        assertNotSame(enabled, get(cache, String.class, false));
+        assertNotSame(seconds, get(cache, String.class, TimeUnit.MINUTES));
+        assertNotSame(enabled, get(cache, Integer.class, true));
+        assertNotSame(enabled, cache.get(String.class, "qualifier", new Object[] {true}, Object::new));
+        assertEquals(8, cache.getLookups());
+        assertEquals(6, cache.getMisses());
+    }
+
+    @Test
+    public void testStructuralKeys() throws ExecutionException {
+        final ImmutableDataCache<Object> cache = new ImmutableDataCache<>(16);
+        final Object value = get(cache, String.class, 1, "a");
+
+        assertSame(value, get(cache, String.class, 1, "a"));
+        assertNotSame(value, get(cache, String.class, 1L, "a"));
+        assertNotSame(value, get(cache, String.class, "a", 1));
+    }
+
+    @Test
+    public void testMutableArgumentsAreCopied() throws ExecutionException {
+        final ImmutableDataCache<Object> cache = new ImmutableDataCache<>(16);
+        final List<String> list = new ArrayList<>();
+        list.add("a");
+        final Object value = get(cache, String.class, list, 0);
+        list.add("b");
+
+        assertNotSame(value, get(cache, String.class, list, 0));
+        final List<String> original = new ArrayList<>();
+        original.add("a");
+        assertSame(value, get(cache, String.class, original, 0));
+    }
+
+    @Test
+    public void testSingleArgKeys() throws ExecutionException {
+        final ImmutableDataCache<Object> cache = new ImmutableDataCache<>(16);
+        final Object value = cache.getSingle(String.class, null, "a", Object::new);
+
+        assertSame(value, get(cache, String.class, "a"));
+        assertSame(value, cache.getSingle(String.class, null, "a", Object::new));
+        assertNotSame(value, get(cache, String.class, "a", null));
+        assertNotSame(value, cache.getSingle(String.class, "qualifier", "a", Object::new));
+        assertEquals(1, cache.getSingle(String.class, null, null, () -> 1));
+    }
+}
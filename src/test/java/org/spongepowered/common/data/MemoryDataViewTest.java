@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public class MemoryDataViewTest {
+
+    private static final DataQuery DEEP = DataQuery.of("a", "b", "c", "d");
+
+    @Test
+    public void testNestedPaths() {
+        final MemoryDataContainer container = new MemoryDataContainer();
+        container.set(DEEP, 5);
+
+        assertTrue(container.contains(DEEP));
+        assertTrue(container.contains(DataQuery.of("a", "b")));
+        assertFalse(container.contains(DataQuery.of("a", "c")));
+        assertFalse(container.contains(DEEP.then("e")));
+        assertEquals(Optional.of(5), container.getInt(DEEP));
+        assertEquals(Optional.of(5L), container.getLong(DEEP));
+        assertEquals(Optional.of(5), container.getView(DataQuery.of("a", "b")).get().getInt(DataQuery.of("c", "d")));
+        assertEquals(DEEP, container.getView(DataQuery.of("a", "b", "c")).get().getCurrentPath().then("d"));
+
+        container.remove(DEEP);
+        assertFalse(container.contains(DEEP));
+        assertEquals(Optional.empty(), container.getInt(DEEP));
+    }
+
+    @Test
+    public void testListCopies() {
+        final DataQuery query = DataQuery.of("list");
+        final MemoryDataContainer cloned = new MemoryDataContainer(DataView.SafetyMode.ALL_DATA_CLONED);
+        cloned.set(query, Arrays.asList(1, 2, 3));
+        final List<?> copy = cloned.getList(query).get();
+        copy.clear();
+        assertEquals(3, cloned.getList(query).get().size());
+
+        final MemoryDataContainer direct = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        direct.set(query, Arrays.asList(1, 2, 3));
+        assertEquals(Arrays.asList(1, 2, 3), direct.getList(query).get());
+        assertEquals(Optional.of(Arrays.asList(1, 2, 3)), direct.getIntegerList(query));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDirectListsAreReadOnly() {
+        final DataQuery query = DataQuery.of("list");
+        final MemoryDataContainer direct = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        direct.set(query, Arrays.asList(1, 2, 3));
+        direct.getList(query).get().clear();
+    }
+}
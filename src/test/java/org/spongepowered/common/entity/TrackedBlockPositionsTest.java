@@ -0,0 +1,100 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+import org.spongepowered.common.util.Constants;
+
+public class TrackedBlockPositionsTest {
+
+    @Test
+    public void testPacking() {
+        final long packed = TrackedBlockPositions.pack(42, -1);
+        assertEquals(42, TrackedBlockPositions.getOwnerIndex(packed));
+        assertEquals(-1, TrackedBlockPositions.getNotifierIndex(packed));
+    }
+
+    @Test
+    public void testOwnerAndNotifier() {
+        final TrackedBlockPositions positions = new TrackedBlockPositions();
+        final BlockPos pos = new BlockPos(3, 64, 12);
+        positions.trackOwner(pos, 1);
+        assertEquals(TrackedBlockPositions.pack(1, -1), positions.get(pos));
+        positions.setNotifier(pos, 2);
+        assertEquals(TrackedBlockPositions.pack(1, 2), positions.get(pos));
+        // Placing again over a tracked position also updates the notifier
+        positions.trackOwner(pos, 3);
+        assertEquals(TrackedBlockPositions.pack(3, 3), positions.get(pos));
+        positions.setOwner(pos, -1);
+        positions.setNotifier(pos, -1);
+        assertTrue(positions.isEmpty());
+    }
+
+    @Test
+    public void testNbtRoundTrip() {
+        final TrackedBlockPositions positions = new TrackedBlockPositions();
+        final BlockPos low = new BlockPos(0, 10, 15);
+        final BlockPos high = new BlockPos(7, 300, 2);
+        positions.trackOwner(low, 5);
+        positions.setNotifier(high, 6);
+
+        final NBTTagCompound compound = new NBTTagCompound();
+        positions.writeTo(compound);
+        final TrackedBlockPositions read = new TrackedBlockPositions();
+        read.readFrom(compound);
+        assertEquals(2, read.size());
+        assertEquals(TrackedBlockPositions.pack(5, -1), read.get(low));
+        assertEquals(TrackedBlockPositions.pack(-1, 6), read.get(high));
+    }
+
+    @Test
+    public void testLegacyTableMigration() {
+        final BlockPos pos = new BlockPos(1, 2, 3);
+        final NBTTagCompound entry = new NBTTagCompound();
+        entry.setInteger("owner", 4);
+        entry.setInteger("notifier", 9);
+        entry.setShort("pos", Constants.Sponge.blockPosToShort(pos));
+        final NBTTagList table = new NBTTagList();
+        table.appendTag(entry);
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setTag(Constants.Sponge.SPONGE_BLOCK_POS_TABLE, table);
+
+        final TrackedBlockPositions positions = new TrackedBlockPositions();
+        positions.readFrom(compound);
+        assertEquals(TrackedBlockPositions.pack(4, 9), positions.get(pos));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testEmptyIsImmutable() {
+        TrackedBlockPositions.EMPTY.trackOwner(new BlockPos(1, 2, 3), 0);
+    }
+
+}
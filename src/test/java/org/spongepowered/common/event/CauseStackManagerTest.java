@@ -29,6 +29,7 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.spongepowered.api.entity.living.player.User;
+import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.event.cause.EventContextKeys;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
@@ -90,4 +91,29 @@ public void testPoppingFrameRemovesFrameContexts() throws Exception {
         Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
     }
 
+    @Test
+    public void testPoppingFrameRestoresRemovedContexts() throws Exception {
+        final SpongeCauseStackManager causeStackManager = SpongeImpl.getCauseStackManager();
+
+        User user = Mockito.mock(User.class);
+
+        SpongeCauseStackManager.StackFrame frame1 = causeStackManager.pushCauseFrame();
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        final EventContext context = causeStackManager.getCurrentContext();
+
+        // Frames without changes to the context keep the same snapshot
+        SpongeCauseStackManager.StackFrame frame = causeStackManager.pushCauseFrame();
+        causeStackManager.addContext(EventContextKeys.OWNER, user);
+        Assert.assertSame(context, causeStackManager.getCurrentContext());
+
+        causeStackManager.removeContext(EventContextKeys.OWNER);
+        Assert.assertFalse(causeStackManager.getCurrentContext().get(EventContextKeys.OWNER).isPresent());
+
+        causeStackManager.popCauseFrame(frame);
+        Assert.assertEquals(user, causeStackManager.getCurrentContext().get(EventContextKeys.OWNER).get());
+
+        causeStackManager.popCauseFrame(frame1);
+        Assert.assertFalse(causeStackManager.getContext(EventContextKeys.OWNER).isPresent());
+    }
+
 }
@@ -119,6 +119,28 @@ public void testMultipleListeners() {
         Assert.assertFalse("SPAWN_ENTITY_EVENT_CHUNK_LOAD is not false!", ShouldFire.SPAWN_ENTITY_EVENT_CHUNK_LOAD);
     }
 
+    @Test
+    public void testHasListeners() {
+        final ListenerChecker checker = ((SpongeEventManager) this.eventManager).checker;
+        SubListener spawnCustomListener = new SubListener();
+
+        Assert.assertFalse(checker.hasListeners(SpawnEntityEvent.Custom.class));
+        Assert.assertFalse(checker.hasListeners(DropItemEvent.Custom.class));
+
+        this.eventManager.registerListeners(this.plugin, spawnCustomListener);
+
+        // Both supertypes and subtypes of the listener count
+        Assert.assertTrue(checker.hasListeners(SpawnEntityEvent.Custom.class));
+        Assert.assertTrue(checker.hasListeners(SpawnEntityEvent.class));
+        Assert.assertTrue(checker.hasListeners(DropItemEvent.Custom.class));
+        Assert.assertFalse(checker.hasListeners(SpawnEntityEvent.ChunkLoad.class));
+
+        this.eventManager.unregisterListeners(spawnCustomListener);
+
+        Assert.assertFalse(checker.hasListeners(SpawnEntityEvent.Custom.class));
+        Assert.assertEquals(2L, (long) checker.getSkippedEvents().get(SpawnEntityEvent.Custom.class));
+    }
+
     private static class SpawnListener {
 
         @Listener
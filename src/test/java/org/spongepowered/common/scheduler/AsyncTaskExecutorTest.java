@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.config.category.SchedulerCategory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncTaskExecutorTest {
+
+    private static ScheduledTask createTask(String pluginId) {
+        final PluginContainer plugin = Mockito.mock(PluginContainer.class);
+        Mockito.when(plugin.getId()).thenReturn(pluginId);
+        return new ScheduledTask(ScheduledTask.TaskSynchronicity.ASYNCHRONOUS, t -> {}, "test", 0, false, 0, false, plugin);
+    }
+
+    @Test
+    public void testLimitedTasksRunAfterQueueWasFull() throws InterruptedException {
+        final AsyncTaskExecutor executor = new AsyncTaskExecutor(new SchedulerCategory() {
+
+            @Override
+            public int getAsyncMaxThreads() {
+                return 1;
+            }
+
+            @Override
+            public int getAsyncQueueCapacity() {
+                return 2;
+            }
+
+            @Override
+            public int getAsyncPluginConcurrencyLimit() {
+                return 1;
+            }
+        });
+        final ScheduledTask limited = createTask("limited");
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(13);
+        try {
+            // Keep the only thread busy and fill the queue with tasks outside of the limit
+            executor.getExecutorService().execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                completed.countDown();
+            });
+            executor.getExecutorService().execute(completed::countDown);
+            executor.getExecutorService().execute(completed::countDown);
+            // The first of these takes the only slot of its plugin, but is rejected by the full queue
+            for (int i = 0; i < 10; i++) {
+                executor.execute(limited, completed::countDown);
+            }
+            blocked.countDown();
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.getExecutorService().shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScheduledTaskQueueTest {
+
+    private static ScheduledTask createTask(long delay, boolean delayIsTicks) {
+        final ScheduledTask task = new ScheduledTask(ScheduledTask.TaskSynchronicity.SYNCHRONOUS, t -> {}, "test", delay, delayIsTicks,
+                0, false, null);
+        task.setTimestamp(0);
+        return task;
+    }
+
+    @Test
+    public void testOnlyDueTasksArePolled() {
+        final ScheduledTaskQueue queue = new ScheduledTaskQueue();
+        final ScheduledTask first = createTask(5, true);
+        final ScheduledTask second = createTask(10, true);
+        final ScheduledTask third = createTask(20, true);
+        queue.add(third);
+        queue.add(first);
+        queue.add(second);
+
+        final List<ScheduledTask> due = new ArrayList<>();
+        queue.pollDue(4, 0, due);
+        assertTrue(due.isEmpty());
+
+        queue.pollDue(10, 0, due);
+        assertEquals(2, due.size());
+        assertSame(first, due.get(0));
+        assertSame(second, due.get(1));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testTickAndTimeTasksAreSeparated() {
+        final ScheduledTaskQueue queue = new ScheduledTaskQueue();
+        final ScheduledTask tickTask = createTask(5, true);
+        final ScheduledTask timeTask = createTask(1000, false);
+        queue.add(tickTask);
+        queue.add(timeTask);
+        assertEquals(1000, queue.getNextExecutionTime());
+
+        final List<ScheduledTask> due = new ArrayList<>();
+        queue.pollDue(5, 999, due);
+        assertEquals(1, due.size());
+        assertSame(tickTask, due.get(0));
+
+        due.clear();
+        queue.pollDue(0, 1000, due);
+        assertEquals(1, due.size());
+        assertSame(timeTask, due.get(0));
+        assertEquals(Long.MAX_VALUE, queue.getNextExecutionTime());
+    }
+
+    @Test
+    public void testCancellationDoesNotReorderQueue() {
+        final ScheduledTaskQueue queue = new ScheduledTaskQueue();
+        final ScheduledTask task = createTask(50, true);
+        queue.add(task);
+        task.cancel();
+
+        final List<ScheduledTask> due = new ArrayList<>();
+        queue.pollDue(49, 0, due);
+        assertTrue(due.isEmpty());
+        queue.pollDue(50, 0, due);
+        assertSame(task, due.get(0));
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.UUID;
+
+public class SpongeUsernameCacheTest {
+
+    private static final UUID FIRST = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID SECOND = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+    private static final UUID THIRD = UUID.fromString("61699b2e-d327-4a01-9f1e-0ea8c3f06bc6");
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() throws IOException {
+        SpongeUsernameCache.setServerDir(this.folder.newFolder());
+        SpongeUsernameCache.load();
+        SpongeUsernameCache.setUsername(FIRST, "Notch");
+        SpongeUsernameCache.setUsername(SECOND, "notjeb");
+        SpongeUsernameCache.setUsername(THIRD, "Dinnerbone");
+    }
+
+    @Test
+    public void testLookupIgnoresCase() {
+        assertEquals(FIRST, SpongeUsernameCache.getLastKnownUUID("NOTCH"));
+        SpongeUsernameCache.setUsername(FIRST, "Grumm");
+        assertNull(SpongeUsernameCache.getLastKnownUUID("notch"));
+        assertEquals(FIRST, SpongeUsernameCache.getLastKnownUUID("grumm"));
+    }
+
+    @Test
+    public void testSharedNameFallsBackToOtherOwner() {
+        // A stale entry, the name has been taken over by another player since
+        SpongeUsernameCache.setUsername(SECOND, "NOTCH");
+        assertEquals(SECOND, SpongeUsernameCache.getLastKnownUUID("notch"));
+        SpongeUsernameCache.removeUsername(SECOND);
+        assertEquals(FIRST, SpongeUsernameCache.getLastKnownUUID("notch"));
+        SpongeUsernameCache.setUsername(THIRD, "notch");
+        SpongeUsernameCache.setUsername(FIRST, "Grumm");
+        assertEquals(THIRD, SpongeUsernameCache.getLastKnownUUID("Notch"));
+        SpongeUsernameCache.saveAndWait();
+
+        SpongeUsernameCache.load();
+        assertEquals(THIRD, SpongeUsernameCache.getLastKnownUUID("Notch"));
+    }
+
+    @Test
+    public void testPrefixSearch() {
+        assertEquals(ImmutableMap.of(FIRST, "Notch", SECOND, "notjeb"), SpongeUsernameCache.getUsernamesStartingWith("NoT", 10));
+        assertEquals(ImmutableMap.of(FIRST, "Notch"), SpongeUsernameCache.getUsernamesStartingWith("not", 1));
+        assertTrue(SpongeUsernameCache.getUsernamesStartingWith("x", 10).isEmpty());
+    }
+
+    @Test
+    public void testJournalIsReplayed() {
+        SpongeUsernameCache.setUsername(FIRST, "Grumm");
+        SpongeUsernameCache.removeUsername(THIRD);
+        SpongeUsernameCache.saveAndWait();
+
+        SpongeUsernameCache.load();
+        assertEquals(ImmutableMap.of(FIRST, "Grumm", SECOND, "notjeb"), SpongeUsernameCache.getMap());
+        assertEquals(SECOND, SpongeUsernameCache.getLastKnownUUID("NotJeb"));
+    }
+}
@@ -37,6 +37,7 @@
 import org.spongepowered.api.data.persistence.DataBuilder;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 public class NBTTranslationTest {
@@ -63,4 +64,37 @@ public void testDotContainerKeys() {
         assertEquals(container, translatedContainer);
     }
 
+    @Test
+    public void testWrappedCompound() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+            .set(DataQuery.of("foo"), "bar")
+            .set(DataQuery.of("enabled"), true)
+            .set(DataQuery.of("nested", "value"), 5)
+            .set(DataQuery.of("nested", "list"), Arrays.asList(1, 2, 3));
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        final DataView wrapped = NbtTranslator.getInstance().wrap(compound);
+        assertEquals(Optional.of(5), wrapped.getInt(DataQuery.of("nested", "value")));
+        assertEquals(Optional.of(true), wrapped.getBoolean(DataQuery.of("enabled")));
+        assertEquals(container, wrapped);
+    }
+
+    @Test
+    public void testWrappedCompoundToNBT() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED)
+            .set(DataQuery.of("foo"), "bar")
+            .set(DataQuery.of("enabled"), true)
+            .set(DataQuery.of("nested", "value"), 5)
+            .set(DataQuery.of("other", "value"), 7);
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        final DataView wrapped = NbtTranslator.getInstance().wrap(compound);
+        wrapped.set(DataQuery.of("nested", "value"), 6);
+        wrapped.remove(DataQuery.of("foo"));
+        container.set(DataQuery.of("nested", "value"), 6);
+        container.remove(DataQuery.of("foo"));
+
+        assertEquals(NbtTranslator.getInstance().translateData(container), NbtTranslator.getInstance().translateData(wrapped));
+        // The wrapped compound itself is left untouched
+        assertEquals(5, compound.getCompoundTag("nested").getInteger("value"));
+    }
+
 }
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent.worker;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.junit.Test;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMapper;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeMerger;
+import org.spongepowered.api.world.extent.worker.procedure.BlockVolumeReducer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SpongeBlockVolumeWorkerTest {
+
+    // The x range is split into slabs of 5, 16, 16 and 5 blocks
+    private static final Vector3i MIN = new Vector3i(-5, 0, 2);
+    private static final Vector3i MAX = new Vector3i(36, 3, 6);
+    private static final int BLOCKS = 42 * 4 * 5;
+
+    private static final BlockState[] STATES = {mock(BlockState.class), mock(BlockState.class), mock(BlockState.class)};
+
+    private static ImmutableBlockVolume createVolume(Vector3i min, Vector3i max) {
+        final ImmutableBlockVolume volume = mock(ImmutableBlockVolume.class);
+        when(volume.getBlockMin()).thenReturn(min);
+        when(volume.getBlockMax()).thenReturn(max);
+        when(volume.getBlockSize()).thenReturn(max.sub(min).add(Vector3i.ONE));
+        return volume;
+    }
+
+    private static MutableBlockVolume createDestination(Map<Vector3i, BlockState> blocks) {
+        final MutableBlockVolume destination = mock(MutableBlockVolume.class);
+        when(destination.getBlockMin()).thenReturn(MIN.add(100, 10, -20));
+        when(destination.getBlockSize()).thenReturn(MAX.sub(MIN).add(Vector3i.ONE));
+        when(destination.setBlock(anyInt(), anyInt(), anyInt(), any(BlockState.class))).thenAnswer(invocation -> {
+            final Object[] args = invocation.getArguments();
+            blocks.put(new Vector3i((int) args[0], (int) args[1], (int) args[2]), (BlockState) args[3]);
+            return true;
+        });
+        return destination;
+    }
+
+    @Test
+    public void testParallelMap() {
+        final ImmutableBlockVolume volume = createVolume(MIN, MAX);
+        final SpongeBlockVolumeWorker<ImmutableBlockVolume> worker = new SpongeBlockVolumeWorker<>(volume);
+        final BlockVolumeMapper mapper = (v, x, y, z) -> STATES[Math.floorMod(x * 7 + y * 3 + z, STATES.length)];
+
+        final Map<Vector3i, BlockState> sequential = new HashMap<>();
+        worker.mapBlocks(volume, mapper, createDestination(sequential), false);
+        final Map<Vector3i, BlockState> parallel = new HashMap<>();
+        worker.mapBlocks(volume, mapper, createDestination(parallel), true);
+
+        assertEquals(BLOCKS, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelMerge() {
+        final ImmutableBlockVolume volume = createVolume(MIN, MAX);
+        final ImmutableBlockVolume second = createVolume(MIN.sub(3, 1, 0), MAX.add(2, 1, 1));
+        final SpongeBlockVolumeWorker<ImmutableBlockVolume> worker = new SpongeBlockVolumeWorker<>(volume);
+        final BlockVolumeMerger merger = (v1, x1, y1, z1, v2, x2, y2, z2) -> STATES[Math.floorMod(x1 + 2 * x2 + y2 * z1, STATES.length)];
+
+        final Map<Vector3i, BlockState> sequential = new HashMap<>();
+        worker.mergeBlocks(volume, second, merger, createDestination(sequential), false);
+        final Map<Vector3i, BlockState> parallel = new HashMap<>();
+        worker.mergeBlocks(volume, second, merger, createDestination(parallel), true);
+
+        assertEquals(BLOCKS, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelReduce() {
+        final ImmutableBlockVolume volume = createVolume(MIN, MAX);
+        final BlockVolumeReducer<Integer> reducer = (v, x, y, z, reduction) -> reduction + x * 31 + y * 7 + z;
+
+        // The merge function is only used to combine the slabs
+        final int sequential = SpongeBlockVolumeWorker.reduceBlocks(volume, reducer, (a, b) -> {
+            throw new AssertionError();
+        }, 0, false);
+        final int parallel = SpongeBlockVolumeWorker.reduceBlocks(volume, reducer, Integer::sum, 0, true);
+
+        assertEquals(sequential, parallel);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.gen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TerrainReadAheadTest {
+
+    @Test
+    public void testPrepareAndTake() {
+        final TerrainReadAhead<String> readAhead = new TerrainReadAhead<>();
+        readAhead.prepare(1, 2, 4, () -> "terrain", Runnable::run);
+        assertTrue(readAhead.contains(1, 2));
+        assertFalse(readAhead.contains(2, 1));
+        assertEquals("terrain", readAhead.take(1, 2));
+        assertFalse(readAhead.contains(1, 2));
+        // Chunks which were not prepared are generated on the main thread
+        assertNull(readAhead.take(1, 2));
+    }
+
+    @Test
+    public void testOldestChunksAreDiscarded() {
+        final TerrainReadAhead<Integer> readAhead = new TerrainReadAhead<>();
+        final List<Runnable> queued = new ArrayList<>();
+        final AtomicInteger generated = new AtomicInteger();
+        for (int x = 0; x < 3; x++) {
+            final int chunkX = x;
+            readAhead.prepare(chunkX, 0, 2, () -> {
+                generated.incrementAndGet();
+                return chunkX;
+            }, queued::add);
+        }
+        assertEquals(2, readAhead.size());
+        assertFalse(readAhead.contains(0, 0));
+        queued.forEach(Runnable::run);
+        // The discarded chunk is never generated
+        assertEquals(2, generated.get());
+        assertNull(readAhead.take(0, 0));
+        assertEquals(Integer.valueOf(2), readAhead.take(2, 0));
+    }
+
+    @Test
+    public void testDiscard() {
+        final TerrainReadAhead<String> readAhead = new TerrainReadAhead<>();
+        final List<Runnable> queued = new ArrayList<>();
+        readAhead.prepare(0, 0, 4, () -> "first", queued::add);
+        readAhead.prepare(1, 0, 4, () -> "second", queued::add);
+        readAhead.discard();
+        assertEquals(0, readAhead.size());
+        queued.forEach(Runnable::run);
+        assertNull(readAhead.take(0, 0));
+    }
+
+    @Test
+    public void testFallbackToMainThread() {
+        final TerrainReadAhead<String> readAhead = new TerrainReadAhead<>();
+        // A chunk the worker couldn't generate, for example because of a biome that isn't thread safe
+        readAhead.prepare(0, 0, 4, () -> null, Runnable::run);
+        assertNull(readAhead.take(0, 0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailuresArePassedOn() {
+        final TerrainReadAhead<String> readAhead = new TerrainReadAhead<>();
+        readAhead.prepare(0, 0, 4, () -> {
+            throw new IllegalStateException();
+        }, Runnable::run);
+        readAhead.take(0, 0);
+    }
+
+    @Test
+    public void testThreadSafeGeneratorsOptIn() {
+        final GenerationPopulator plain = (world, buffer, biomes) -> { };
+        final GenerationPopulator threadSafe = new ThreadSafePopulator();
+        assertFalse(TerrainReadAhead.isThreadSafe(plain));
+        assertTrue(TerrainReadAhead.isThreadSafe(threadSafe));
+        assertTrue(TerrainReadAhead.isThreadSafe(Arrays.asList(threadSafe, threadSafe)));
+        assertFalse(TerrainReadAhead.isThreadSafe(Arrays.asList(threadSafe, plain)));
+    }
+
+    private static final class ThreadSafePopulator implements GenerationPopulator, ThreadSafeGenerator {
+
+        @Override
+        public void populate(World world, MutableBlockVolume buffer, ImmutableBiomeVolume biomes) {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.world.schematic.PaletteType;
+
+import java.util.Optional;
+
+public class BimapPaletteTest {
+
+    @SuppressWarnings("unchecked")
+    private static BimapPalette<CatalogType> createPalette(int expectedSize) {
+        return new BimapPalette<>(mock(PaletteType.class), expectedSize);
+    }
+
+    @Test
+    public void testGetOrAssign() {
+        final BimapPalette<CatalogType> palette = createPalette(1);
+        final CatalogType first = mock(CatalogType.class);
+        final CatalogType second = mock(CatalogType.class);
+
+        assertEquals(0, palette.getOrAssign(first));
+        assertEquals(1, palette.getOrAssign(second));
+        assertEquals(0, palette.getOrAssign(first));
+        assertEquals(1, palette.getHighestId());
+        assertEquals(Optional.of(second), palette.get(1));
+        assertEquals(Optional.of(1), palette.get(second));
+        assertEquals(Optional.empty(), palette.get(2));
+        assertEquals(Optional.empty(), palette.get(-1));
+    }
+
+    @Test
+    public void testAssignBeyondExpectedSize() {
+        final BimapPalette<CatalogType> palette = createPalette(4);
+        final CatalogType type = mock(CatalogType.class);
+
+        palette.assign(type, 100);
+        assertEquals(100, palette.getHighestId());
+        assertEquals(type, palette.getNullable(100));
+        assertEquals(100, palette.getOrAssign(type));
+        // The lowest free id is handed out next
+        assertEquals(0, palette.getOrAssign(mock(CatalogType.class)));
+    }
+
+    @Test
+    public void testRemove() {
+        final BimapPalette<CatalogType> palette = createPalette(4);
+        final CatalogType first = mock(CatalogType.class);
+        final CatalogType second = mock(CatalogType.class);
+        palette.getOrAssign(first);
+        palette.getOrAssign(second);
+
+        assertTrue(palette.remove(second));
+        assertFalse(palette.remove(second));
+        assertEquals(0, palette.getHighestId());
+        assertEquals(Optional.empty(), palette.get(1));
+        assertEquals(1, palette.getEntries().size());
+        assertEquals(1, palette.getOrAssign(mock(CatalogType.class)));
+    }
+
+    @Test
+    public void testDuplicateIds() {
+        final BimapPalette<CatalogType> palette = createPalette(4);
+        final CatalogType replaced = mock(CatalogType.class);
+        final CatalogType other = mock(CatalogType.class);
+        // Unknown types are replaced by the same type while loading
+        palette.assign(replaced, 0);
+        palette.assign(replaced, 1);
+        palette.assign(other, 2);
+
+        // Reassigning the id the type is found by points it to its other id
+        palette.assign(other, 0);
+        assertEquals(Optional.of(1), palette.get(replaced));
+        assertEquals(other, palette.getNullable(0));
+        // The other type is still found by the first id it was assigned to
+        assertEquals(Optional.of(2), palette.get(other));
+
+        palette.assign(replaced, 3);
+        assertTrue(palette.remove(replaced));
+        assertNull(palette.getNullable(1));
+        assertNull(palette.getNullable(3));
+        assertEquals(2, palette.getHighestId());
+        assertEquals(1, palette.getEntries().size());
+        assertEquals(1, palette.getOrAssign(mock(CatalogType.class)));
+    }
+}
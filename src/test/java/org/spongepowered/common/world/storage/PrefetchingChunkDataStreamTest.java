@@ -0,0 +1,172 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.common.util.Constants;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class PrefetchingChunkDataStreamTest {
+
+    private static final DataQuery X_POS = DataQuery.of("xPos");
+    private static final DataQuery Z_POS = DataQuery.of("zPos");
+
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void closeRegionFiles() {
+        // The stream reads through the shared cache, which would otherwise keep the files open
+        RegionFileCache.clearRegionFileReferences();
+    }
+
+    @Test
+    public void testReadAheadAcrossRegions() throws IOException {
+        final Path worldDir = this.folder.newFolder().toPath();
+        final Path regionDir = Files.createDirectory(worldDir.resolve("region"));
+        writeRegion(regionDir.resolve("r.0.0.mca").toFile(), 0, 0, 3);
+        writeRegion(regionDir.resolve("r.-1.2.mca").toFile(), -1, 2, 3);
+        // Not a region file name, it has to be skipped rather than read as region 0, 0
+        writeRegion(regionDir.resolve("r.0.0.backup.mca").toFile(), 0, 0, 2);
+
+        // Fewer chunks in flight than a region has, so reads of both regions overlap
+        final PrefetchingChunkDataStream stream = new PrefetchingChunkDataStream(worldDir, 2, 4, true, null);
+        assertEquals(6, stream.available());
+
+        final List<String> chunks = new ArrayList<>();
+        while (stream.hasNext()) {
+            final DataContainer chunk = stream.next();
+            chunks.add(chunk.getInt(X_POS).get() + "," + chunk.getInt(Z_POS).get());
+        }
+        assertEquals(0, stream.available());
+        assertFalse(stream.hasNext());
+
+        // Regions come in the order of the directory listing, chunks of a region in index order
+        final List<String> first = Arrays.asList("0,0", "1,0", "2,0");
+        final List<String> second = Arrays.asList("-32,64", "-31,64", "-30,64");
+        if (chunks.get(0).equals("0,0")) {
+            assertEquals(concat(first, second), chunks);
+        } else {
+            assertEquals(concat(second, first), chunks);
+        }
+
+        // The stream can be read again after a reset
+        stream.reset();
+        final Set<DataContainer> again = new HashSet<>();
+        while (stream.hasNext()) {
+            again.add(stream.next());
+        }
+        assertEquals(6, again.size());
+    }
+
+    @Test
+    public void testHeaderFilter() throws IOException {
+        final Path worldDir = this.folder.newFolder().toPath();
+        final Path regionDir = Files.createDirectory(worldDir.resolve("region"));
+        writeRegion(regionDir.resolve("r.0.0.mca").toFile(), 0, 0, 3);
+        writeRegion(regionDir.resolve("r.1.0.mca").toFile(), 1, 0, 3);
+
+        final PrefetchingChunkDataStream stream = new PrefetchingChunkDataStream(worldDir, 2, 2, false,
+                (chunkX, chunkZ, timestamp) -> chunkX % 2 == 0);
+        assertEquals(4, stream.available());
+        final Set<Integer> chunks = new HashSet<>();
+        while (stream.hasNext()) {
+            chunks.add(stream.next().getInt(X_POS).get());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 2, 32, 34)), chunks);
+    }
+
+    @Test
+    public void testSkipsUndecodableChunks() throws IOException {
+        final Path worldDir = this.folder.newFolder().toPath();
+        final Path regionDir = Files.createDirectory(worldDir.resolve("region"));
+        final File file = regionDir.resolve("r.0.0.mca").toFile();
+        writeRegion(file, 0, 0, 3);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Keep the length and compression of chunk 1, 0 but replace its compressed data
+            raf.seek(4);
+            raf.seek((raf.readInt() >> 8) * 4096L + 5);
+            raf.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        final PrefetchingChunkDataStream stream = new PrefetchingChunkDataStream(worldDir, 2, 2, true, null);
+        final List<Integer> chunks = new ArrayList<>();
+        while (stream.hasNext()) {
+            chunks.add(stream.next().getInt(X_POS).get());
+        }
+        assertEquals(Arrays.asList(0, 2), chunks);
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        final List<String> list = new ArrayList<>(first);
+        list.addAll(second);
+        return list;
+    }
+
+    private static void writeRegion(File file, int regionX, int regionZ, int chunks) throws IOException {
+        final RegionFile regionFile = new RegionFile(file);
+        try {
+            for (int x = 0; x < chunks; x++) {
+                final NBTTagCompound level = new NBTTagCompound();
+                level.setInteger("xPos", (regionX << 5) + x);
+                level.setInteger("zPos", regionZ << 5);
+                level.setTag(Constants.Chunk.CHUNK_DATA_SECTIONS, new NBTTagList());
+                final NBTTagCompound chunk = new NBTTagCompound();
+                chunk.setTag(Constants.Chunk.CHUNK_DATA_LEVEL, level);
+                try (DataOutputStream out = regionFile.getChunkDataOutputStream(x, 0)) {
+                    CompressedStreamTools.write(chunk, out);
+                }
+            }
+        } finally {
+            regionFile.close();
+        }
+    }
+}